@@ -0,0 +1,120 @@
+package com.cst8411.mathstats;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels built on the incubating Vector API. Loaded reflectively by
+ * {@link StatisticsKernels#get()} only when the {@code jdk.incubator.vector}
+ * module is resolved (e.g. {@code --add-modules jdk.incubator.vector}).
+ * 
+ * <p>Like {@link ScalarKernels}, sums are pairwise over blocks and
+ * {@link #summarize} computes a mean and sum of squared deviations per
+ * block, merging blocks pairwise with {@link StreamingStatistics#combine};
+ * the blocks are just processed a vector at a time. Lane-wise minimum and
+ * maximum follow {@link Math#min} and {@link Math#max}, so a NaN anywhere
+ * in the range propagates exactly as in the scalar loop.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class VectorKernels implements StatisticsKernels {
+    
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    
+    /** Values handled per block before the pairwise recursion takes over. */
+    private static final int BLOCK_SIZE = 2048;
+    
+    private final ScalarKernels scalar = new ScalarKernels();
+    
+    @Override
+    public double sum(double[] data, int from, int to) {
+        if (to - from > BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return sum(data, from, middle) + sum(data, middle, to);
+        }
+        // Four independent accumulators hide the latency of the add chain
+        DoubleVector sum0 = DoubleVector.zero(SPECIES);
+        DoubleVector sum1 = DoubleVector.zero(SPECIES);
+        DoubleVector sum2 = DoubleVector.zero(SPECIES);
+        DoubleVector sum3 = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i <= to - 4 * LANES; i += 4 * LANES) {
+            sum0 = sum0.add(DoubleVector.fromArray(SPECIES, data, i));
+            sum1 = sum1.add(DoubleVector.fromArray(SPECIES, data, i + LANES));
+            sum2 = sum2.add(DoubleVector.fromArray(SPECIES, data, i + 2 * LANES));
+            sum3 = sum3.add(DoubleVector.fromArray(SPECIES, data, i + 3 * LANES));
+        }
+        for (; i <= to - LANES; i += LANES) {
+            sum0 = sum0.add(DoubleVector.fromArray(SPECIES, data, i));
+        }
+        double sum = sum0.add(sum1).add(sum2.add(sum3)).reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+    
+    @Override
+    public double range(double[] data, int from, int to) {
+        if (to - from < LANES) {
+            return scalar.range(data, from, to);
+        }
+        DoubleVector min = DoubleVector.fromArray(SPECIES, data, from);
+        DoubleVector max = min;
+        int i = from + LANES;
+        for (; i <= to - LANES; i += LANES) {
+            DoubleVector values = DoubleVector.fromArray(SPECIES, data, i);
+            min = min.min(values);
+            max = max.max(values);
+        }
+        double low = min.reduceLanes(VectorOperators.MIN);
+        double high = max.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            low = Math.min(low, data[i]);
+            high = Math.max(high, data[i]);
+        }
+        return high - low;
+    }
+    
+    @Override
+    public StreamingStatistics summarize(double[] data, int from, int to) {
+        if (to - from > BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return summarize(data, from, middle).combine(summarize(data, middle, to));
+        }
+        if (to - from < 2 * LANES) {
+            return scalar.summarize(data, from, to);
+        }
+        int n = to - from;
+        double mean = sum(data, from, to) / n;
+        DoubleVector means = DoubleVector.broadcast(SPECIES, mean);
+        DoubleVector m20 = DoubleVector.zero(SPECIES);
+        DoubleVector m21 = DoubleVector.zero(SPECIES);
+        DoubleVector min = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector max = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (; i <= to - 2 * LANES; i += 2 * LANES) {
+            DoubleVector values0 = DoubleVector.fromArray(SPECIES, data, i);
+            DoubleVector values1 = DoubleVector.fromArray(SPECIES, data, i + LANES);
+            DoubleVector delta0 = values0.sub(means);
+            DoubleVector delta1 = values1.sub(means);
+            m20 = m20.add(delta0.mul(delta0));
+            m21 = m21.add(delta1.mul(delta1));
+            min = min.min(values0).min(values1);
+            max = max.max(values0).max(values1);
+        }
+        double m2 = m20.add(m21).reduceLanes(VectorOperators.ADD);
+        double low = min.reduceLanes(VectorOperators.MIN);
+        double high = max.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            double delta = data[i] - mean;
+            m2 += delta * delta;
+            low = Math.min(low, data[i]);
+            high = Math.max(high, data[i]);
+        }
+        return new StreamingStatistics(n, mean, m2, low, high);
+    }
+}
@@ -0,0 +1,281 @@
+package com.cst8411.mathstats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Nonparametric bootstrap of any statistic of a {@code double[]}, such as
+ * {@code Statistics::median} or {@code Statistics::standardDeviation}, for
+ * standard errors and confidence intervals.
+ * 
+ * <p>Resamples are drawn in fixed-size chunks. Each chunk has its own
+ * {@link SplittableRandom}, split from the seed in chunk order, and a single
+ * scratch array reused for every resample in the chunk, so no per-resample
+ * arrays are allocated. With {@link #withParallelism(ParallelStatistics)}
+ * the chunks run on a fork-join pool; because the chunking does not depend
+ * on the pool, the replicates for a given seed are identical whether the
+ * bootstrap runs serially or in parallel.</p>
+ * 
+ * <p>The metric receives a scratch array it may reorder, so in-place
+ * variants such as {@code Statistics::medianInPlace} avoid a further copy.
+ * When running in parallel the metric is called from several threads at
+ * once and must be thread-safe.</p>
+ * 
+ * <pre>{@code
+ * BootstrapResult result = new Bootstrap().withSeed(42).withParallelism(Statistics.parallel())
+ *         .run(latencies, Statistics::medianInPlace);
+ * BootstrapResult.Interval ci = result.bcaInterval(0.95);
+ * }</pre>
+ * 
+ * <p>Instances are not thread-safe while being configured.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class Bootstrap {
+    
+    /** Default number of resamples. */
+    public static final int DEFAULT_RESAMPLES = 10_000;
+    
+    /** Resamples drawn by one task with one random generator and scratch array. */
+    static final int CHUNK_SIZE = 128;
+    
+    /** Largest number of jackknife groups used to estimate the BCa acceleration. */
+    static final int JACKKNIFE_GROUPS = 1_000;
+    
+    private int resamples = DEFAULT_RESAMPLES;
+    private long seed = new SplittableRandom().nextLong();
+    private ParallelStatistics parallel;
+    
+    /**
+     * Creates a serial bootstrap with {@value #DEFAULT_RESAMPLES} resamples
+     * and a random seed.
+     */
+    public Bootstrap() {
+    }
+    
+    /**
+     * Sets the number of resamples.
+     * 
+     * @param resamples number of bootstrap replicates
+     * @return this bootstrap
+     * @throws IllegalArgumentException if resamples is less than 1
+     */
+    public Bootstrap withResamples(int resamples) {
+        if (resamples < 1) {
+            throw new IllegalArgumentException("Resamples must be at least 1");
+        }
+        this.resamples = resamples;
+        return this;
+    }
+    
+    /**
+     * Sets the seed, making the replicates and intervals reproducible.
+     * 
+     * @param seed seed of the random generators
+     * @return this bootstrap
+     */
+    public Bootstrap withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+    
+    /**
+     * Draws resamples in parallel on the pool of {@code parallel}.
+     * 
+     * @param parallel source of the fork-join pool
+     * @return this bootstrap
+     * @throws IllegalArgumentException if parallel is null
+     */
+    public Bootstrap withParallelism(ParallelStatistics parallel) {
+        if (parallel == null) {
+            throw new IllegalArgumentException("Parallel statistics cannot be null");
+        }
+        this.parallel = parallel;
+        return this;
+    }
+    
+    /**
+     * Bootstraps {@code metric} over {@code data}. The metric is also
+     * evaluated on the data itself. The BCa acceleration is estimated only
+     * when {@link BootstrapResult#bcaInterval(double)} is first called, from
+     * up to {@value #JACKKNIFE_GROUPS} delete-a-group jackknife samples; it
+     * is taken as 0 for a single value, or if the metric rejects the smaller
+     * jackknife samples with an {@link IllegalArgumentException}.
+     * 
+     * @param data array of double values, not modified
+     * @param metric statistic to bootstrap
+     * @return the replicates and intervals
+     * @throws IllegalArgumentException if data is null or empty, or metric is null
+     */
+    public BootstrapResult run(double[] data, ToDoubleFunction<double[]> metric) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+        double[] sample = data.clone();
+        double estimate = metric.applyAsDouble(data.clone());
+        
+        double[] replicates = new double[resamples];
+        SplittableRandom root = new SplittableRandom(seed);
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int from = 0; from < resamples; from += CHUNK_SIZE) {
+            tasks.add(new ResampleTask(data, metric, replicates, from,
+                    Math.min(from + CHUNK_SIZE, resamples), root.split()));
+        }
+        ParallelStatistics pool = parallel;
+        execute(pool, tasks);
+        
+        Arrays.sort(replicates);
+        return new BootstrapResult(estimate, replicates, () -> acceleration(sample, metric, pool));
+    }
+    
+    /**
+     * Estimates the BCa acceleration by the delete-a-group jackknife, or
+     * returns 0 when there are too few values for the metric.
+     */
+    private static double acceleration(double[] data, ToDoubleFunction<double[]> metric,
+            ParallelStatistics parallel) {
+        if (data.length < 2) {
+            return 0.0;
+        }
+        int groups = Math.min(data.length, JACKKNIFE_GROUPS);
+        double[] jackknife = new double[groups];
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int from = 0; from < groups; from += CHUNK_SIZE) {
+            tasks.add(new JackknifeTask(data, metric, jackknife, from, Math.min(from + CHUNK_SIZE, groups)));
+        }
+        try {
+            execute(parallel, tasks);
+        } catch (IllegalArgumentException e) {
+            // The metric needs more values than a jackknife sample holds, e.g. a sample variance of 2 values
+            return 0.0;
+        }
+        return acceleration(jackknife);
+    }
+    
+    private static void execute(ParallelStatistics parallel, List<RecursiveAction> tasks) {
+        if (parallel == null) {
+            for (RecursiveAction task : tasks) {
+                task.invoke();
+            }
+        } else {
+            parallel.pool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Estimates the BCa acceleration from the skewness of the jackknife values.
+     */
+    private static double acceleration(double[] jackknife) {
+        if (jackknife.length < 2) {
+            return 0.0;
+        }
+        double mean = Summation.pairwise(jackknife, 0, jackknife.length) / jackknife.length;
+        double squares = 0;
+        double cubes = 0;
+        for (double value : jackknife) {
+            double d = mean - value;
+            squares += d * d;
+            cubes += d * d * d;
+        }
+        return squares == 0 ? 0.0 : cubes / (6 * Math.pow(squares, 1.5));
+    }
+    
+    /**
+     * Evaluates the metric on a chunk of resamples drawn with replacement.
+     */
+    private static final class ResampleTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] data;
+        private final ToDoubleFunction<double[]> metric;
+        private final double[] replicates;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        
+        ResampleTask(double[] data, ToDoubleFunction<double[]> metric, double[] replicates,
+                int from, int to, SplittableRandom random) {
+            this.data = data;
+            this.metric = metric;
+            this.replicates = replicates;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+        
+        @Override
+        protected void compute() {
+            double[] scratch = new double[data.length];
+            for (int r = from; r < to; r++) {
+                for (int i = 0; i < scratch.length; i++) {
+                    scratch[i] = data[random.nextInt(data.length)];
+                }
+                replicates[r] = metric.applyAsDouble(scratch);
+            }
+        }
+    }
+    
+    /**
+     * Evaluates the metric with each of a chunk of jackknife groups left out.
+     * Group {@code g} holds the indices congruent to {@code g} modulo the
+     * number of groups, so every group is spread across the data.
+     */
+    private static final class JackknifeTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] data;
+        private final ToDoubleFunction<double[]> metric;
+        private final double[] values;
+        private final int from;
+        private final int to;
+        
+        JackknifeTask(double[] data, ToDoubleFunction<double[]> metric, double[] values, int from, int to) {
+            this.data = data;
+            this.metric = metric;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            int groups = values.length;
+            double[] scratch = null;
+            for (int g = from; g < to; g++) {
+                // Group sizes differ by at most one, so the scratch array is rarely replaced
+                int size = data.length - (data.length - g + groups - 1) / groups;
+                if (scratch == null || scratch.length != size) {
+                    scratch = new double[size];
+                }
+                int length = 0;
+                for (int start = 0; start < data.length; start += groups) {
+                    int end = Math.min(start + groups, data.length);
+                    int skipped = start + g;
+                    if (skipped < end) {
+                        System.arraycopy(data, start, scratch, length, skipped - start);
+                        System.arraycopy(data, skipped + 1, scratch, length + skipped - start, end - skipped - 1);
+                        length += end - start - 1;
+                    } else {
+                        System.arraycopy(data, start, scratch, length, end - start);
+                        length += end - start;
+                    }
+                }
+                values[g] = metric.applyAsDouble(scratch);
+            }
+        }
+    }
+}
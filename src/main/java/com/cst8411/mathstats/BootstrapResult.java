@@ -0,0 +1,188 @@
+package com.cst8411.mathstats;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Outcome of a {@link Bootstrap} run: the statistic of the original data,
+ * its sorted bootstrap replicates, and the percentile and bias-corrected
+ * and accelerated (BCa) confidence intervals derived from them.
+ * 
+ * <p>Instances are thread-safe and can be shared between threads. The BCa
+ * acceleration is estimated once, on the first {@link #bcaInterval(double)}
+ * call.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class BootstrapResult {
+    
+    /**
+     * A two-sided confidence interval.
+     * 
+     * @param lower lower bound
+     * @param upper upper bound
+     * @param confidence coverage probability, e.g. 0.95
+     */
+    public record Interval(double lower, double upper, double confidence) {
+    }
+    
+    private final double estimate;
+    private final double[] replicates;
+    private final RankIndex index;
+    /** Guards the lazy computation of the acceleration. */
+    private final Object lock = new Object();
+    /** Source of the acceleration, dropped once it has been evaluated. */
+    private DoubleSupplier accelerationSource;
+    private volatile double acceleration = Double.NaN;
+    
+    /**
+     * Creates a result from sorted replicates and a known acceleration.
+     * 
+     * @param estimate statistic of the original data
+     * @param replicates bootstrap replicates in ascending order, not copied
+     * @param acceleration BCa acceleration
+     */
+    BootstrapResult(double estimate, double[] replicates, double acceleration) {
+        this(estimate, replicates, () -> acceleration);
+    }
+    
+    /**
+     * Creates a result from sorted replicates. The acceleration is only
+     * needed by {@link #bcaInterval(double)}, so its source, typically a
+     * jackknife, is evaluated on the first such call and then cached.
+     * 
+     * @param estimate statistic of the original data
+     * @param replicates bootstrap replicates in ascending order, not copied
+     * @param acceleration source of the BCa acceleration
+     */
+    BootstrapResult(double estimate, double[] replicates, DoubleSupplier acceleration) {
+        this.estimate = estimate;
+        this.replicates = replicates;
+        this.accelerationSource = acceleration;
+        this.index = new RankIndex(replicates);
+    }
+    
+    /**
+     * Returns the statistic of the original data.
+     * 
+     * @return the point estimate
+     */
+    public double estimate() {
+        return estimate;
+    }
+    
+    /**
+     * Returns the number of bootstrap replicates.
+     * 
+     * @return the number of resamples
+     */
+    public int resamples() {
+        return replicates.length;
+    }
+    
+    /**
+     * Returns the bootstrap replicates in ascending order.
+     * 
+     * @return a copy of the replicates
+     */
+    public double[] replicates() {
+        return replicates.clone();
+    }
+    
+    /**
+     * Returns the bootstrap standard error, the sample standard deviation of
+     * the replicates.
+     * 
+     * @return the standard error, or {@code NaN} for a single replicate
+     */
+    public double standardError() {
+        return replicates.length < 2 ? Double.NaN : Statistics.sampleStandardDeviation(replicates);
+    }
+    
+    /**
+     * Returns the bootstrap estimate of bias, the mean of the replicates
+     * minus the estimate.
+     * 
+     * @return the bias
+     */
+    public double bias() {
+        return Statistics.mean(replicates) - estimate;
+    }
+    
+    /**
+     * Returns the percentile interval: the {@code (1 - confidence) / 2} and
+     * {@code (1 + confidence) / 2} quantiles of the replicates.
+     * 
+     * @param confidence coverage probability in {@code (0, 1)}
+     * @return the interval
+     * @throws IllegalArgumentException if confidence is not in {@code (0, 1)}
+     */
+    public Interval percentileInterval(double confidence) {
+        checkConfidence(confidence);
+        double alpha = (1 - confidence) / 2;
+        return new Interval(index.quantile(alpha), index.quantile(1 - alpha), confidence);
+    }
+    
+    /**
+     * Returns Efron's bias-corrected and accelerated interval. The quantile
+     * levels of the percentile interval are shifted by the median bias of
+     * the replicates and by the acceleration, which corrects for skewness
+     * and gives more accurate coverage, notably for the median and the
+     * standard deviation. The first call estimates the acceleration.
+     * 
+     * @param confidence coverage probability in {@code (0, 1)}
+     * @return the interval
+     * @throws IllegalArgumentException if confidence is not in {@code (0, 1)}
+     */
+    public Interval bcaInterval(double confidence) {
+        checkConfidence(confidence);
+        int n = replicates.length;
+        // Proportion below the estimate, kept away from 0 and 1 so z0 stays finite
+        int below = index.rank(Math.nextDown(estimate));
+        double proportion = Math.min(Math.max(below, 0.5), n - 0.5) / n;
+        double z0 = NormalDistribution.inverseCdf(proportion);
+        double alpha = (1 - confidence) / 2;
+        return new Interval(index.quantile(level(z0, alpha)), index.quantile(level(z0, 1 - alpha)), confidence);
+    }
+    
+    /**
+     * Returns the BCa-adjusted quantile level for nominal level {@code alpha}.
+     */
+    private double level(double z0, double alpha) {
+        double z = z0 + NormalDistribution.inverseCdf(alpha);
+        double denominator = 1 - acceleration() * z;
+        if (!(denominator > 0)) {
+            // Past the pole of z / (1 - a z) the adjustment saturates at the extreme replicate
+            return z > 0 ? 1.0 : 0.0;
+        }
+        return NormalDistribution.cdf(z0 + z / denominator);
+    }
+    
+    /**
+     * Returns the acceleration, evaluating its source on first use.
+     */
+    private double acceleration() {
+        double result = acceleration;
+        if (Double.isNaN(result)) {
+            synchronized (lock) {
+                result = acceleration;
+                if (Double.isNaN(result)) {
+                    result = accelerationSource.getAsDouble();
+                    // A NaN acceleration carries no skewness information
+                    if (Double.isNaN(result)) {
+                        result = 0.0;
+                    }
+                    accelerationSource = null;
+                    acceleration = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static void checkConfidence(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1 (exclusive)");
+        }
+    }
+}
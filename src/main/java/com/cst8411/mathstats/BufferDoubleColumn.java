@@ -0,0 +1,190 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Column stored in one or more {@link ByteBuffer} segments, normally direct
+ * (off-heap) memory. Columns from {@link DoubleColumn#allocateDirect(long)}
+ * own their memory, can be written with {@link #set} and may hold more than
+ * 2 GB. Columns from {@link DoubleColumn#wrap(ByteBuffer)} and
+ * {@link DoubleColumn#wrap(DoubleBuffer)} only view the caller's buffer.
+ * 
+ * <p>{@link #close()} drops the column's references to its buffers, and the
+ * garbage collector frees the direct memory once no reader still holds
+ * them. Memory is never freed under a running read, so closing while other
+ * threads read is safe: each read either completes or throws
+ * {@link IllegalStateException}. Instances are not thread-safe for writes.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class BufferDoubleColumn implements DoubleColumn {
+    
+    /** Values per segment of an allocated column (1 GiB of doubles). */
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 27;
+    
+    /** Views of the storage; null once closed. */
+    private volatile DoubleBuffer[] segments;
+    private final int segmentSize;
+    private final long size;
+    
+    private BufferDoubleColumn(DoubleBuffer[] segments, int segmentSize, long size) {
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.size = size;
+    }
+    
+    /**
+     * Allocates a zeroed direct column in native byte order.
+     * 
+     * @param size number of values
+     * @return the new column
+     * @throws IllegalArgumentException if size is negative
+     */
+    static BufferDoubleColumn allocateDirect(long size) {
+        return allocateDirect(size, DEFAULT_SEGMENT_SIZE);
+    }
+    
+    /**
+     * Allocates a column split into segments of {@code segmentSize} values.
+     * 
+     * @param size number of values
+     * @param segmentSize values per segment
+     * @return the new column
+     * @throws IllegalArgumentException if size is negative
+     */
+    static BufferDoubleColumn allocateDirect(long size, int segmentSize) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        int count = (int) ((size + segmentSize - 1) / segmentSize);
+        DoubleBuffer[] segments = new DoubleBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long values = Math.min(segmentSize, size - (long) i * segmentSize);
+            segments[i] = ByteBuffer.allocateDirect((int) values * Double.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer();
+        }
+        return new BufferDoubleColumn(segments, segmentSize, size);
+    }
+    
+    /**
+     * Views the remaining bytes of {@code buffer} in its current byte order.
+     * 
+     * @param buffer buffer holding the values
+     * @return a column sharing the buffer's content
+     * @throws IllegalArgumentException if buffer is null or not a whole number of doubles
+     */
+    static BufferDoubleColumn wrap(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        if (buffer.remaining() % Double.BYTES != 0) {
+            throw new IllegalArgumentException("Buffer size is not a multiple of 8 bytes");
+        }
+        DoubleBuffer view = buffer.slice().order(buffer.order()).asDoubleBuffer();
+        return new BufferDoubleColumn(new DoubleBuffer[] {view}, Math.max(1, view.remaining()), view.remaining());
+    }
+    
+    /**
+     * Views the remaining values of {@code buffer}.
+     * 
+     * @param buffer buffer holding the values
+     * @return a column sharing the buffer's content
+     * @throws IllegalArgumentException if buffer is null
+     */
+    static BufferDoubleColumn wrap(DoubleBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        DoubleBuffer view = buffer.slice();
+        return new BufferDoubleColumn(new DoubleBuffer[] {view}, Math.max(1, view.remaining()), view.remaining());
+    }
+    
+    @Override
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Returns whether the column can be written with {@link #set}.
+     * 
+     * @return true for allocated columns and writable wrapped buffers
+     */
+    public boolean isWritable() {
+        DoubleBuffer[] segments = segments();
+        return segments.length == 0 || !segments[0].isReadOnly();
+    }
+    
+    @Override
+    public double get(long index) {
+        DoubleBuffer[] segments = segments();
+        checkIndex(index);
+        return segments[(int) (index / segmentSize)].get((int) (index % segmentSize));
+    }
+    
+    /**
+     * Stores {@code value} at {@code index}.
+     * 
+     * @param index position to write
+     * @param value value to store
+     * @throws IndexOutOfBoundsException if index is not in {@code [0, size())}
+     * @throws IllegalStateException if the column has been closed
+     * @throws java.nio.ReadOnlyBufferException if the column wraps a read-only buffer
+     */
+    public void set(long index, double value) {
+        DoubleBuffer[] segments = segments();
+        checkIndex(index);
+        segments[(int) (index / segmentSize)].put((int) (index % segmentSize), value);
+    }
+    
+    @Override
+    public void copyTo(long from, double[] destination, int offset, int length) {
+        DoubleBuffer[] segments = segments();
+        if (from < 0 || length < 0 || from > size - length) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length)
+                    + ") out of bounds for size " + size);
+        }
+        while (length > 0) {
+            int segment = (int) (from / segmentSize);
+            int position = (int) (from % segmentSize);
+            int count = Math.min(length, segmentSize - position);
+            segments[segment].get(position, destination, offset, count);
+            from += count;
+            offset += count;
+            length -= count;
+        }
+    }
+    
+    /**
+     * Detaches the column from its storage. Owned direct memory is freed by
+     * the garbage collector once no read in progress still uses it.
+     * Closing more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        segments = null;
+    }
+    
+    /**
+     * Returns the segments, read once so that a concurrent {@link #close()}
+     * cannot take them away halfway through an operation.
+     * 
+     * @throws IllegalStateException if the column has been closed
+     */
+    private DoubleBuffer[] segments() {
+        DoubleBuffer[] current = segments;
+        if (current == null) {
+            throw new IllegalStateException("Column has been closed");
+        }
+        return current;
+    }
+    
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.cst8411.mathstats;
+
+/**
+ * The {@link Statistics} methods for {@link DoubleColumn} inputs, so that
+ * data held off the Java heap (for example in direct or memory-mapped
+ * buffers) can be analysed without first copying it into a
+ * {@code double[]}.
+ * 
+ * <p>Heap columns, including heap-backed {@link java.nio.DoubleBuffer}
+ * views, are passed straight to the array range methods. Other columns
+ * are read through a small scratch buffer, so mean, range and the variance
+ * family use constant heap space. The median uses the same multi-pass
+ * external selection as {@link MappedDoubleSource#median()}, copying at
+ * most a few million values to the heap, and the mode needs heap space only
+ * for its table of distinct values. Columns of any length are supported.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class ColumnStatistics {
+    
+    /** Values copied at a time when reading an off-heap column. */
+    private static final int CHUNK_SIZE = 1 << 13;
+    
+    private ColumnStatistics() {
+    }
+    
+    /**
+     * Calculates the arithmetic mean (average) of a column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the mean of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double mean(DoubleColumn data) {
+        validateColumn(data);
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return Statistics.mean(heap.array(), heap.from(), heap.to());
+        }
+        StatisticsKernels kernels = StatisticsKernels.get();
+        // Each chunk is summed pairwise; the chunk sums are added with
+        // Neumaier compensation, so the error stays independent of the size
+        double[] sum = new double[2];
+        forEachChunk(data, (chunk, length) -> {
+            double value = kernels.sum(chunk, 0, length);
+            double t = sum[0] + value;
+            if (Math.abs(sum[0]) >= Math.abs(value)) {
+                sum[1] += (sum[0] - t) + value;
+            } else {
+                sum[1] += (value - t) + sum[0];
+            }
+            sum[0] = t;
+        });
+        double total = Double.isInfinite(sum[0]) ? sum[0] : sum[0] + sum[1];
+        return total / data.size();
+    }
+    
+    /**
+     * Finds the median (middle value) of a column. Off-heap columns are
+     * searched with multi-pass external selection, so only a bounded window
+     * of values is copied to the heap.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the median of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double median(DoubleColumn data) {
+        validateColumn(data);
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return Statistics.median(heap.array(), heap.from(), heap.to());
+        }
+        return ExternalSelection.median(consumer -> forEachChunk(data, consumer), ExternalSelection.MAX_CANDIDATES);
+    }
+    
+    /**
+     * Finds the mode (most frequent value) of a column.
+     * Returns the smallest mode if multiple modes exist.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the mode of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double mode(DoubleColumn data) {
+        validateColumn(data);
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return Statistics.mode(heap.array(), heap.from(), heap.to());
+        }
+        LongIntHashMap frequencies = new LongIntHashMap((int) Math.min(data.size(), 1 << 16));
+        forEachChunk(data, (chunk, length) -> {
+            for (int i = 0; i < length; i++) {
+                frequencies.increment(Double.doubleToLongBits(chunk[i]));
+            }
+        });
+        return Statistics.mostFrequent(frequencies, data.get(0));
+    }
+    
+    /**
+     * Calculates the range (difference between max and min) of a column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the range of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double range(DoubleColumn data) {
+        validateColumn(data);
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return Statistics.range(heap.array(), heap.from(), heap.to());
+        }
+        return summarize(data).range();
+    }
+    
+    /**
+     * Calculates the population variance of a column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double variance(DoubleColumn data) {
+        validateColumn(data);
+        return summarize(data).variance();
+    }
+    
+    /**
+     * Calculates the population standard deviation of a column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double standardDeviation(DoubleColumn data) {
+        return Math.sqrt(variance(data));
+    }
+    
+    /**
+     * Calculates the sample variance of a column.
+     * Uses n-1 denominator (Bessel's correction).
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleVariance(DoubleColumn data) {
+        validateColumn(data);
+        if (data.size() < 2) {
+            throw new IllegalArgumentException("Sample variance requires at least 2 data points");
+        }
+        return summarize(data).sampleVariance();
+    }
+    
+    /**
+     * Calculates the sample standard deviation of a column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleStandardDeviation(DoubleColumn data) {
+        return Math.sqrt(sampleVariance(data));
+    }
+    
+    /**
+     * Computes every descriptive statistic of a column at once. Heap columns
+     * share one sorted copy for the median and mode; off-heap columns take
+     * them from {@link #median} and {@link #mode}, without copying the column.
+     * 
+     * @param data column of double values, on or off the heap
+     * @return the summary of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static DescriptiveSummary describe(DoubleColumn data) {
+        validateColumn(data);
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return Statistics.describe(heap.array(), heap.from(), heap.to());
+        }
+        StreamingStatistics m = summarize(data);
+        double sampleVariance = m.count() < 2 ? Double.NaN : m.sampleVariance();
+        return new DescriptiveSummary(m.count(), m.mean(), median(data), mode(data),
+                m.min(), m.max(), m.range(), m.variance(), m.standardDeviation(),
+                sampleVariance, Math.sqrt(sampleVariance));
+    }
+    
+    /**
+     * Computes count, mean, variance, minimum and maximum of a column,
+     * copying off-heap values through a small scratch buffer.
+     * 
+     * @param data validated column
+     * @return an accumulator holding the summary
+     */
+    private static StreamingStatistics summarize(DoubleColumn data) {
+        if (data instanceof HeapDoubleColumn) {
+            HeapDoubleColumn heap = (HeapDoubleColumn) data;
+            return new StreamingStatistics().accept(heap.array(), heap.from(), heap.to());
+        }
+        StreamingStatistics statistics = new StreamingStatistics();
+        forEachChunk(data, (chunk, length) -> statistics.accept(chunk, 0, length));
+        return statistics;
+    }
+    
+    /**
+     * Streams a column through a small scratch buffer.
+     * 
+     * @param data validated column
+     * @param consumer receives each chunk of values in order
+     */
+    private static void forEachChunk(DoubleColumn data, ExternalSelection.ChunkConsumer consumer) {
+        double[] chunk = new double[(int) Math.min(CHUNK_SIZE, data.size())];
+        for (long from = 0; from < data.size(); from += chunk.length) {
+            int length = (int) Math.min(chunk.length, data.size() - from);
+            data.copyTo(from, chunk, 0, length);
+            consumer.accept(chunk, length);
+        }
+    }
+    
+    /**
+     * Validates that the data column is not null and not empty.
+     * 
+     * @param data column to validate
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    private static void validateColumn(DoubleColumn data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data column cannot be null");
+        }
+        if (data.size() == 0) {
+            throw new IllegalArgumentException("Data column cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.cst8411.mathstats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Co-moment (centered Gram) matrix of a set of equal-length columns, the
+ * common core of the covariance and correlation matrices.
+ * 
+ * <p>Each column is centered once on its mean. The {@code k * (k + 1) / 2}
+ * dot products are then computed in tiles of {@value #TILE} by
+ * {@value #TILE} columns, walking the rows in blocks of
+ * {@value #ROW_BLOCK} so that the column segments of a tile stay in cache
+ * while every pair in the tile reuses them. Tiles write disjoint elements,
+ * so they can run on a fork-join pool without synchronization.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class Comoments {
+    
+    /** Columns per side of a tile. */
+    static final int TILE = 32;
+    
+    /** Rows of each column read per pass over a tile. */
+    static final int ROW_BLOCK = 512;
+    
+    private Comoments() {
+    }
+    
+    /**
+     * Computes the co-moments {@code sum((x_a - mean_a) * (x_b - mean_b))}
+     * of every pair of columns.
+     * 
+     * @param columns validated columns of equal length
+     * @param parallel source of the pool and threshold, or null to run serially
+     * @return the co-moment matrix
+     */
+    static SymmetricMatrix of(double[][] columns, ParallelStatistics parallel) {
+        int k = columns.length;
+        int n = columns[0].length;
+        double[][] centered = new double[k][];
+        for (int c = 0; c < k; c++) {
+            double mean = Summation.pairwise(columns[c], 0, n) / n;
+            centered[c] = new double[n];
+            for (int i = 0; i < n; i++) {
+                centered[c][i] = columns[c][i] - mean;
+            }
+        }
+        
+        double[] packed = new double[SymmetricMatrix.index(k - 1, k - 1) + 1];
+        int tiles = (k + TILE - 1) / TILE;
+        List<TileTask> tasks = new ArrayList<>(tiles * (tiles + 1) / 2);
+        for (int a = 0; a < tiles; a++) {
+            for (int b = 0; b <= a; b++) {
+                tasks.add(new TileTask(centered, packed, a * TILE, b * TILE));
+            }
+        }
+        if (parallel == null || (long) n * k <= parallel.threshold()) {
+            for (TileTask task : tasks) {
+                task.compute();
+            }
+        } else {
+            parallel.pool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+        return new SymmetricMatrix(k, packed);
+    }
+    
+    /**
+     * Divides every co-moment by {@code divisor}, giving a covariance matrix.
+     * 
+     * @param comoments co-moment matrix
+     * @param divisor number of values, or one less for sample covariance
+     * @return the covariance matrix
+     */
+    static SymmetricMatrix covariance(SymmetricMatrix comoments, double divisor) {
+        double[] packed = comoments.toPackedArray();
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] /= divisor;
+        }
+        return new SymmetricMatrix(comoments.size(), packed);
+    }
+    
+    /**
+     * Normalizes co-moments to Pearson correlations. Pairs involving a
+     * constant column, which has no defined correlation, are {@code NaN}.
+     * 
+     * @param comoments co-moment matrix
+     * @return the correlation matrix
+     */
+    static SymmetricMatrix correlation(SymmetricMatrix comoments) {
+        int k = comoments.size();
+        double[] packed = comoments.toPackedArray();
+        double[] scale = new double[k];
+        for (int c = 0; c < k; c++) {
+            double m2 = packed[SymmetricMatrix.index(c, c)];
+            scale[c] = m2 > 0 ? 1 / Math.sqrt(m2) : Double.NaN;
+        }
+        for (int a = 0; a < k; a++) {
+            for (int b = 0; b <= a; b++) {
+                int index = SymmetricMatrix.index(a, b);
+                // Rounding can push |r| slightly past 1
+                double r = packed[index] * scale[a] * scale[b];
+                packed[index] = a == b && !Double.isNaN(r) ? 1.0 : Math.max(-1.0, Math.min(1.0, r));
+            }
+        }
+        return new SymmetricMatrix(k, packed);
+    }
+    
+    /**
+     * Validates that there is at least one column, and that every column is
+     * non-null, non-empty and of the same length.
+     * 
+     * @param columns columns to validate
+     * @throws IllegalArgumentException if the columns are invalid
+     */
+    static void validateColumns(double[][] columns) {
+        if (columns == null) {
+            throw new IllegalArgumentException("Columns array cannot be null");
+        }
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Columns array cannot be empty");
+        }
+        for (double[] column : columns) {
+            Statistics.validateRange(column, 0, column == null ? 0 : column.length);
+            if (column.length != columns[0].length) {
+                throw new IllegalArgumentException("Columns must have the same length");
+            }
+        }
+    }
+    
+    /**
+     * Dot products of every pair between two tiles of columns, accumulated
+     * one row block at a time.
+     */
+    private static final class TileTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[][] centered;
+        private final double[] packed;
+        private final int rowStart;
+        private final int columnStart;
+        
+        TileTask(double[][] centered, double[] packed, int rowStart, int columnStart) {
+            this.centered = centered;
+            this.packed = packed;
+            this.rowStart = rowStart;
+            this.columnStart = columnStart;
+        }
+        
+        @Override
+        protected void compute() {
+            int rowEnd = Math.min(rowStart + TILE, centered.length);
+            int columnEnd = Math.min(columnStart + TILE, centered.length);
+            int n = centered[0].length;
+            for (int from = 0; from < n; from += ROW_BLOCK) {
+                int to = Math.min(from + ROW_BLOCK, n);
+                for (int a = rowStart; a < rowEnd; a++) {
+                    // Only the lower triangle of a diagonal tile
+                    int last = Math.min(columnEnd, a + 1);
+                    for (int b = columnStart; b < last; b++) {
+                        packed[SymmetricMatrix.index(a, b)] += dot(centered[a], centered[b], from, to);
+                    }
+                }
+            }
+        }
+        
+        private static double dot(double[] x, double[] y, int from, int to) {
+            double sum0 = 0;
+            double sum1 = 0;
+            double sum2 = 0;
+            double sum3 = 0;
+            int i = from;
+            for (; i <= to - 4; i += 4) {
+                sum0 += x[i] * y[i];
+                sum1 += x[i + 1] * y[i + 1];
+                sum2 += x[i + 2] * y[i + 2];
+                sum3 += x[i + 3] * y[i + 3];
+            }
+            for (; i < to; i++) {
+                sum0 += x[i] * y[i];
+            }
+            return (sum0 + sum1) + (sum2 + sum3);
+        }
+    }
+}
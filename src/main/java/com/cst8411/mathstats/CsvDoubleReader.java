@@ -0,0 +1,324 @@
+package com.cst8411.mathstats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Streaming reader that extracts one numeric column from CSV or
+ * newline-delimited text and feeds it to a {@link DoubleConsumer}, such as
+ * {@link StreamingStatistics} or {@link DoubleArrayBuilder}.
+ * 
+ * <p>Input is read from a {@link ReadableByteChannel} into a reusable byte
+ * buffer and scanned byte by byte; fields of other columns are skipped
+ * without being copied. Numbers with at most 15 significant digits and a
+ * decimal exponent within &plusmn;22 are converted exactly from their digits
+ * (Clinger's fast path) without creating a {@code String}. Other input,
+ * such as {@code NaN} or very long mantissas, falls back to
+ * {@link Double#parseDouble}.</p>
+ * 
+ * <p>Lines are separated by {@code \n} or {@code \r\n}; blank lines are
+ * ignored. Double-quoted fields may contain the delimiter. Rows whose
+ * target field is missing or empty are counted but produce no value.</p>
+ * 
+ * <p>Instances are not thread-safe.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class CsvDoubleReader {
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_FIELD_LENGTH = 1 << 10;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    private final int column;
+    private byte delimiter = ',';
+    private boolean hasHeader;
+    
+    private final byte[] field = new byte[MAX_FIELD_LENGTH];
+    private long lastRows;
+    private long lastValues;
+    private long lastElapsedNanos;
+    
+    /**
+     * Creates a reader for the 0-based column {@code column}, with comma
+     * delimiters and no header line.
+     * 
+     * @param column index of the column to read
+     * @throws IllegalArgumentException if column is negative
+     */
+    public CsvDoubleReader(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column index cannot be negative");
+        }
+        this.column = column;
+    }
+    
+    /**
+     * Sets the field delimiter.
+     * 
+     * @param delimiter single-byte delimiter, e.g. {@code ','} or {@code '\t'}
+     * @return this reader
+     * @throws IllegalArgumentException if the delimiter is a quote, a line
+     *         break or not a single-byte character
+     */
+    public CsvDoubleReader withDelimiter(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter");
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+    
+    /**
+     * Sets whether the first non-blank line is a header to skip.
+     * 
+     * @param hasHeader true to skip the first line
+     * @return this reader
+     */
+    public CsvDoubleReader withHeader(boolean hasHeader) {
+        this.hasHeader = hasHeader;
+        return this;
+    }
+    
+    /**
+     * Reads the channel to the end, passing each value of the column to {@code sink}.
+     * The channel is not closed.
+     * 
+     * @param channel source of the text
+     * @param sink receiver of the parsed values
+     * @return the number of values passed to the sink
+     * @throws IOException if reading fails
+     * @throws NumberFormatException if a field is not a number
+     * @throws IllegalArgumentException if channel or sink is null
+     */
+    public long read(ReadableByteChannel channel, DoubleConsumer sink) throws IOException {
+        if (channel == null || sink == null) {
+            throw new IllegalArgumentException("Channel and sink cannot be null");
+        }
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        
+        boolean skipLine = hasHeader;
+        boolean lineHasContent = false;
+        boolean inQuotes = false;
+        int currentColumn = 0;
+        int fieldLength = 0;
+        long rows = 0;
+        long values = 0;
+        
+        int read;
+        while ((read = channel.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    if (lineHasContent) {
+                        if (skipLine) {
+                            skipLine = false;
+                        } else {
+                            rows++;
+                            if (emit(fieldLength, rows, sink)) {
+                                values++;
+                            }
+                        }
+                    }
+                    lineHasContent = false;
+                    inQuotes = false;
+                    currentColumn = 0;
+                    fieldLength = 0;
+                } else if (b != '\r') {
+                    lineHasContent = true;
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == delimiter && !inQuotes) {
+                        currentColumn++;
+                    } else if (currentColumn == column && !skipLine) {
+                        if (fieldLength == MAX_FIELD_LENGTH) {
+                            throw new NumberFormatException("Field too long on row " + (rows + 1));
+                        }
+                        field[fieldLength++] = b;
+                    }
+                }
+            }
+            buffer.clear();
+        }
+        if (lineHasContent && !skipLine) {
+            rows++;
+            if (emit(fieldLength, rows, sink)) {
+                values++;
+            }
+        }
+        
+        lastRows = rows;
+        lastValues = values;
+        lastElapsedNanos = System.nanoTime() - start;
+        return values;
+    }
+    
+    /**
+     * Reads the channel to the end and returns the column as an array.
+     * The channel is not closed.
+     * 
+     * @param channel source of the text
+     * @return the parsed values in input order
+     * @throws IOException if reading fails
+     * @throws NumberFormatException if a field is not a number
+     * @throws IllegalArgumentException if channel is null
+     */
+    public double[] readAll(ReadableByteChannel channel) throws IOException {
+        DoubleArrayBuilder builder = new DoubleArrayBuilder();
+        read(channel, builder);
+        return builder.toArray();
+    }
+    
+    /**
+     * Returns the number of data rows (excluding header and blank lines)
+     * seen by the most recent read.
+     * 
+     * @return the row count
+     */
+    public long rowsRead() {
+        return lastRows;
+    }
+    
+    /**
+     * Returns the number of values produced by the most recent read.
+     * 
+     * @return the value count
+     */
+    public long valuesRead() {
+        return lastValues;
+    }
+    
+    /**
+     * Returns the wall-clock duration of the most recent read.
+     * 
+     * @return elapsed time in nanoseconds
+     */
+    public long elapsedNanos() {
+        return lastElapsedNanos;
+    }
+    
+    /**
+     * Returns the throughput of the most recent read.
+     * 
+     * @return rows per second, or 0 if nothing has been read
+     */
+    public double rowsPerSecond() {
+        return lastElapsedNanos == 0 ? 0.0 : lastRows * 1e9 / lastElapsedNanos;
+    }
+    
+    /**
+     * Parses the buffered field and passes it on, unless it is blank.
+     */
+    private boolean emit(int fieldLength, long row, DoubleConsumer sink) {
+        int from = 0;
+        int to = fieldLength;
+        while (from < to && isBlank(field[from])) from++;
+        while (to > from && isBlank(field[to - 1])) to--;
+        if (from == to) {
+            return false;
+        }
+        try {
+            sink.accept(parse(field, from, to));
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Invalid number on row " + row + ": "
+                    + new String(field, from, to - from, StandardCharsets.ISO_8859_1));
+        }
+        return true;
+    }
+    
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+    
+    /**
+     * Parses an ASCII decimal number from {@code bytes[from, to)}.
+     * 
+     * @param bytes buffer holding the number
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the parsed value, correctly rounded
+     * @throws NumberFormatException if the bytes are not a number
+     */
+    static double parse(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i++] == '-';
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean exact = true;
+        
+        for (; i < to && isDigit(bytes[i]); i++) {
+            anyDigits = true;
+            if (significantDigits < 18) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) significantDigits++;
+            } else {
+                exponent++;
+                exact &= bytes[i] == '0';
+            }
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && isDigit(bytes[i]); i++) {
+                anyDigits = true;
+                if (significantDigits < 18) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    if (mantissa != 0) significantDigits++;
+                    exponent--;
+                } else {
+                    exact &= bytes[i] == '0';
+                }
+            }
+        }
+        if (anyDigits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i++] == '-';
+            }
+            int explicitExponent = 0;
+            boolean anyExponentDigits = false;
+            for (; i < to && isDigit(bytes[i]); i++) {
+                anyExponentDigits = true;
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+                }
+            }
+            if (!anyExponentDigits) {
+                anyDigits = false;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        
+        if (anyDigits && i == to && exact) {
+            if (mantissa == 0) {
+                return negative ? -0.0 : 0.0;
+            }
+            if (mantissa < MAX_EXACT_MANTISSA && Math.abs(exponent) < POWERS_OF_TEN.length) {
+                double value = exponent >= 0
+                        ? mantissa * POWERS_OF_TEN[exponent]
+                        : mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+        }
+        // Slow path: special values, long mantissas and out-of-range exponents
+        return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+    }
+    
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,341 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of values whose derived structures are computed on first
+ * use and then cached, for reference data that is queried repeatedly.
+ * 
+ * <p>Three structures are built lazily, each at most once:</p>
+ * <ul>
+ *   <li>the moments (count, mean, variance, minimum, maximum), in one pass;</li>
+ *   <li>a sorted copy, used by {@link #median()}, the percentiles and
+ *       {@link #rankIndex()};</li>
+ *   <li>a frequency table, used by {@link #mode()} and {@link #frequency(double)}.</li>
+ * </ul>
+ * Later queries read the cached structure in constant time, where the
+ * {@link Statistics} methods would copy, sort or hash the data on every call.
+ * 
+ * <p>Instances are thread-safe. Each structure is published through a
+ * {@code volatile} field with double-checked locking, so concurrent readers
+ * never see a partially built structure and never build it twice.</p>
+ * 
+ * <pre>{@code
+ * Dataset reference = Dataset.of(values);
+ * double median = reference.median();  // sorts a copy once
+ * double mode = reference.mode();      // builds the frequency table once
+ * DescriptiveSummary summary = reference.describe();  // reuses the sorted copy
+ * }</pre>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class Dataset {
+    
+    /**
+     * Frequency table with the mode read from it when it was built.
+     */
+    private record Frequencies(LongIntHashMap table, double mode) {
+    }
+    
+    private final double[] data;
+    /** Guards construction of the cached structures; private so callers cannot contend on it. */
+    private final Object lock = new Object();
+    private volatile StreamingStatistics moments;
+    private volatile double[] sorted;
+    private volatile Frequencies frequencies;
+    private volatile DescriptiveSummary summary;
+    
+    private Dataset(double[] data) {
+        this.data = data;
+    }
+    
+    /**
+     * Creates a dataset from a private copy of {@code data}; later changes
+     * to the array do not affect the dataset.
+     * 
+     * @param data array of double values
+     * @return the dataset
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static Dataset of(double[] data) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        return new Dataset(data.clone());
+    }
+    
+    /**
+     * Creates a dataset that takes ownership of {@code data} without copying
+     * it. The caller must not modify the array afterwards, or cached results
+     * become inconsistent with it.
+     * 
+     * @param data array of double values, no longer modified by the caller
+     * @return the dataset
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static Dataset wrap(double[] data) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        return new Dataset(data);
+    }
+    
+    /**
+     * Returns the number of values.
+     * 
+     * @return the size
+     */
+    public int size() {
+        return data.length;
+    }
+    
+    /**
+     * Returns the value at {@code index} in the original order.
+     * 
+     * @param index position of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if index is not in {@code [0, size())}
+     */
+    public double get(int index) {
+        return data[index];
+    }
+    
+    /**
+     * Returns a copy of the values in their original order.
+     * 
+     * @return a new array
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+    
+    /**
+     * Returns the arithmetic mean.
+     * 
+     * @return the mean
+     */
+    public double mean() {
+        return moments().mean();
+    }
+    
+    /**
+     * Returns the median, following the same convention as
+     * {@link Statistics#median(double[])}.
+     * 
+     * @return the median
+     */
+    public double median() {
+        double[] values = sorted();
+        int middle = values.length / 2;
+        return values.length % 2 == 0
+                ? (values[middle - 1] + values[middle]) / 2.0
+                : values[middle];
+    }
+    
+    /**
+     * Returns the value below which {@code percentile} percent of the values
+     * fall, using linear interpolation over the cached sorted copy.
+     * 
+     * @param percentile percentage between 0 and 100
+     * @return the percentile
+     * @throws IllegalArgumentException if percentile is outside [0, 100]
+     */
+    public double percentile(double percentile) {
+        return rankIndex().percentile(percentile);
+    }
+    
+    /**
+     * Returns several percentiles at once, using linear interpolation over
+     * the cached sorted copy.
+     * 
+     * @param percentiles percentages between 0 and 100
+     * @return the percentiles, in the order requested
+     * @throws IllegalArgumentException if percentiles is null or any is outside [0, 100]
+     */
+    public double[] percentiles(double... percentiles) {
+        return rankIndex().percentiles(percentiles);
+    }
+    
+    /**
+     * Returns a rank index sharing the cached sorted copy, for rank,
+     * cumulative distribution and interpolated quantile queries.
+     * 
+     * @return the rank index
+     */
+    public RankIndex rankIndex() {
+        return new RankIndex(sorted());
+    }
+    
+    /**
+     * Returns the most frequent value, the smallest one if several are
+     * equally frequent, as {@link Statistics#mode(double[])} does.
+     * 
+     * @return the mode
+     */
+    public double mode() {
+        DescriptiveSummary cached = summary;
+        return cached != null ? cached.mode() : frequencies().mode();
+    }
+    
+    /**
+     * Returns how many times {@code value} occurs. Values are compared by
+     * {@link Double#doubleToLongBits}, as in {@link #mode()}.
+     * 
+     * @param value the value to count
+     * @return the number of occurrences, 0 if absent
+     */
+    public int frequency(double value) {
+        return frequencies().table().get(Double.doubleToLongBits(value));
+    }
+    
+    /**
+     * Returns the smallest value.
+     * 
+     * @return the minimum
+     */
+    public double min() {
+        return moments().min();
+    }
+    
+    /**
+     * Returns the largest value.
+     * 
+     * @return the maximum
+     */
+    public double max() {
+        return moments().max();
+    }
+    
+    /**
+     * Returns the difference between the maximum and minimum.
+     * 
+     * @return the range
+     */
+    public double range() {
+        return moments().range();
+    }
+    
+    /**
+     * Returns the population variance.
+     * 
+     * @return the variance
+     */
+    public double variance() {
+        return moments().variance();
+    }
+    
+    /**
+     * Returns the population standard deviation.
+     * 
+     * @return the standard deviation
+     */
+    public double standardDeviation() {
+        return moments().standardDeviation();
+    }
+    
+    /**
+     * Returns the sample variance (n-1 denominator).
+     * 
+     * @return the sample variance
+     * @throws IllegalArgumentException if the dataset has less than 2 values
+     */
+    public double sampleVariance() {
+        if (data.length < 2) {
+            throw new IllegalArgumentException("Sample variance requires at least 2 data points");
+        }
+        return moments().sampleVariance();
+    }
+    
+    /**
+     * Returns the sample standard deviation.
+     * 
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if the dataset has less than 2 values
+     */
+    public double sampleStandardDeviation() {
+        return Math.sqrt(sampleVariance());
+    }
+    
+    /**
+     * Returns every descriptive statistic at once, built from the cached
+     * moments and sorted copy. The mode is read from runs in the sorted copy,
+     * so no frequency table is built.
+     * 
+     * @return the summary
+     */
+    public DescriptiveSummary describe() {
+        DescriptiveSummary result = summary;
+        if (result == null) {
+            synchronized (lock) {
+                result = summary;
+                if (result == null) {
+                    StreamingStatistics m = moments();
+                    double[] values = sorted();
+                    Frequencies table = frequencies;
+                    double mode = table != null ? table.mode()
+                            : Statistics.modeOfSorted(values, 0, values.length);
+                    double sampleVariance = m.count() < 2 ? Double.NaN : m.sampleVariance();
+                    result = new DescriptiveSummary(m.count(), m.mean(), median(), mode,
+                            m.min(), m.max(), m.range(), m.variance(), m.standardDeviation(),
+                            sampleVariance, Math.sqrt(sampleVariance));
+                    summary = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the moments, computing them on first use.
+     */
+    private StreamingStatistics moments() {
+        StreamingStatistics result = moments;
+        if (result == null) {
+            synchronized (lock) {
+                result = moments;
+                if (result == null) {
+                    result = new StreamingStatistics().accept(data, 0, data.length);
+                    moments = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the values in ascending order, sorting a copy on first use.
+     * The array is shared and must not be modified.
+     */
+    double[] sorted() {
+        double[] result = sorted;
+        if (result == null) {
+            synchronized (lock) {
+                result = sorted;
+                if (result == null) {
+                    result = data.clone();
+                    Arrays.sort(result);
+                    sorted = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the frequency table, building it on first use.
+     */
+    private Frequencies frequencies() {
+        Frequencies result = frequencies;
+        if (result == null) {
+            synchronized (lock) {
+                result = frequencies;
+                if (result == null) {
+                    LongIntHashMap table = new LongIntHashMap(Math.min(data.length, 1 << 16));
+                    for (double value : data) {
+                        table.increment(Double.doubleToLongBits(value));
+                    }
+                    result = new Frequencies(table, Statistics.mostFrequent(table, data[0]));
+                    frequencies = result;
+                }
+            }
+        }
+        return result;
+    }
+}
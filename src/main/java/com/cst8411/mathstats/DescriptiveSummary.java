@@ -0,0 +1,34 @@
+package com.cst8411.mathstats;
+
+/**
+ * Immutable set of descriptive statistics for one dataset, as returned by
+ * {@link Statistics#describe(double[])}.
+ * 
+ * @param count number of values
+ * @param mean arithmetic mean
+ * @param median middle value
+ * @param mode most frequent value (smallest on ties)
+ * @param min smallest value
+ * @param max largest value
+ * @param range difference between max and min
+ * @param variance population variance
+ * @param standardDeviation population standard deviation
+ * @param sampleVariance sample variance, or {@code NaN} for fewer than 2 values
+ * @param sampleStandardDeviation sample standard deviation, or {@code NaN} for fewer than 2 values
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public record DescriptiveSummary(
+        long count,
+        double mean,
+        double median,
+        double mode,
+        double min,
+        double max,
+        double range,
+        double variance,
+        double standardDeviation,
+        double sampleVariance,
+        double sampleStandardDeviation) {
+}
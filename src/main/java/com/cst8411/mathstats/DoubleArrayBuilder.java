@@ -0,0 +1,102 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Growable primitive {@code double} array, for collecting values of
+ * unknown count without boxing them into a {@code List<Double>}.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DoubleArrayBuilder implements DoubleConsumer {
+    
+    private static final int DEFAULT_CAPACITY = 1024;
+    
+    private double[] values;
+    private int size;
+    
+    /**
+     * Creates an empty builder with a default initial capacity.
+     */
+    public DoubleArrayBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates an empty builder with room for {@code initialCapacity} values.
+     * 
+     * @param initialCapacity initial capacity
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public DoubleArrayBuilder(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        values = new double[initialCapacity];
+    }
+    
+    /**
+     * Appends a value.
+     * 
+     * @param value the value to append
+     */
+    @Override
+    public void accept(double value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[size++] = value;
+    }
+    
+    /**
+     * Returns the number of values appended.
+     * 
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns the value at {@code index}.
+     * 
+     * @param index position of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if index is not in {@code [0, size())}
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+    
+    /**
+     * Returns a new array holding the appended values.
+     * 
+     * @return the values, trimmed to {@link #size()}
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Removes all values, keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+    
+    private void grow() {
+        int capacity = values.length + Math.max(16, values.length >> 1);
+        if (capacity < 0 || capacity > Integer.MAX_VALUE - 8) {
+            if (values.length == Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Builder is full");
+            }
+            capacity = Integer.MAX_VALUE - 8;
+        }
+        values = Arrays.copyOf(values, capacity);
+    }
+}
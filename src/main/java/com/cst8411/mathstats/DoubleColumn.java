@@ -0,0 +1,139 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Read access to a sequence of doubles that may live on or off the Java heap.
+ * {@link ColumnStatistics} provides the {@link Statistics} operations for
+ * columns, so large datasets can be kept in direct memory, outside the
+ * garbage-collected heap.
+ * 
+ * <p>Implementations:</p>
+ * <ul>
+ *   <li>{@link #of(double[])} and {@link #of(double[], int, int)} wrap a
+ *       heap array, or a range of one, without copying;</li>
+ *   <li>{@link #allocateDirect(long)} allocates writable off-heap storage,
+ *       segmented so that it may exceed 2 GB;</li>
+ *   <li>{@link #wrap(ByteBuffer)} views an existing buffer, such as a
+ *       memory-mapped file, in the buffer's byte order;</li>
+ *   <li>{@link #wrap(DoubleBuffer)} views an existing {@code DoubleBuffer},
+ *       such as a slice of a network or I/O buffer.</li>
+ * </ul>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public interface DoubleColumn extends AutoCloseable {
+    
+    /**
+     * Returns the number of values in the column.
+     * 
+     * @return the size
+     */
+    long size();
+    
+    /**
+     * Returns the value at {@code index}.
+     * 
+     * @param index position of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if index is not in {@code [0, size())}
+     * @throws IllegalStateException if the column has been closed
+     */
+    double get(long index);
+    
+    /**
+     * Copies {@code length} values starting at {@code from} into
+     * {@code destination}, starting at {@code offset}.
+     * 
+     * @param from index of the first value to copy
+     * @param destination array to copy into
+     * @param offset first index written in destination
+     * @param length number of values to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     * @throws IllegalStateException if the column has been closed
+     */
+    void copyTo(long from, double[] destination, int offset, int length);
+    
+    /**
+     * Releases the column's storage. Afterwards reads throw
+     * {@link IllegalStateException}, and off-heap memory owned by the column
+     * is freed by the garbage collector. Closing a heap column has no effect.
+     */
+    @Override
+    void close();
+    
+    /**
+     * Returns a column backed by {@code data}; later changes to the array are visible.
+     * 
+     * @param data values of the column
+     * @return a heap column
+     * @throws IllegalArgumentException if data is null
+     */
+    static DoubleColumn of(double[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data array cannot be null");
+        }
+        return new HeapDoubleColumn(data, 0, data.length);
+    }
+    
+    /**
+     * Returns a column backed by {@code data[from, to)} without copying the range;
+     * later changes to the array are visible.
+     * 
+     * @param data array holding the values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return a heap column over the range
+     * @throws IllegalArgumentException if data is null or the range is invalid
+     */
+    static DoubleColumn of(double[] data, int from, int to) {
+        Statistics.checkRange(data, from, to);
+        return new HeapDoubleColumn(data, from, to);
+    }
+    
+    /**
+     * Allocates a zero-filled off-heap column of {@code size} values.
+     * 
+     * @param size number of values
+     * @return a writable direct-memory column
+     * @throws IllegalArgumentException if size is negative
+     */
+    static BufferDoubleColumn allocateDirect(long size) {
+        return BufferDoubleColumn.allocateDirect(size);
+    }
+    
+    /**
+     * Returns a column viewing the bytes between the buffer's position and
+     * limit as doubles in the buffer's byte order. The column does not own
+     * the buffer, so closing it does not free the memory.
+     * 
+     * @param buffer buffer holding the values
+     * @return a column over the buffer
+     * @throws IllegalArgumentException if buffer is null or its remaining
+     *         size is not a multiple of 8 bytes
+     */
+    static BufferDoubleColumn wrap(ByteBuffer buffer) {
+        return BufferDoubleColumn.wrap(buffer);
+    }
+    
+    /**
+     * Returns a column viewing the values between the buffer's position and
+     * limit. A buffer backed by an accessible array is read through the array
+     * like {@link #of(double[], int, int)}; any other buffer is viewed as a
+     * {@link BufferDoubleColumn}. The column does not own the buffer, so
+     * closing it does not free the memory.
+     * 
+     * @param buffer buffer holding the values
+     * @return a column over the buffer
+     * @throws IllegalArgumentException if buffer is null
+     */
+    static DoubleColumn wrap(DoubleBuffer buffer) {
+        if (buffer != null && buffer.hasArray()) {
+            int from = buffer.arrayOffset() + buffer.position();
+            return new HeapDoubleColumn(buffer.array(), from, from + buffer.remaining());
+        }
+        return BufferDoubleColumn.wrap(buffer);
+    }
+}
@@ -0,0 +1,424 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of non-negative values with a configurable
+ * dynamic range and number of significant digits, in the style of
+ * HdrHistogram. Each power of two between the lowest discernible and the
+ * highest trackable value is split into equally wide sub-buckets, so every
+ * bucket is narrower than one unit in the last significant digit of the
+ * values it holds.
+ * 
+ * <p>Recording is O(1) and never allocates; memory depends only on the
+ * configuration, never on the number of values. Percentiles, the median and
+ * the mode are reported to the configured precision, while the count, mean,
+ * minimum and maximum come from the values themselves rather than the
+ * buckets. Histograms with the same configuration can
+ * be merged with {@link #add}.</p>
+ * 
+ * <p>Instances are not thread-safe. For concurrent recording, keep one
+ * histogram per thread and merge {@link #copy() copies}.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DoubleHistogram {
+    
+    /** Largest supported number of significant digits. */
+    public static final int MAX_SIGNIFICANT_DIGITS = 5;
+    
+    private static final int MAX_BUCKETS = Integer.MAX_VALUE - 8;
+    
+    private final double lowestDiscernibleValue;
+    private final double highestTrackableValue;
+    private final int significantDigits;
+    private final int subBucketBits;
+    private final long[] counts;
+    
+    private long totalCount;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Creates a histogram for values in {@code [0, highestTrackableValue]}.
+     * Values below {@code lowestDiscernibleValue} share a single bucket.
+     * 
+     * @param lowestDiscernibleValue smallest value told apart from zero
+     * @param highestTrackableValue largest value that can be recorded
+     * @param significantDigits decimal digits of precision, from 1 to 5
+     * @throws IllegalArgumentException if the range is empty or not finite,
+     *         the digits are out of bounds, or the histogram would be too large
+     */
+    public DoubleHistogram(double lowestDiscernibleValue, double highestTrackableValue, int significantDigits) {
+        if (!(lowestDiscernibleValue > 0) || Double.isInfinite(lowestDiscernibleValue)) {
+            throw new IllegalArgumentException("Lowest discernible value must be positive and finite");
+        }
+        if (!(highestTrackableValue >= 2 * lowestDiscernibleValue) || Double.isInfinite(highestTrackableValue)) {
+            throw new IllegalArgumentException(
+                    "Highest trackable value must be finite and at least twice the lowest discernible value");
+        }
+        if (significantDigits < 1 || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            throw new IllegalArgumentException("Significant digits must be between 1 and " + MAX_SIGNIFICANT_DIGITS);
+        }
+        this.lowestDiscernibleValue = lowestDiscernibleValue;
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        // Relative bucket width 2^-bits must not exceed 10^-digits
+        this.subBucketBits = (int) Math.ceil(significantDigits * (Math.log(10) / Math.log(2)));
+        long octaves = Math.getExponent(highestTrackableValue / lowestDiscernibleValue) + 1L;
+        long buckets = 1 + (octaves << subBucketBits);
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range and precision need too many buckets");
+        }
+        this.counts = new long[(int) buckets];
+    }
+    
+    /**
+     * Records one occurrence of a value.
+     * 
+     * @param value the value to record
+     * @throws IllegalArgumentException if value is negative, NaN or above the trackable range
+     */
+    public void record(double value) {
+        record(value, 1);
+    }
+    
+    /**
+     * Records {@code count} occurrences of a value.
+     * 
+     * @param value the value to record
+     * @param count number of occurrences
+     * @throws IllegalArgumentException if value is negative, NaN or above the
+     *         trackable range, or count is negative
+     */
+    public void record(double value, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        counts[indexOf(value)] += count;
+        if (count == 0) {
+            return;
+        }
+        totalCount += count;
+        sum += value * count;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+    
+    /**
+     * Adds every value recorded by {@code other} to this histogram.
+     * 
+     * @param other histogram with the same configuration
+     * @return this histogram
+     * @throws IllegalArgumentException if other is null or configured differently
+     */
+    public DoubleHistogram add(DoubleHistogram other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other histogram cannot be null");
+        }
+        if (other.lowestDiscernibleValue != lowestDiscernibleValue
+                || other.highestTrackableValue != highestTrackableValue
+                || other.significantDigits != significantDigits) {
+            throw new IllegalArgumentException("Histograms must have the same range and precision");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.min < min) min = other.min;
+        if (other.max > max) max = other.max;
+        return this;
+    }
+    
+    /**
+     * Returns an independent histogram holding the same values.
+     * 
+     * @return a snapshot of this histogram
+     */
+    public DoubleHistogram copy() {
+        DoubleHistogram copy = new DoubleHistogram(lowestDiscernibleValue, highestTrackableValue, significantDigits);
+        return copy.add(this);
+    }
+    
+    /**
+     * Discards every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+    
+    /**
+     * Returns the number of values recorded.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return totalCount;
+    }
+    
+    /**
+     * Returns the arithmetic mean of the recorded values, unaffected by bucketing.
+     * 
+     * @return the mean
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double mean() {
+        checkNotEmpty();
+        return sum / totalCount;
+    }
+    
+    /**
+     * Returns the exact smallest recorded value.
+     * 
+     * @return the minimum
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double min() {
+        checkNotEmpty();
+        return min;
+    }
+    
+    /**
+     * Returns the exact largest recorded value.
+     * 
+     * @return the maximum
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double max() {
+        checkNotEmpty();
+        return max;
+    }
+    
+    /**
+     * Returns the value below which {@code percentile} percent of the recorded
+     * values fall, using the nearest-rank definition. The result is the
+     * midpoint of the bucket holding that rank, clamped to the recorded
+     * minimum and maximum, so {@code percentile(0)} and {@code percentile(100)}
+     * are exact.
+     * 
+     * @param percentile percentage between 0 and 100
+     * @return the estimated percentile
+     * @throws IllegalArgumentException if percentile is outside [0, 100]
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        checkNotEmpty();
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return clamp(midpoint(i));
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Returns the estimated median, equal to {@code percentile(50)}.
+     * 
+     * @return the estimated median
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double median() {
+        return percentile(50);
+    }
+    
+    /**
+     * Returns the midpoint of the most populated bucket, preferring the
+     * lowest bucket on ties. Use {@link #lowestEquivalentValue} and
+     * {@link #highestEquivalentValue} for the bounds of that bucket.
+     * 
+     * @return the estimated mode
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double mode() {
+        checkNotEmpty();
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return clamp(midpoint(best));
+    }
+    
+    /**
+     * Returns the smallest value recorded in the same bucket as {@code value}.
+     * 
+     * @param value a value within the trackable range
+     * @return the inclusive lower bound of its bucket
+     * @throws IllegalArgumentException if value is outside the trackable range
+     */
+    public double lowestEquivalentValue(double value) {
+        return lowerBound(indexOf(value));
+    }
+    
+    /**
+     * Returns the bound above every value recorded in the same bucket as {@code value}.
+     * 
+     * @param value a value within the trackable range
+     * @return the exclusive upper bound of its bucket
+     * @throws IllegalArgumentException if value is outside the trackable range
+     */
+    public double highestEquivalentValue(double value) {
+        return lowerBound(indexOf(value) + 1);
+    }
+    
+    /**
+     * Returns the number of decimal digits of precision.
+     * 
+     * @return the significant digits
+     */
+    public int significantDigits() {
+        return significantDigits;
+    }
+    
+    /**
+     * Returns the number of buckets, which fixes the memory footprint.
+     * 
+     * @return the bucket count
+     */
+    int bucketCount() {
+        return counts.length;
+    }
+    
+    /**
+     * Returns the number of bytes {@link #writeState} produces.
+     * 
+     * @return the encoded size of the state
+     */
+    int stateSize() {
+        int size = 2 * Double.BYTES + 1 + SummaryCodec.varLongSize(totalCount) + 3 * Double.BYTES;
+        int buckets = 0;
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                size += SummaryCodec.varLongSize(i - previous) + SummaryCodec.varLongSize(counts[i]);
+                previous = i;
+                buckets++;
+            }
+        }
+        return size + SummaryCodec.varLongSize(buckets);
+    }
+    
+    /**
+     * Writes the configuration, the exact count, sum, minimum and maximum,
+     * and the non-empty buckets as (index delta, count) varint pairs, for
+     * {@link SummaryCodec}.
+     * 
+     * @param out buffer to write to
+     */
+    void writeState(ByteBuffer out) {
+        out.putDouble(lowestDiscernibleValue).putDouble(highestTrackableValue);
+        out.put((byte) significantDigits);
+        SummaryCodec.putVarLong(out, totalCount);
+        out.putDouble(sum).putDouble(min).putDouble(max);
+        int buckets = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                buckets++;
+            }
+        }
+        SummaryCodec.putVarLong(out, buckets);
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                SummaryCodec.putVarLong(out, i - previous);
+                SummaryCodec.putVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+    }
+    
+    /**
+     * Reads state written by {@link #writeState}.
+     * 
+     * @param in buffer to read from
+     * @return the decoded histogram
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    static DoubleHistogram readState(ByteBuffer in) {
+        double lowest = in.getDouble();
+        double highest = in.getDouble();
+        DoubleHistogram histogram = new DoubleHistogram(lowest, highest, in.get());
+        histogram.totalCount = SummaryCodec.getVarLong(in);
+        histogram.sum = in.getDouble();
+        histogram.min = in.getDouble();
+        histogram.max = in.getDouble();
+        long buckets = SummaryCodec.getVarLong(in);
+        long index = 0;
+        long total = 0;
+        for (long b = 0; b < buckets; b++) {
+            index += SummaryCodec.getVarLong(in);
+            long count = SummaryCodec.getVarLong(in);
+            if (index < 0 || index >= histogram.counts.length || count <= 0) {
+                throw new IllegalArgumentException("Summary state is corrupt");
+            }
+            histogram.counts[(int) index] = count;
+            total += count;
+        }
+        if (total != histogram.totalCount) {
+            throw new IllegalArgumentException("Summary state is corrupt");
+        }
+        return histogram;
+    }
+    
+    /**
+     * Maps a value to its bucket: bucket 0 holds values below the lowest
+     * discernible value, then each octave of {@code 2^subBucketBits} buckets
+     * is indexed by the binary exponent and the leading mantissa bits.
+     */
+    private int indexOf(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Value must be non-negative and not NaN");
+        }
+        if (value > highestTrackableValue) {
+            throw new IllegalArgumentException("Value " + value + " exceeds highest trackable value "
+                    + highestTrackableValue);
+        }
+        double scaled = value / lowestDiscernibleValue;
+        if (scaled < 1) {
+            return 0;
+        }
+        int exponent = Math.getExponent(scaled);
+        int subBucket = (int) ((Double.doubleToRawLongBits(scaled) >>> (52 - subBucketBits))
+                & ((1 << subBucketBits) - 1));
+        return Math.min(counts.length - 1, 1 + (exponent << subBucketBits) + subBucket);
+    }
+    
+    private double lowerBound(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        int exponent = (index - 1) >>> subBucketBits;
+        int subBucket = (index - 1) & ((1 << subBucketBits) - 1);
+        double mantissa = 1 + (double) subBucket / (1 << subBucketBits);
+        return lowestDiscernibleValue * Math.scalb(mantissa, exponent);
+    }
+    
+    private double midpoint(int index) {
+        return (lowerBound(index) + lowerBound(index + 1)) / 2;
+    }
+    
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    private void checkNotEmpty() {
+        if (totalCount == 0) {
+            throw new IllegalStateException("No data has been recorded");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.cst8411.mathstats;
+
+/**
+ * Exponentially weighted moving mean and variance of a time series.
+ * 
+ * <p>Each sample's weight decays by {@code exp(-lambda * dt)} as time
+ * {@code dt} passes, where {@code lambda} is set from a smoothing factor
+ * ({@link #withAlpha}) or a half-life ({@link #withHalfLife}). The state is
+ * the decayed weight total and sum of squared weights, the weighted mean
+ * and the weighted sum of squared deviations, updated with a weighted
+ * Welford step, so every update is O(1) and allocation-free.</p>
+ * 
+ * <p>The results are bias-corrected: the mean is the weighted average of the
+ * samples seen so far rather than being pulled towards an initial value of
+ * zero, so the first sample is returned exactly. As the weight total
+ * saturates, the mean converges to the classic {@code m += alpha * (x - m)}
+ * recurrence. The variance applies the reliability-weights correction
+ * {@code m2 / (W - sum(w^2) / W)}, the weighted analogue of the
+ * {@code n - 1} denominator, so it is not biased low while only a few
+ * samples carry weight.</p>
+ * 
+ * <p>Instances are not thread-safe.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class ExponentialMovingStatistics {
+    
+    private final double lambda;
+    
+    private long count;
+    private double lastTimestamp;
+    private double weight;
+    private double weightSquares;
+    private double mean;
+    private double m2;
+    
+    private ExponentialMovingStatistics(double lambda) {
+        this.lambda = lambda;
+    }
+    
+    /**
+     * Creates statistics with smoothing factor {@code alpha}: each unit of
+     * time multiplies the weight of older samples by {@code 1 - alpha}.
+     * 
+     * @param alpha smoothing factor in {@code (0, 1)}
+     * @return new, empty statistics
+     * @throws IllegalArgumentException if alpha is not in {@code (0, 1)}
+     */
+    public static ExponentialMovingStatistics withAlpha(double alpha) {
+        if (!(alpha > 0 && alpha < 1)) {
+            throw new IllegalArgumentException("Alpha must be between 0 and 1 (exclusive)");
+        }
+        return new ExponentialMovingStatistics(-Math.log1p(-alpha));
+    }
+    
+    /**
+     * Creates statistics in which a sample's weight halves after
+     * {@code halfLife} units of time.
+     * 
+     * @param halfLife half-life, in the same unit as the timestamps
+     * @return new, empty statistics
+     * @throws IllegalArgumentException if halfLife is not positive and finite
+     */
+    public static ExponentialMovingStatistics withHalfLife(double halfLife) {
+        if (!(halfLife > 0 && halfLife < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Half-life must be positive and finite");
+        }
+        return new ExponentialMovingStatistics(Math.log(2) / halfLife);
+    }
+    
+    /**
+     * Adds a sample one time unit after the previous one, for regularly
+     * spaced series.
+     * 
+     * @param value the sample value
+     * @throws IllegalArgumentException if value is NaN
+     */
+    public void update(double value) {
+        update(count == 0 ? 0 : lastTimestamp + 1, value);
+    }
+    
+    /**
+     * Adds a sample observed at {@code timestamp}. Older samples are decayed
+     * according to the time elapsed since the previous update.
+     * 
+     * @param timestamp finite time of the sample, not earlier than the previous one
+     * @param value the sample value
+     * @throws IllegalArgumentException if value is NaN, timestamp is not
+     *         finite, or timestamp goes backwards
+     */
+    public void update(double timestamp, double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN");
+        }
+        if (!Double.isFinite(timestamp)) {
+            throw new IllegalArgumentException("Timestamp must be finite");
+        }
+        if (count > 0 && timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamps must be non-decreasing");
+        }
+        double decay = count == 0 ? 0 : Math.exp(-lambda * (timestamp - lastTimestamp));
+        weight = decay * weight + 1;
+        weightSquares = decay * decay * weightSquares + 1;
+        double delta = value - mean;
+        mean += delta / weight;
+        m2 = decay * m2 + delta * (value - mean);
+        lastTimestamp = timestamp;
+        count++;
+    }
+    
+    /**
+     * Discards all samples.
+     */
+    public void reset() {
+        count = 0;
+        lastTimestamp = 0;
+        weight = 0;
+        weightSquares = 0;
+        mean = 0;
+        m2 = 0;
+    }
+    
+    /**
+     * Returns the number of samples added.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Returns the timestamp of the latest sample.
+     * 
+     * @return the last timestamp
+     * @throws IllegalStateException if no samples have been added
+     */
+    public double lastTimestamp() {
+        checkNotEmpty();
+        return lastTimestamp;
+    }
+    
+    /**
+     * Returns the exponentially weighted mean.
+     * 
+     * @return the weighted mean
+     * @throws IllegalStateException if no samples have been added
+     */
+    public double mean() {
+        checkNotEmpty();
+        return mean;
+    }
+    
+    /**
+     * Returns the bias-corrected exponentially weighted variance around
+     * {@link #mean()}, {@code m2 / (W - sum(w^2) / W)} for weight total
+     * {@code W}.
+     * 
+     * @return the weighted variance, or NaN after a single sample
+     * @throws IllegalStateException if no samples have been added
+     */
+    public double variance() {
+        checkNotEmpty();
+        if (count < 2) {
+            return Double.NaN;
+        }
+        return Math.max(0, m2 / (weight - weightSquares / weight));
+    }
+    
+    /**
+     * Returns the exponentially weighted standard deviation.
+     * 
+     * @return the weighted standard deviation
+     * @throws IllegalStateException if no samples have been added
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+    
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("No data has been accepted");
+        }
+    }
+}
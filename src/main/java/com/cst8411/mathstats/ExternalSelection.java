@@ -0,0 +1,207 @@
+package com.cst8411.mathstats;
+
+/**
+ * Exact median of a sequence of doubles too large to copy onto the heap,
+ * read as a stream of chunks that may be replayed several times.
+ * 
+ * <p>Each pass builds a histogram of the values inside the current bounds
+ * and narrows the bounds to the bucket holding the middle rank, until the
+ * bucket holds at most a given number of values, which are then copied to
+ * the heap and selected exactly. The search runs on
+ * {@link Selection#orderedKey} values rather than on the doubles, so bucket
+ * widths never overflow, even for infinite values. Each pass narrows the key range by a factor of
+ * {@value #HISTOGRAM_BUCKETS}, so at most five passes are needed.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class ExternalSelection {
+    
+    /** Default number of values copied to the heap for the final selection. */
+    static final int MAX_CANDIDATES = 1 << 22;
+    
+    private static final int HISTOGRAM_BUCKETS = 1 << 16;
+    
+    private final ChunkSource source;
+    
+    private ExternalSelection(ChunkSource source) {
+        this.source = source;
+    }
+    
+    /**
+     * Finds the median of the values produced by {@code source}. As with
+     * {@link Statistics#median(double[])}, NaN values sort last.
+     * 
+     * @param source replays every value, at least one, in chunks on each call
+     * @param maxCandidates largest bucket copied to the heap for selection
+     * @return the median
+     */
+    static double median(ChunkSource source, int maxCandidates) {
+        return new ExternalSelection(source).median(maxCandidates);
+    }
+    
+    private double median(int maxCandidates) {
+        // Bounds and count of the non-NaN values, as keys; NaN keys sort
+        // above them all
+        long[] bounds = {Long.MAX_VALUE, Long.MIN_VALUE, 0};
+        long[] count = {0};
+        source.forEachChunk((chunk, length) -> {
+            count[0] += length;
+            for (int i = 0; i < length; i++) {
+                if (chunk[i] == chunk[i]) {
+                    long key = Selection.orderedKey(chunk[i]);
+                    if (key < bounds[0]) bounds[0] = key;
+                    if (key > bounds[1]) bounds[1] = key;
+                    bounds[2]++;
+                }
+            }
+        });
+        long upperRank = count[0] / 2;
+        if (upperRank >= bounds[2]) {
+            return Double.NaN;
+        }
+        boolean even = count[0] % 2 == 0;
+        double[] values = valuesAtRank(upperRank, even, bounds[0], bounds[1], maxCandidates);
+        return even ? (values[0] + values[1]) / 2.0 : values[1];
+    }
+    
+    /**
+     * Finds the values of 0-based ranks {@code rank - 1} and {@code rank}
+     * among the non-NaN values, whose keys all lie in {@code [lo, hi]}. The
+     * lower neighbour is read from the final window when it lies inside it,
+     * and otherwise costs one extra scan.
+     * 
+     * @return {@code {value at rank - 1, value at rank}}, the first NaN
+     *         unless {@code withLower} is set
+     */
+    private double[] valuesAtRank(long rank, boolean withLower, long lo, long hi, int maxCandidates) {
+        long below = 0;
+        while (true) {
+            if (lo == hi) {
+                double value = Selection.fromOrderedKey(lo);
+                double lower = !withLower ? Double.NaN : rank > below ? value : maxBelow(lo);
+                return new double[] {lower, value};
+            }
+            Histogram histogram = new Histogram(lo, hi);
+            source.forEachChunk(histogram::add);
+            
+            int bucket = 0;
+            while (below + histogram.counts[bucket] <= rank) {
+                below += histogram.counts[bucket++];
+            }
+            long bucketLo = histogram.mins[bucket];
+            long bucketHi = histogram.maxs[bucket];
+            // A pass that does not narrow the bounds would repeat forever
+            boolean narrowed = bucketLo != lo || bucketHi != hi;
+            lo = bucketLo;
+            hi = bucketHi;
+            if (histogram.counts[bucket] <= maxCandidates || !narrowed) {
+                double[] candidates = collect(lo, hi, (int) histogram.counts[bucket]);
+                int k = (int) (rank - below);
+                Selection.select(candidates, 0, candidates.length, k);
+                double lower = Double.NaN;
+                if (withLower && k > 0) {
+                    // Selection leaves the k smaller candidates before index k
+                    lower = candidates[0];
+                    for (int i = 1; i < k; i++) {
+                        lower = Math.max(lower, candidates[i]);
+                    }
+                } else if (withLower) {
+                    lower = maxBelow(lo);
+                }
+                return new double[] {lower, candidates[k]};
+            }
+        }
+    }
+    
+    /**
+     * Returns the largest value whose key is below {@code key}.
+     */
+    private double maxBelow(long key) {
+        long[] max = {Long.MIN_VALUE};
+        source.forEachChunk((chunk, length) -> {
+            for (int i = 0; i < length; i++) {
+                long candidate = Selection.orderedKey(chunk[i]);
+                if (candidate < key && candidate > max[0]) {
+                    max[0] = candidate;
+                }
+            }
+        });
+        return Selection.fromOrderedKey(max[0]);
+    }
+    
+    /**
+     * Copies every value whose key lies in {@code [lo, hi]} to a new array
+     * of the given size.
+     */
+    private double[] collect(long lo, long hi, int size) {
+        double[] candidates = new double[size];
+        int[] filled = new int[1];
+        source.forEachChunk((chunk, length) -> {
+            for (int i = 0; i < length; i++) {
+                long key = Selection.orderedKey(chunk[i]);
+                if (key >= lo && key <= hi) {
+                    candidates[filled[0]++] = chunk[i];
+                }
+            }
+        });
+        return candidates;
+    }
+    
+    /**
+     * Receives consecutive chunks of values.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept(double[] chunk, int length);
+    }
+    
+    /**
+     * Streams every value through {@code consumer}, one chunk at a time.
+     */
+    @FunctionalInterface
+    interface ChunkSource {
+        void forEachChunk(ChunkConsumer consumer);
+    }
+    
+    /**
+     * Equal-width histogram over the keys {@code [lo, hi]} that also records
+     * the exact minimum and maximum key of each bucket. Bucket assignment is
+     * monotonic in the key, so the values of one bucket are exactly those
+     * between its minimum and maximum.
+     */
+    private static final class Histogram {
+        
+        final long lo;
+        final long hi;
+        final int shift;
+        final long[] counts = new long[HISTOGRAM_BUCKETS];
+        final long[] mins = new long[HISTOGRAM_BUCKETS];
+        final long[] maxs = new long[HISTOGRAM_BUCKETS];
+        
+        Histogram(long lo, long hi) {
+            this.lo = lo;
+            this.hi = hi;
+            // hi - lo may exceed Long.MAX_VALUE, so treat it as unsigned
+            int bits = Long.SIZE - Long.numberOfLeadingZeros(hi - lo);
+            shift = Math.max(0, bits - Integer.numberOfTrailingZeros(HISTOGRAM_BUCKETS));
+        }
+        
+        void add(double[] chunk, int length) {
+            for (int i = 0; i < length; i++) {
+                long key = Selection.orderedKey(chunk[i]);
+                if (key < lo || key > hi) {
+                    continue;
+                }
+                int bucket = (int) ((key - lo) >>> shift);
+                if (counts[bucket]++ == 0) {
+                    mins[bucket] = key;
+                    maxs[bucket] = key;
+                } else {
+                    if (key < mins[bucket]) mins[bucket] = key;
+                    if (key > maxs[bucket]) maxs[bucket] = key;
+                }
+            }
+        }
+    }
+}
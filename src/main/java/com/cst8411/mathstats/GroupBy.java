@@ -0,0 +1,263 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Keyed aggregation of {@code (int[] keys, double[] values)} pairs into
+ * per-key count, mean, variance, minimum, maximum and, optionally, median.
+ * Element {@code i} of {@code values} belongs to the group
+ * {@code keys[i]}.
+ * 
+ * <p>The data is aggregated in a single pass into primitive per-group
+ * accumulators, with groups found through an open-addressing hash table, so
+ * no boxing or per-key arrays are involved. With
+ * {@link #withParallelism(ParallelStatistics)} the pairs are split into
+ * chunks that are aggregated on a fork-join pool and merged with the Chan et
+ * al. pairwise formula. Medians need a second pass that scatters the values
+ * by group (one extra {@code double} per value) before selecting each
+ * group's middle value.</p>
+ * 
+ * <pre>{@code
+ * GroupedStatistics bySensor = new GroupBy().withMedians(true).aggregate(sensorIds, readings);
+ * }</pre>
+ * 
+ * <p>Instances are not thread-safe while being configured.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class GroupBy {
+    
+    private boolean medians;
+    private ParallelStatistics parallel;
+    
+    /**
+     * Creates a serial aggregation without medians.
+     */
+    public GroupBy() {
+    }
+    
+    /**
+     * Sets whether per-group medians are computed.
+     * 
+     * @param medians true to compute medians
+     * @return this aggregation
+     */
+    public GroupBy withMedians(boolean medians) {
+        this.medians = medians;
+        return this;
+    }
+    
+    /**
+     * Aggregates in parallel, using the pool and threshold of {@code parallel}.
+     * Inputs no longer than the threshold are still aggregated serially.
+     * 
+     * @param parallel source of the fork-join pool and chunk size
+     * @return this aggregation
+     * @throws IllegalArgumentException if parallel is null
+     */
+    public GroupBy withParallelism(ParallelStatistics parallel) {
+        if (parallel == null) {
+            throw new IllegalArgumentException("Parallel statistics cannot be null");
+        }
+        this.parallel = parallel;
+        return this;
+    }
+    
+    /**
+     * Aggregates {@code values} by {@code keys}.
+     * 
+     * @param keys group key of each value
+     * @param values array of double values
+     * @return per-group statistics, ordered by ascending key
+     * @throws IllegalArgumentException if either array is null, values is
+     *         empty, or the arrays differ in length
+     */
+    public GroupedStatistics aggregate(int[] keys, double[] values) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Keys array cannot be null");
+        }
+        Statistics.validateRange(values, 0, values == null ? 0 : values.length);
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        Groups groups;
+        if (parallel == null || values.length <= parallel.threshold()) {
+            groups = new Groups(16).add(keys, values, 0, values.length);
+        } else {
+            ForkJoinPool pool = parallel.pool();
+            groups = pool.invoke(new GroupTask(keys, values, 0, values.length, parallel.threshold()));
+        }
+        return groups.toResult(medians ? keys : null, values);
+    }
+    
+    /**
+     * Per-group Welford accumulators, grown by doubling as new keys appear.
+     */
+    private static final class Groups {
+        
+        private final LongIntHashMap index;
+        private int size;
+        private int[] keys;
+        private long[] counts;
+        private double[] means;
+        private double[] m2s;
+        private double[] mins;
+        private double[] maxs;
+        
+        Groups(int expectedGroups) {
+            index = new LongIntHashMap(expectedGroups);
+            keys = new int[expectedGroups];
+            counts = new long[expectedGroups];
+            means = new double[expectedGroups];
+            m2s = new double[expectedGroups];
+            mins = new double[expectedGroups];
+            maxs = new double[expectedGroups];
+        }
+        
+        Groups add(int[] keys, double[] values, int from, int to) {
+            for (int i = from; i < to; i++) {
+                int group = groupOf(keys[i]);
+                double value = values[i];
+                long count = ++counts[group];
+                double delta = value - means[group];
+                means[group] += delta / count;
+                m2s[group] += delta * (value - means[group]);
+                mins[group] = Math.min(mins[group], value);
+                maxs[group] = Math.max(maxs[group], value);
+            }
+            return this;
+        }
+        
+        Groups combine(Groups other) {
+            for (int g = 0; g < other.size; g++) {
+                int group = groupOf(other.keys[g]);
+                long n = counts[group] + other.counts[g];
+                double delta = other.means[g] - means[group];
+                means[group] += delta * ((double) other.counts[g] / n);
+                m2s[group] += other.m2s[g] + delta * delta * ((double) counts[group] * other.counts[g] / n);
+                counts[group] = n;
+                mins[group] = Math.min(mins[group], other.mins[g]);
+                maxs[group] = Math.max(maxs[group], other.maxs[g]);
+            }
+            return this;
+        }
+        
+        /**
+         * Returns the accumulator index for {@code key}, creating an empty one if absent.
+         */
+        private int groupOf(int key) {
+            int group = index.get(key) - 1;
+            if (group >= 0) {
+                return group;
+            }
+            if (size == keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                means = Arrays.copyOf(means, capacity);
+                m2s = Arrays.copyOf(m2s, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+            }
+            group = size++;
+            keys[group] = key;
+            mins[group] = Double.POSITIVE_INFINITY;
+            maxs[group] = Double.NEGATIVE_INFINITY;
+            index.put(key, group + 1);
+            return group;
+        }
+        
+        /**
+         * Builds the columnar result ordered by key; if {@code dataKeys} is
+         * not null, also computes medians of {@code values}.
+         */
+        GroupedStatistics toResult(int[] dataKeys, double[] values) {
+            // Order groups by key: sort (key, group) pairs packed into longs
+            long[] order = new long[size];
+            for (int g = 0; g < size; g++) {
+                order[g] = ((long) keys[g] << 32) | g;
+            }
+            Arrays.sort(order);
+            int[] sortedKeys = new int[size];
+            long[] sortedCounts = new long[size];
+            double[] sortedMeans = new double[size];
+            double[] sortedM2s = new double[size];
+            double[] sortedMins = new double[size];
+            double[] sortedMaxs = new double[size];
+            int[] rank = new int[size];
+            for (int r = 0; r < size; r++) {
+                int g = (int) order[r];
+                rank[g] = r;
+                sortedKeys[r] = keys[g];
+                sortedCounts[r] = counts[g];
+                sortedMeans[r] = means[g];
+                sortedM2s[r] = m2s[g];
+                sortedMins[r] = mins[g];
+                sortedMaxs[r] = maxs[g];
+            }
+            double[] medians = dataKeys == null ? null : medians(dataKeys, values, rank, sortedCounts);
+            return new GroupedStatistics(sortedKeys, sortedCounts, sortedMeans, sortedM2s,
+                    sortedMins, sortedMaxs, medians);
+        }
+        
+        /**
+         * Scatters the values into contiguous per-group ranges (a counting
+         * sort on group rank) and selects the median of each range.
+         */
+        private double[] medians(int[] dataKeys, double[] values, int[] rank, long[] sortedCounts) {
+            int[] next = new int[size];
+            for (int r = 1; r < size; r++) {
+                next[r] = next[r - 1] + (int) sortedCounts[r - 1];
+            }
+            double[] scattered = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                scattered[next[rank[index.get(dataKeys[i]) - 1]]++] = values[i];
+            }
+            double[] medians = new double[size];
+            int from = 0;
+            for (int r = 0; r < size; r++) {
+                int to = from + (int) sortedCounts[r];
+                medians[r] = Selection.median(scattered, from, to);
+                from = to;
+            }
+            return medians;
+        }
+    }
+    
+    /**
+     * Recursively halves the input and merges the groups of both halves.
+     */
+    private static final class GroupTask extends RecursiveTask<Groups> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] keys;
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        GroupTask(int[] keys, double[] values, int from, int to, int threshold) {
+            this.keys = keys;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected Groups compute() {
+            if (to - from <= threshold) {
+                return new Groups(16).add(keys, values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            GroupTask right = new GroupTask(keys, values, middle, to, threshold);
+            right.fork();
+            Groups left = new GroupTask(keys, values, from, middle, threshold).compute();
+            return left.combine(right.join());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+
+/**
+ * Columnar result of a {@link GroupBy} aggregation: one entry per distinct
+ * key, ordered by ascending key, with each statistic held in its own array.
+ * Element {@code i} of every metric array belongs to {@code keys()[i]}.
+ * 
+ * <p>The accessors return copies, so the result is immutable and can be
+ * shared between threads.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class GroupedStatistics {
+    
+    private final int[] keys;
+    private final long[] counts;
+    private final double[] means;
+    private final double[] m2s;
+    private final double[] mins;
+    private final double[] maxs;
+    private final double[] medians;
+    
+    GroupedStatistics(int[] keys, long[] counts, double[] means, double[] m2s,
+            double[] mins, double[] maxs, double[] medians) {
+        this.keys = keys;
+        this.counts = counts;
+        this.means = means;
+        this.m2s = m2s;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.medians = medians;
+    }
+    
+    /**
+     * Returns the number of groups.
+     * 
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return keys.length;
+    }
+    
+    /**
+     * Returns the position of {@code key} in the metric arrays.
+     * 
+     * @param key group key to look up
+     * @return the index of the group, or -1 if the key did not occur
+     */
+    public int indexOf(int key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -1;
+    }
+    
+    /**
+     * Returns the distinct keys in ascending order.
+     * 
+     * @return the group keys
+     */
+    public int[] keys() {
+        return keys.clone();
+    }
+    
+    /**
+     * Returns the number of values in each group.
+     * 
+     * @return the group sizes
+     */
+    public long[] counts() {
+        return counts.clone();
+    }
+    
+    /**
+     * Returns the arithmetic mean of each group.
+     * 
+     * @return the group means
+     */
+    public double[] means() {
+        return means.clone();
+    }
+    
+    /**
+     * Returns the population variance of each group.
+     * 
+     * @return the group variances
+     */
+    public double[] variances() {
+        double[] variances = new double[keys.length];
+        for (int i = 0; i < variances.length; i++) {
+            variances[i] = m2s[i] / counts[i];
+        }
+        return variances;
+    }
+    
+    /**
+     * Returns the sample variance (n-1 denominator) of each group, or
+     * {@code NaN} for groups with a single value.
+     * 
+     * @return the group sample variances
+     */
+    public double[] sampleVariances() {
+        double[] variances = new double[keys.length];
+        for (int i = 0; i < variances.length; i++) {
+            variances[i] = counts[i] < 2 ? Double.NaN : m2s[i] / (counts[i] - 1);
+        }
+        return variances;
+    }
+    
+    /**
+     * Returns the population standard deviation of each group.
+     * 
+     * @return the group standard deviations
+     */
+    public double[] standardDeviations() {
+        double[] deviations = variances();
+        for (int i = 0; i < deviations.length; i++) {
+            deviations[i] = Math.sqrt(deviations[i]);
+        }
+        return deviations;
+    }
+    
+    /**
+     * Returns the smallest value of each group.
+     * 
+     * @return the group minimums
+     */
+    public double[] mins() {
+        return mins.clone();
+    }
+    
+    /**
+     * Returns the largest value of each group.
+     * 
+     * @return the group maximums
+     */
+    public double[] maxs() {
+        return maxs.clone();
+    }
+    
+    /**
+     * Returns whether medians were computed.
+     * 
+     * @return true if {@link #medians()} is available
+     */
+    public boolean hasMedians() {
+        return medians != null;
+    }
+    
+    /**
+     * Returns the median of each group, following the same convention as
+     * {@link Statistics#median(double[])}.
+     * 
+     * @return the group medians
+     * @throws IllegalStateException if the aggregation did not compute medians
+     */
+    public double[] medians() {
+        if (medians == null) {
+            throw new IllegalStateException("Medians were not computed; use GroupBy.withMedians(true)");
+        }
+        return medians.clone();
+    }
+}
@@ -0,0 +1,75 @@
+package com.cst8411.mathstats;
+
+/**
+ * Column backed by a range of a heap {@code double[]}. {@link ColumnStatistics}
+ * passes the range directly to the {@link Statistics} range methods instead
+ * of copying it in chunks.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class HeapDoubleColumn implements DoubleColumn {
+    
+    private final double[] data;
+    private final int from;
+    private final int to;
+    
+    HeapDoubleColumn(double[] data, int from, int to) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+    }
+    
+    /**
+     * Returns the backing array.
+     * 
+     * @return the array, not a copy
+     */
+    double[] array() {
+        return data;
+    }
+    
+    /**
+     * Returns the index in {@link #array()} of the first value.
+     * 
+     * @return the start of the range (inclusive)
+     */
+    int from() {
+        return from;
+    }
+    
+    /**
+     * Returns the index in {@link #array()} after the last value.
+     * 
+     * @return the end of the range (exclusive)
+     */
+    int to() {
+        return to;
+    }
+    
+    @Override
+    public long size() {
+        return to - from;
+    }
+    
+    @Override
+    public double get(long index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + (to - from));
+        }
+        return data[from + (int) index];
+    }
+    
+    @Override
+    public void copyTo(long from, double[] destination, int offset, int length) {
+        if (from < 0 || length < 0 || from > this.to - this.from - (long) length) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length)
+                    + ") out of bounds for size " + (this.to - this.from));
+        }
+        System.arraycopy(data, this.from + (int) from, destination, offset, length);
+    }
+    
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,325 @@
+package com.cst8411.mathstats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Bounded-memory estimator of the most frequent values in a stream, using
+ * the Space-Saving algorithm of Metwally, Agrawal and El Abbadi. It keeps
+ * {@code capacity} counters however many distinct values the stream holds;
+ * an unseen value replaces the least-counted one and inherits its count as
+ * the error bound.
+ * 
+ * <p>After {@code n} values, every estimate is at most {@code n / capacity}
+ * above the true frequency and never below it, and every value occurring
+ * more than {@code n / capacity} times is guaranteed to be tracked. Values
+ * are distinguished by {@link Double#doubleToLongBits}, as in
+ * {@link Statistics#mode(double[])}.</p>
+ * 
+ * <p>Instances are not thread-safe. Sketches built on separate threads or
+ * partitions can be merged with {@link #merge}, which preserves the same
+ * error guarantee for the combined stream.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class HeavyHitters implements DoubleConsumer {
+    
+    /**
+     * A tracked value with its estimated frequency.
+     * 
+     * @param value the value
+     * @param count estimated number of occurrences, never below the true count
+     * @param error largest possible overestimate included in {@code count}
+     */
+    public record Entry(double value, long count, long error) {
+        
+        /**
+         * Returns the number of occurrences the value is certain to have.
+         * 
+         * @return {@code count - error}
+         */
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+    
+    /** Orders by estimated count (highest first), then by value (smallest first). */
+    private static final Comparator<Entry> BY_FREQUENCY =
+            Comparator.comparingLong(Entry::count).reversed().thenComparingDouble(Entry::value);
+    
+    private final int capacity;
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    /** Slots ordered as a binary min-heap on count. */
+    private final int[] heap;
+    /** Position of each slot within {@link #heap}. */
+    private final int[] heapPosition;
+    /** Maps a key to its slot plus one. */
+    private LongIntHashMap index;
+    private int size;
+    private long total;
+    
+    /**
+     * Creates an estimator that tracks at most {@code capacity} values.
+     * The worst-case error of each count is {@code 1 / capacity} of the
+     * number of values seen.
+     * 
+     * @param capacity number of counters
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPosition = new int[capacity];
+        this.index = new LongIntHashMap(capacity);
+    }
+    
+    /**
+     * Counts one occurrence of a value.
+     * 
+     * @param value the value to count
+     */
+    @Override
+    public void accept(double value) {
+        long key = Double.doubleToLongBits(value);
+        total++;
+        int slot = index.get(key) - 1;
+        if (slot >= 0) {
+            counts[slot]++;
+            siftDown(heapPosition[slot]);
+            return;
+        }
+        if (size < capacity) {
+            slot = size++;
+            keys[slot] = key;
+            counts[slot] = 1;
+            errors[slot] = 0;
+            heap[slot] = slot;
+            heapPosition[slot] = slot;
+            siftUp(slot);
+        } else {
+            // Evict the least-counted value; the newcomer may have occurred that often
+            slot = heap[0];
+            index.remove(keys[slot]);
+            keys[slot] = key;
+            errors[slot] = counts[slot];
+            counts[slot]++;
+            siftDown(0);
+        }
+        index.put(key, slot + 1);
+    }
+    
+    /**
+     * Counts every value of an array.
+     * 
+     * @param data array of double values
+     * @return this estimator
+     * @throws IllegalArgumentException if data is null
+     */
+    public HeavyHitters accept(double[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data array cannot be null");
+        }
+        for (double value : data) {
+            accept(value);
+        }
+        return this;
+    }
+    
+    /**
+     * Merges the counters of another estimator into this one, as if its
+     * stream had been appended to this one. Values missing from a full
+     * estimator are credited with its smallest count, both as count and as
+     * error, and the {@code capacity} highest counts are kept.
+     * 
+     * @param other estimator to merge
+     * @return this estimator
+     * @throws IllegalArgumentException if other is null
+     */
+    public HeavyHitters merge(HeavyHitters other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other estimator cannot be null");
+        }
+        long thisFloor = floor();
+        long otherFloor = other.floor();
+        List<Entry> merged = new ArrayList<>(size + other.size);
+        for (int slot = 0; slot < size; slot++) {
+            int otherSlot = other.index.get(keys[slot]) - 1;
+            long count = counts[slot] + (otherSlot >= 0 ? other.counts[otherSlot] : otherFloor);
+            long error = errors[slot] + (otherSlot >= 0 ? other.errors[otherSlot] : otherFloor);
+            merged.add(new Entry(Double.longBitsToDouble(keys[slot]), count, error));
+        }
+        for (int slot = 0; slot < other.size; slot++) {
+            if (index.get(other.keys[slot]) == 0) {
+                merged.add(new Entry(Double.longBitsToDouble(other.keys[slot]),
+                        other.counts[slot] + thisFloor, other.errors[slot] + thisFloor));
+            }
+        }
+        merged.sort(BY_FREQUENCY);
+        
+        long mergedTotal = total + other.total;
+        clear();
+        total = mergedTotal;
+        for (int i = 0; i < Math.min(capacity, merged.size()); i++) {
+            Entry entry = merged.get(i);
+            int slot = size++;
+            keys[slot] = Double.doubleToLongBits(entry.value());
+            counts[slot] = entry.count();
+            errors[slot] = entry.error();
+            heap[slot] = slot;
+            heapPosition[slot] = slot;
+            siftUp(slot);
+            index.put(keys[slot], slot + 1);
+        }
+        return this;
+    }
+    
+    /**
+     * Returns the value with the highest estimated count. Among equal
+     * estimates the smallest value is returned, matching
+     * {@link Statistics#mode(double[])}; when the true frequencies are
+     * closer than the error bound the result may differ from the exact mode.
+     * 
+     * @return the estimated mode
+     * @throws IllegalStateException if no values have been counted
+     */
+    public double approxMode() {
+        checkNotEmpty();
+        int best = 0;
+        for (int slot = 1; slot < size; slot++) {
+            if (counts[slot] > counts[best] || (counts[slot] == counts[best]
+                    && Double.longBitsToDouble(keys[slot]) < Double.longBitsToDouble(keys[best]))) {
+                best = slot;
+            }
+        }
+        return Double.longBitsToDouble(keys[best]);
+    }
+    
+    /**
+     * Returns the {@code k} tracked values with the highest estimated counts,
+     * ordered by count (highest first) and then by value (smallest first).
+     * Fewer entries are returned if fewer values are tracked.
+     * 
+     * @param k maximum number of entries
+     * @return the heaviest entries
+     * @throws IllegalArgumentException if k is negative
+     */
+    public List<Entry> topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        Entry[] entries = new Entry[size];
+        for (int slot = 0; slot < size; slot++) {
+            entries[slot] = new Entry(Double.longBitsToDouble(keys[slot]), counts[slot], errors[slot]);
+        }
+        Arrays.sort(entries, BY_FREQUENCY);
+        return List.of(Arrays.copyOf(entries, Math.min(k, size)));
+    }
+    
+    /**
+     * Returns the estimated count of a value, or 0 if it is not tracked.
+     * A value that is not tracked occurs at most {@link #maxError()} times.
+     * 
+     * @param value the value to look up
+     * @return the estimated count
+     */
+    public long estimate(double value) {
+        int slot = index.get(Double.doubleToLongBits(value)) - 1;
+        return slot >= 0 ? counts[slot] : 0;
+    }
+    
+    /**
+     * Returns the bound on how far any estimate can exceed the true count,
+     * which is at most {@code count() / capacity()}.
+     * 
+     * @return the maximum error
+     */
+    public long maxError() {
+        return floor();
+    }
+    
+    /**
+     * Returns the number of values counted.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return total;
+    }
+    
+    /**
+     * Returns the number of counters.
+     * 
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+    
+    /**
+     * Returns the smallest count when every counter is in use, and 0 otherwise.
+     */
+    private long floor() {
+        return size == capacity ? counts[heap[0]] : 0;
+    }
+    
+    private void clear() {
+        size = 0;
+        total = 0;
+        index = new LongIntHashMap(capacity);
+    }
+    
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(slot, position);
+    }
+    
+    private void siftDown(int position) {
+        int slot = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(slot, position);
+    }
+    
+    private void place(int slot, int position) {
+        heap[position] = slot;
+        heapPosition[slot] = position;
+    }
+    
+    private void checkNotEmpty() {
+        if (total == 0) {
+            throw new IllegalStateException("No data has been accepted");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cst8411.mathstats;
+
+/**
+ * How a quantile falling between two order statistics is estimated. With
+ * {@code n} sorted values {@code x[0..n-1]} and quantile {@code q}, the
+ * target position is {@code h = (n - 1) * q}; the methods differ in how
+ * they combine {@code x[floor(h)]} and {@code x[ceil(h)]}. The names match
+ * the {@code method} argument of NumPy's {@code quantile}.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public enum Interpolation {
+    
+    /**
+     * Linear interpolation between the two neighbours; Hyndman and Fan's
+     * definition 7, used by default in R, NumPy and Excel's
+     * {@code PERCENTILE.INC}.
+     */
+    LINEAR,
+    
+    /** The lower neighbour, {@code x[floor(h)]}. */
+    LOWER,
+    
+    /** The upper neighbour, {@code x[ceil(h)]}. */
+    HIGHER,
+    
+    /** The nearer neighbour, {@code x[rint(h)]}; halfway positions round to even. */
+    NEAREST,
+    
+    /** The average of the two neighbours. */
+    MIDPOINT;
+    
+    /**
+     * Estimates a quantile from values whose order statistics at
+     * {@code floor(h)} and {@code ceil(h)} are in their sorted positions.
+     * 
+     * @param ordered values, sorted or partitioned around the needed positions
+     * @param from index of the smallest value's position (inclusive)
+     * @param size number of values
+     * @param q quantile in {@code [0, 1]}
+     * @return the estimate
+     */
+    double estimate(double[] ordered, int from, int size, double q) {
+        double h = (size - 1) * q;
+        int lower = (int) Math.floor(h);
+        int upper = (int) Math.ceil(h);
+        double low = ordered[from + lower];
+        double high = ordered[from + upper];
+        switch (this) {
+            case LOWER:
+                return low;
+            case HIGHER:
+                return high;
+            case NEAREST:
+                return ordered[from + (int) Math.rint(h)];
+            case MIDPOINT:
+                return lower == upper ? low : (low + high) / 2.0;
+            default:
+                // Avoid inf - inf when both neighbours are the same infinity
+                return lower == upper || low == high ? low : low + (h - lower) * (high - low);
+        }
+    }
+}
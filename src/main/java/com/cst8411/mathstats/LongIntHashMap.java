@@ -0,0 +1,220 @@
+package com.cst8411.mathstats;
+
+/**
+ * Open-addressing hash table from primitive {@code long} keys to {@code int}
+ * counts, used for frequency counting without boxing. Double values are
+ * stored by their {@link Double#doubleToLongBits} encoding, which gives the
+ * same equality as {@link Double#equals}: {@code -0.0} and {@code 0.0} are
+ * distinct keys and all {@code NaN} values share one key.
+ * 
+ * <p>Collisions are resolved by linear probing. A slot is empty when its
+ * count is zero, so no key value has to be reserved as a sentinel.
+ * Removal shifts later entries of the probe run back instead of leaving
+ * tombstones.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class LongIntHashMap {
+    
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    
+    private long[] keys;
+    private int[] counts;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    
+    /**
+     * Creates a table sized to hold {@code expectedSize} keys without resizing.
+     * 
+     * @param expectedSize expected number of distinct keys
+     */
+    LongIntHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity * 3L / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+    
+    /**
+     * Adds one to the count for {@code key}, inserting it if absent.
+     * 
+     * @param key the key to count
+     */
+    void increment(long key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0) {
+            if (keys[slot] == key) {
+                counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        if (++size > resizeAt) {
+            resize();
+        }
+    }
+    
+    /**
+     * Stores {@code count} for {@code key}, replacing any previous count.
+     * 
+     * @param key the key to store
+     * @param count the count, which must be positive
+     */
+    void put(long key, int count) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0) {
+            if (keys[slot] == key) {
+                counts[slot] = count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = count;
+        if (++size > resizeAt) {
+            resize();
+        }
+    }
+    
+    /**
+     * Removes {@code key} if present.
+     * 
+     * @param key the key to remove
+     * @return the count that was stored, or 0 if the key was absent
+     */
+    int remove(long key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0) {
+            if (keys[slot] == key) {
+                int count = counts[slot];
+                shiftBack(slot);
+                size--;
+                return count;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+    
+    /**
+     * Returns the count stored for {@code key}.
+     * 
+     * @param key the key to look up
+     * @return the count, or 0 if the key is absent
+     */
+    int get(long key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0) {
+            if (keys[slot] == key) {
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+    
+    /**
+     * Returns the number of distinct keys.
+     * 
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Returns the number of slots; iterate over {@code [0, capacity())} and
+     * skip slots whose {@link #countAt} is zero.
+     * 
+     * @return the capacity
+     */
+    int capacity() {
+        return keys.length;
+    }
+    
+    /**
+     * Returns the key stored in {@code slot}.
+     * 
+     * @param slot slot index
+     * @return the key, meaningful only if the slot is occupied
+     */
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+    
+    /**
+     * Returns the count stored in {@code slot}.
+     * 
+     * @param slot slot index
+     * @return the count, or 0 if the slot is empty
+     */
+    int countAt(int slot) {
+        return counts[slot];
+    }
+    
+    /**
+     * Empties {@code gap} and moves back every later entry of its probe run
+     * whose home slot lies at or before the gap, so lookups never stop early.
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (counts[slot] == 0) {
+                break;
+            }
+            int home = mix(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                counts[gap] = counts[slot];
+                gap = slot;
+            }
+        }
+        counts[gap] = 0;
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : capacity / 4 * 3;
+    }
+    
+    private void resize() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Too many distinct keys");
+        }
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+    
+    /**
+     * Spreads the key bits (MurmurHash3 finalizer) so that doubles, whose
+     * low mantissa bits are often zero, still use every slot.
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
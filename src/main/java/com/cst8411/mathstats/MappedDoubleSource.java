@@ -0,0 +1,263 @@
+package com.cst8411.mathstats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Read-only view of a binary file of 8-byte IEEE 754 doubles that computes
+ * statistics without loading the file onto the heap.
+ * 
+ * <p>The file is mapped with {@link FileChannel#map} one segment at a time
+ * (1 GiB by default), so files larger than 2 GB and larger than the heap are
+ * supported. Values are streamed through a small scratch buffer into the
+ * same kernels used by {@link StreamingStatistics}. {@link #parallelSummarize()}
+ * maps independent regions on fork-join workers and merges the results.</p>
+ * 
+ * <p>The median is found by external selection: each pass over the file
+ * builds a histogram of the values inside the current bounds and narrows
+ * the bounds to the bucket holding the middle rank, until the bucket is
+ * small enough to copy to the heap and select exactly.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class MappedDoubleSource implements Closeable {
+    
+    /** Default number of bytes mapped at a time. */
+    public static final long DEFAULT_SEGMENT_BYTES = 1L << 30;
+    
+    private static final int CHUNK_SIZE = 1 << 13;
+    private static final long PARALLEL_THRESHOLD = 1L << 22;
+    
+    private final FileChannel channel;
+    private final ByteOrder order;
+    private final long count;
+    private final long segmentElements;
+    
+    private MappedDoubleSource(FileChannel channel, ByteOrder order, long count, long segmentElements) {
+        this.channel = channel;
+        this.order = order;
+        this.count = count;
+        this.segmentElements = segmentElements;
+    }
+    
+    /**
+     * Opens a file of big-endian doubles, the format written by
+     * {@link java.io.DataOutputStream#writeDouble}.
+     * 
+     * @param path file to read
+     * @return the opened source
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the file size is not a multiple of 8 bytes
+     */
+    public static MappedDoubleSource open(Path path) throws IOException {
+        return open(path, ByteOrder.BIG_ENDIAN);
+    }
+    
+    /**
+     * Opens a file of doubles stored in the given byte order.
+     * 
+     * @param path file to read
+     * @param order byte order of the stored values
+     * @return the opened source
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if path or order is null, or the file
+     *         size is not a multiple of 8 bytes
+     */
+    public static MappedDoubleSource open(Path path, ByteOrder order) throws IOException {
+        return open(path, order, DEFAULT_SEGMENT_BYTES);
+    }
+    
+    /**
+     * Opens a file, mapping at most {@code segmentBytes} bytes at a time.
+     */
+    static MappedDoubleSource open(Path path, ByteOrder order, long segmentBytes) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("Byte order cannot be null");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        long size = channel.size();
+        if (size % Double.BYTES != 0) {
+            channel.close();
+            throw new IllegalArgumentException("File size is not a multiple of 8 bytes");
+        }
+        return new MappedDoubleSource(channel, order, size / Double.BYTES,
+                Math.max(1, segmentBytes / Double.BYTES));
+    }
+    
+    /**
+     * Returns the number of values in the file.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Computes count, mean, variance, minimum and maximum in one sequential pass.
+     * 
+     * @return an accumulator holding the result
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public StreamingStatistics summarize() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        forEachChunk(0, count, (chunk, length) -> statistics.accept(chunk, 0, length));
+        return statistics;
+    }
+    
+    /**
+     * Computes count, mean, variance, minimum and maximum by reducing
+     * separately mapped regions on the common fork-join pool.
+     * 
+     * @return an accumulator holding the result
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public StreamingStatistics parallelSummarize() {
+        if (count <= PARALLEL_THRESHOLD) {
+            return summarize();
+        }
+        return ForkJoinPool.commonPool().invoke(new SummaryTask(0, count));
+    }
+    
+    /**
+     * Calculates the arithmetic mean of the values in the file.
+     * 
+     * @return the mean
+     * @throws IllegalStateException if the file is empty
+     */
+    public double mean() {
+        return summarize().mean();
+    }
+    
+    /**
+     * Calculates the population variance of the values in the file.
+     * 
+     * @return the population variance
+     * @throws IllegalStateException if the file is empty
+     */
+    public double variance() {
+        return summarize().variance();
+    }
+    
+    /**
+     * Calculates the sample variance of the values in the file.
+     * 
+     * @return the sample variance
+     * @throws IllegalStateException if the file holds fewer than 2 values
+     */
+    public double sampleVariance() {
+        return summarize().sampleVariance();
+    }
+    
+    /**
+     * Calculates the range of the values in the file.
+     * 
+     * @return the range
+     * @throws IllegalStateException if the file is empty
+     */
+    public double range() {
+        return summarize().range();
+    }
+    
+    /**
+     * Finds the median of the values in the file by external selection,
+     * holding at most a few million values on the heap at once.
+     * As with {@link Statistics#median(double[])}, NaN values sort last.
+     * 
+     * @return the median
+     * @throws IllegalStateException if the file is empty
+     */
+    public double median() {
+        return median(ExternalSelection.MAX_CANDIDATES);
+    }
+    
+    /**
+     * Finds the median, copying a bucket to the heap once it holds at most
+     * {@code maxCandidates} values.
+     */
+    double median(int maxCandidates) {
+        if (count == 0) {
+            throw new IllegalStateException("No data to compute a median of");
+        }
+        return ExternalSelection.median(consumer -> forEachChunk(0, count, consumer), maxCandidates);
+    }
+    
+    /**
+     * Closes the underlying file channel. Segments that are still mapped
+     * are released by the garbage collector.
+     * 
+     * @throws IOException if closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    /**
+     * Streams the values with indices {@code [from, to)} through a scratch
+     * buffer, mapping one segment at a time.
+     */
+    private void forEachChunk(long from, long to, ExternalSelection.ChunkConsumer consumer) {
+        double[] scratch = new double[CHUNK_SIZE];
+        long index = from;
+        try {
+            while (index < to) {
+                long segmentEnd = Math.min(to, index + segmentElements);
+                DoubleBuffer doubles = channel
+                        .map(FileChannel.MapMode.READ_ONLY, index * Double.BYTES, (segmentEnd - index) * Double.BYTES)
+                        .order(order)
+                        .asDoubleBuffer();
+                while (doubles.hasRemaining()) {
+                    int length = Math.min(CHUNK_SIZE, doubles.remaining());
+                    doubles.get(scratch, 0, length);
+                    consumer.accept(scratch, length);
+                }
+                index = segmentEnd;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Recursively halves an element range and reduces each half from its own mapping.
+     */
+    private final class SummaryTask extends RecursiveTask<StreamingStatistics> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final long from;
+        private final long to;
+        
+        SummaryTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected StreamingStatistics compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                StreamingStatistics statistics = new StreamingStatistics();
+                forEachChunk(from, to, (chunk, length) -> statistics.accept(chunk, 0, length));
+                return statistics;
+            }
+            long middle = (from + to) >>> 1;
+            SummaryTask right = new SummaryTask(middle, to);
+            right.fork();
+            StreamingStatistics left = new SummaryTask(from, middle).compute();
+            return left.combine(right.join());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.cst8411.mathstats;
+
+/**
+ * Standard normal distribution functions used by the bootstrap intervals.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class NormalDistribution {
+    
+    /** {@code 1 / sqrt(2 * pi)}. */
+    private static final double INV_SQRT_2PI = 0.398942280401432677939946059934;
+    
+    /** Bounds of the three ranges of Cody's approximation. */
+    private static final double CENTRAL_LIMIT = 0.67448975;
+    private static final double TAIL_LIMIT = 5.656854248747;
+    
+    /** Distance from the mean beyond which the smaller tail underflows to 0. */
+    private static final double UNDERFLOW_LIMIT = 38.5;
+    
+    // Coefficients of Cody's rational Chebyshev approximations, by range
+    private static final double[] CENTRAL_P = {
+        2.2352520354606839287, 161.02823106855587881, 1067.6894854603709582,
+        18154.981253343561249, 0.065682337918207449113};
+    private static final double[] CENTRAL_Q = {
+        47.20258190468824187, 976.09855173777669322, 10260.932208618978205,
+        45507.789335026729956};
+    private static final double[] MIDDLE_P = {
+        0.39894151208813466764, 8.8831497943883759412, 93.506656132177855979,
+        597.27027639480026226, 2494.5375852903726711, 6848.1904505362823326,
+        11602.651437647350124, 9842.7148383839780218, 1.0765576773720192317e-8};
+    private static final double[] MIDDLE_Q = {
+        22.266688044328115691, 235.38790178262499861, 1519.377599407554805,
+        6485.558298266760755, 18615.571640885098091, 34900.952721145977266,
+        38912.003286093271411, 19685.429676859990727};
+    private static final double[] TAIL_P = {
+        0.21589853405795699, 0.1274011611602473639, 0.022235277870649807,
+        0.001421619193227893466, 2.9112874951168792e-5, 0.02307344176494017303};
+    private static final double[] TAIL_Q = {
+        1.28426009614491121, 0.468238212480865118, 0.0659881378689285515,
+        0.00378239633202758244, 7.29751555083966205e-5};
+    
+    // Coefficients of Acklam's rational approximation to the inverse
+    private static final double[] A = {
+        -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] B = {
+        -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] C = {
+        -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] D = {
+        7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+        3.754408661907416e+00};
+    
+    /** Probability below which the lower-tail approximation is used. */
+    private static final double P_LOW = 0.02425;
+    
+    private NormalDistribution() {
+    }
+    
+    /**
+     * Returns {@code P(Z <= x)}, using Cody's rational Chebyshev
+     * approximations (as in his ANORM routine). The smaller of the two
+     * tails is computed directly rather than as one minus the other, so
+     * both tails keep about 15 significant digits down to the underflow
+     * threshold near {@code x = -38.5}.
+     * 
+     * @param x the point
+     * @return the cumulative probability, in {@code [0, 1]}
+     */
+    static double cdf(double x) {
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        double y = Math.abs(x);
+        if (y <= CENTRAL_LIMIT) {
+            double square = x * x;
+            double numerator = CENTRAL_P[4] * square;
+            double denominator = square;
+            for (int i = 0; i < 3; i++) {
+                numerator = (numerator + CENTRAL_P[i]) * square;
+                denominator = (denominator + CENTRAL_Q[i]) * square;
+            }
+            double half = x * (numerator + CENTRAL_P[3]) / (denominator + CENTRAL_Q[3]);
+            return clamp(0.5 + half);
+        }
+        if (y > UNDERFLOW_LIMIT) {
+            return x < 0 ? 0.0 : 1.0;
+        }
+        double tail;
+        if (y <= TAIL_LIMIT) {
+            double numerator = MIDDLE_P[8] * y;
+            double denominator = y;
+            for (int i = 0; i < 7; i++) {
+                numerator = (numerator + MIDDLE_P[i]) * y;
+                denominator = (denominator + MIDDLE_Q[i]) * y;
+            }
+            tail = (numerator + MIDDLE_P[7]) / (denominator + MIDDLE_Q[7]);
+        } else {
+            double inverse = 1 / (x * x);
+            double numerator = TAIL_P[5] * inverse;
+            double denominator = inverse;
+            for (int i = 0; i < 4; i++) {
+                numerator = (numerator + TAIL_P[i]) * inverse;
+                denominator = (denominator + TAIL_Q[i]) * inverse;
+            }
+            tail = inverse * (numerator + TAIL_P[4]) / (denominator + TAIL_Q[4]);
+            tail = (INV_SQRT_2PI - tail) / y;
+        }
+        tail *= gaussian(y);
+        return clamp(x < 0 ? tail : 1 - tail);
+    }
+    
+    /**
+     * Returns {@code exp(-y * y / 2)} without the rounding error of squaring
+     * {@code y}: the square is split into an exact part, from {@code y}
+     * rounded to sixteenths, and a small remainder.
+     */
+    private static double gaussian(double y) {
+        double rounded = Math.floor(y * 16) / 16;
+        double remainder = (y - rounded) * (y + rounded);
+        return Math.exp(-rounded * rounded * 0.5) * Math.exp(-remainder * 0.5);
+    }
+    
+    private static double clamp(double p) {
+        return Math.min(Math.max(p, 0.0), 1.0);
+    }
+    
+    /**
+     * Returns the {@code x} with {@code P(Z <= x) = p}, using Acklam's
+     * rational approximation, accurate to about {@code 1.2e-9} relative.
+     * 
+     * @param p probability in {@code [0, 1]}
+     * @return the quantile, infinite for 0 and 1
+     */
+    static double inverseCdf(double p) {
+        if (p <= 0) {
+            return p == 0 ? Double.NEGATIVE_INFINITY : Double.NaN;
+        }
+        if (p >= 1) {
+            return p == 1 ? Double.POSITIVE_INFINITY : Double.NaN;
+        }
+        if (p < P_LOW) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return tail(q);
+        }
+        if (p > 1 - P_LOW) {
+            double q = Math.sqrt(-2 * Math.log1p(-p));
+            return -tail(q);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q
+                / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+    }
+    
+    private static double tail(double q) {
+        return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+                / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+    }
+}
@@ -0,0 +1,252 @@
+package com.cst8411.mathstats;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join variants of the {@link Statistics} reductions for large arrays.
+ * The array is split into chunks of at most {@link #threshold()} elements,
+ * each chunk is reduced serially with {@link StreamingStatistics}, and the
+ * partial results are merged with the Chan et al. pairwise formula.
+ * 
+ * <p>Arrays no longer than the threshold are reduced on the calling thread.
+ * Because the values are combined in a different order, results can differ
+ * from the serial {@link Statistics} methods by rounding error only: for
+ * finite data the relative difference is bounded by a small multiple of
+ * {@code log2(n) * 1e-16} (in practice below {@code 1e-12}).</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class ParallelStatistics {
+    
+    /** Default number of elements below which work is not split further. */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+    
+    private static final ParallelStatistics DEFAULT =
+            new ParallelStatistics(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    
+    private final ForkJoinPool pool;
+    private final int threshold;
+    
+    private ParallelStatistics(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+    
+    /**
+     * Returns an instance using the common fork-join pool and the default threshold.
+     * 
+     * @return the shared default instance
+     */
+    static ParallelStatistics defaultInstance() {
+        return DEFAULT;
+    }
+    
+    /**
+     * Returns a copy of this instance that splits work into chunks of at most
+     * {@code threshold} elements.
+     * 
+     * @param threshold chunk size at which to stop splitting
+     * @return a new instance with the given threshold
+     * @throws IllegalArgumentException if threshold is less than 1
+     */
+    public ParallelStatistics withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be at least 1");
+        }
+        return new ParallelStatistics(pool, threshold);
+    }
+    
+    /**
+     * Returns a copy of this instance that runs its tasks in {@code pool}.
+     * 
+     * @param pool fork-join pool to use
+     * @return a new instance using the given pool
+     * @throws IllegalArgumentException if pool is null
+     */
+    public ParallelStatistics withPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        return new ParallelStatistics(pool, threshold);
+    }
+    
+    /**
+     * Returns the chunk size at which work stops being split.
+     * 
+     * @return the threshold
+     */
+    public int threshold() {
+        return threshold;
+    }
+    
+    /**
+     * Returns the fork-join pool that runs the tasks.
+     * 
+     * @return the pool
+     */
+    ForkJoinPool pool() {
+        return pool;
+    }
+    
+    /**
+     * Computes count, mean, variance, minimum and maximum of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return an accumulator holding the combined result
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public StreamingStatistics summarize(double[] data) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        if (data.length <= threshold) {
+            return new StreamingStatistics().accept(data, 0, data.length);
+        }
+        return pool.invoke(new SummaryTask(data, 0, data.length, threshold));
+    }
+    
+    /**
+     * Calculates the arithmetic mean of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the mean of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public double mean(double[] data) {
+        return summarize(data).mean();
+    }
+    
+    /**
+     * Calculates the range of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the range of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public double range(double[] data) {
+        return summarize(data).range();
+    }
+    
+    /**
+     * Calculates the population variance of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public double variance(double[] data) {
+        return summarize(data).variance();
+    }
+    
+    /**
+     * Calculates the population standard deviation of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public double standardDeviation(double[] data) {
+        return Math.sqrt(variance(data));
+    }
+    
+    /**
+     * Calculates the sample variance of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public double sampleVariance(double[] data) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        if (data.length < 2) {
+            throw new IllegalArgumentException("Sample variance requires at least 2 data points");
+        }
+        return summarize(data).sampleVariance();
+    }
+    
+    /**
+     * Calculates the sample standard deviation of the data in parallel.
+     * 
+     * @param data array of double values
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public double sampleStandardDeviation(double[] data) {
+        return Math.sqrt(sampleVariance(data));
+    }
+    
+    /**
+     * Computes per-key statistics in parallel; see {@link GroupBy}.
+     * 
+     * @param keys group key of each value
+     * @param values array of double values
+     * @return per-group statistics, ordered by ascending key
+     * @throws IllegalArgumentException if either array is null, values is
+     *         empty, or the arrays differ in length
+     */
+    public GroupedStatistics groupBy(int[] keys, double[] values) {
+        return new GroupBy().withParallelism(this).aggregate(keys, values);
+    }
+    
+    /**
+     * Calculates the population covariance of every pair of columns, running
+     * the tiles of {@link Statistics#covarianceMatrix(double[][])} in
+     * parallel. Inputs with at most {@link #threshold()} values in total are
+     * computed on the calling thread.
+     * 
+     * @param columns one array per variable, all of the same length
+     * @return the covariance matrix
+     * @throws IllegalArgumentException if columns is null or empty, or any
+     *         column is null, empty or of a different length
+     */
+    public SymmetricMatrix covarianceMatrix(double[][] columns) {
+        Comoments.validateColumns(columns);
+        return Comoments.covariance(Comoments.of(columns, this), columns[0].length);
+    }
+    
+    /**
+     * Calculates the Pearson correlation of every pair of columns, running
+     * the tiles of {@link Statistics#correlationMatrix(double[][])} in parallel.
+     * 
+     * @param columns one array per variable, all of the same length
+     * @return the correlation matrix
+     * @throws IllegalArgumentException if columns is null or empty, or any
+     *         column is null, empty or of a different length
+     */
+    public SymmetricMatrix correlationMatrix(double[][] columns) {
+        Comoments.validateColumns(columns);
+        return Comoments.correlation(Comoments.of(columns, this));
+    }
+    
+    /**
+     * Recursively halves a range until it is small enough to reduce serially.
+     */
+    private static final class SummaryTask extends RecursiveTask<StreamingStatistics> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] data;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        SummaryTask(double[] data, int from, int to, int threshold) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected StreamingStatistics compute() {
+            if (to - from <= threshold) {
+                return new StreamingStatistics().accept(data, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SummaryTask right = new SummaryTask(data, middle, to, threshold);
+            right.fork();
+            StreamingStatistics left = new SummaryTask(data, from, middle, threshold).compute();
+            return left.combine(right.join());
+        }
+    }
+}
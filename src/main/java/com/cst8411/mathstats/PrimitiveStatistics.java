@@ -0,0 +1,527 @@
+package com.cst8411.mathstats;
+
+import java.math.BigInteger;
+
+/**
+ * The {@link Statistics} operations for {@code int[]}, {@code long[]} and
+ * {@code float[]} data, computed on the native representation instead of a
+ * widened {@code double[]} copy.
+ * 
+ * <p>Integer sums are exact: {@code int} values are accumulated in a
+ * {@code long}, which cannot overflow for any array length, and
+ * {@code long} values fall back to {@link BigInteger} arithmetic only if
+ * their sum actually overflows. Variances are computed from deviations
+ * about the rounded mean, so large common offsets do not cost precision.
+ * {@code float} values are accumulated in {@code double} with blocked
+ * pairwise summation, as in {@link Summation}. The median selects on a
+ * scratch copy of the values as {@code long} keys; the mode counts values
+ * in a primitive hash table and, as in {@link Statistics#mode(double[])},
+ * prefers the smallest value on ties.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class PrimitiveStatistics {
+    
+    /**
+     * An exact mean split into its floor and the fractional remainder, so
+     * deviations can be taken about an integer without rounding it.
+     */
+    private record ExactMean(long floor, double fraction) {
+        
+        double value() {
+            return floor + fraction;
+        }
+    }
+    
+    private PrimitiveStatistics() {
+    }
+    
+    /**
+     * Calculates the arithmetic mean of an array of ints, from their exact sum.
+     * 
+     * @param data array of int values
+     * @return the mean of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double mean(int[] data) {
+        return exactMean(data).value();
+    }
+    
+    /**
+     * Finds the median of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the median of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double median(int[] data) {
+        Statistics.validateData(data);
+        return Selection.median(data, 0, data.length);
+    }
+    
+    /**
+     * Finds the most frequent int, preferring the smallest on ties.
+     * 
+     * @param data array of int values
+     * @return the mode of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static int mode(int[] data) {
+        Statistics.validateData(data);
+        LongIntHashMap frequencies = new LongIntHashMap(Math.min(data.length, 1 << 16));
+        for (int value : data) {
+            frequencies.increment(value);
+        }
+        return (int) Statistics.mostFrequent(frequencies, (long) data[0]);
+    }
+    
+    /**
+     * Calculates the exact range of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the difference between the largest and smallest values
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double range(int[] data) {
+        Statistics.validateData(data);
+        int min = data[0];
+        int max = data[0];
+        for (int value : data) {
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        return (long) max - min;
+    }
+    
+    /**
+     * Calculates the population variance of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double variance(int[] data) {
+        return squaredDeviations(data) / data.length;
+    }
+    
+    /**
+     * Calculates the population standard deviation of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double standardDeviation(int[] data) {
+        return Math.sqrt(variance(data));
+    }
+    
+    /**
+     * Calculates the sample variance (n-1 denominator) of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleVariance(int[] data) {
+        Statistics.validateData(data);
+        checkSampleSize(data.length);
+        return squaredDeviations(data) / (data.length - 1);
+    }
+    
+    /**
+     * Calculates the sample standard deviation of an array of ints.
+     * 
+     * @param data array of int values
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleStandardDeviation(int[] data) {
+        return Math.sqrt(sampleVariance(data));
+    }
+    
+    /**
+     * Calculates the arithmetic mean of an array of longs, from their exact
+     * sum. The sum is kept in a {@code long} with an overflow counter, and
+     * only an overflowing sum is divided in {@link BigInteger} arithmetic.
+     * 
+     * @param data array of long values
+     * @return the mean of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double mean(long[] data) {
+        return exactMean(data).value();
+    }
+    
+    /**
+     * Finds the median of an array of longs.
+     * 
+     * @param data array of long values
+     * @return the median of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double median(long[] data) {
+        Statistics.validateData(data);
+        long[] copy = data.clone();
+        return Selection.median(copy, 0, copy.length);
+    }
+    
+    /**
+     * Finds the most frequent long, preferring the smallest on ties.
+     * 
+     * @param data array of long values
+     * @return the mode of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static long mode(long[] data) {
+        Statistics.validateData(data);
+        LongIntHashMap frequencies = new LongIntHashMap(Math.min(data.length, 1 << 16));
+        for (long value : data) {
+            frequencies.increment(value);
+        }
+        return Statistics.mostFrequent(frequencies, data[0]);
+    }
+    
+    /**
+     * Calculates the range of an array of longs. The difference is exact
+     * before rounding to double unless it exceeds {@code Long.MAX_VALUE}.
+     * 
+     * @param data array of long values
+     * @return the difference between the largest and smallest values
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double range(long[] data) {
+        Statistics.validateData(data);
+        long min = data[0];
+        long max = data[0];
+        for (long value : data) {
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        long range = max - min;
+        return range >= 0 ? range : (double) max - (double) min;
+    }
+    
+    /**
+     * Calculates the population variance of an array of longs.
+     * 
+     * @param data array of long values
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double variance(long[] data) {
+        return squaredDeviations(data) / data.length;
+    }
+    
+    /**
+     * Calculates the population standard deviation of an array of longs.
+     * 
+     * @param data array of long values
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double standardDeviation(long[] data) {
+        return Math.sqrt(variance(data));
+    }
+    
+    /**
+     * Calculates the sample variance (n-1 denominator) of an array of longs.
+     * 
+     * @param data array of long values
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleVariance(long[] data) {
+        Statistics.validateData(data);
+        checkSampleSize(data.length);
+        return squaredDeviations(data) / (data.length - 1);
+    }
+    
+    /**
+     * Calculates the sample standard deviation of an array of longs.
+     * 
+     * @param data array of long values
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleStandardDeviation(long[] data) {
+        return Math.sqrt(sampleVariance(data));
+    }
+    
+    /**
+     * Calculates the arithmetic mean of an array of floats, accumulated in
+     * double precision.
+     * 
+     * @param data array of float values
+     * @return the mean of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double mean(float[] data) {
+        Statistics.validateData(data);
+        return sum(data, 0, data.length) / data.length;
+    }
+    
+    /**
+     * Finds the median of an array of floats, ordering values as
+     * {@link java.util.Arrays#sort(float[])} does.
+     * 
+     * @param data array of float values
+     * @return the median of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double median(float[] data) {
+        Statistics.validateData(data);
+        return Selection.median(data, 0, data.length);
+    }
+    
+    /**
+     * Finds the most frequent float, preferring the smallest on ties.
+     * Values are equal when {@link Float#equals} says so.
+     * 
+     * @param data array of float values
+     * @return the mode of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static float mode(float[] data) {
+        Statistics.validateData(data);
+        // Widening to double keeps distinct floats distinct
+        LongIntHashMap frequencies = new LongIntHashMap(Math.min(data.length, 1 << 16));
+        for (float value : data) {
+            frequencies.increment(Double.doubleToLongBits(value));
+        }
+        return (float) Statistics.mostFrequent(frequencies, data[0]);
+    }
+    
+    /**
+     * Calculates the range of an array of floats.
+     * 
+     * @param data array of float values
+     * @return the difference between the largest and smallest values
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double range(float[] data) {
+        Statistics.validateData(data);
+        float min = data[0];
+        float max = data[0];
+        for (float value : data) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return (double) max - min;
+    }
+    
+    /**
+     * Calculates the population variance of an array of floats.
+     * 
+     * @param data array of float values
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double variance(float[] data) {
+        return squaredDeviations(data, 0, data.length, mean(data)) / data.length;
+    }
+    
+    /**
+     * Calculates the population standard deviation of an array of floats.
+     * 
+     * @param data array of float values
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double standardDeviation(float[] data) {
+        return Math.sqrt(variance(data));
+    }
+    
+    /**
+     * Calculates the sample variance (n-1 denominator) of an array of floats.
+     * 
+     * @param data array of float values
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleVariance(float[] data) {
+        Statistics.validateData(data);
+        checkSampleSize(data.length);
+        return squaredDeviations(data, 0, data.length, mean(data)) / (data.length - 1);
+    }
+    
+    /**
+     * Calculates the sample standard deviation of an array of floats.
+     * 
+     * @param data array of float values
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null or has less than 2 elements
+     */
+    public static double sampleStandardDeviation(float[] data) {
+        return Math.sqrt(sampleVariance(data));
+    }
+    
+    /**
+     * Returns the sum of squared deviations from the mean, taken about the
+     * floor of the exact mean.
+     */
+    private static double squaredDeviations(int[] data) {
+        ExactMean mean = exactMean(data);
+        return squaredDeviations(data, 0, data.length, mean.floor(), mean.fraction());
+    }
+    
+    /**
+     * Long variant of {@link #squaredDeviations(int[])}.
+     */
+    private static double squaredDeviations(long[] data) {
+        ExactMean mean = exactMean(data);
+        return squaredDeviations(data, 0, data.length, mean.floor(), mean.fraction());
+    }
+    
+    /**
+     * Computes the mean of an array of ints from its sum, which a long
+     * holds exactly for any array length.
+     */
+    private static ExactMean exactMean(int[] data) {
+        Statistics.validateData(data);
+        long sum = 0;
+        for (int value : data) {
+            sum += value;
+        }
+        return exactMean(sum, 0, data.length);
+    }
+    
+    /**
+     * Computes the mean of an array of longs from its exact sum, counting
+     * the times the running sum wraps around.
+     */
+    private static ExactMean exactMean(long[] data) {
+        Statistics.validateData(data);
+        long sum = 0;
+        long carry = 0;
+        for (long value : data) {
+            long result = sum + value;
+            // Both operands have the sign the result lacks: the sum wrapped by 2^64
+            if (((sum ^ result) & (value ^ result)) < 0) {
+                carry += value < 0 ? -1 : 1;
+            }
+            sum = result;
+        }
+        return exactMean(sum, carry, data.length);
+    }
+    
+    /**
+     * Divides the sum {@code carry * 2^64 + sum} by {@code n}, rounding the quotient down.
+     */
+    private static ExactMean exactMean(long sum, long carry, int n) {
+        if (carry == 0) {
+            return new ExactMean(Math.floorDiv(sum, n), (double) Math.floorMod(sum, n) / n);
+        }
+        BigInteger exact = BigInteger.valueOf(carry).shiftLeft(64).add(BigInteger.valueOf(sum));
+        BigInteger[] division = exact.divideAndRemainder(BigInteger.valueOf(n));
+        BigInteger quotient = division[0];
+        BigInteger remainder = division[1];
+        if (remainder.signum() < 0) {
+            quotient = quotient.subtract(BigInteger.ONE);
+            remainder = remainder.add(BigInteger.valueOf(n));
+        }
+        return new ExactMean(quotient.longValueExact(), remainder.doubleValue() / n);
+    }
+    
+    /**
+     * Sums {@code ((a[i] - center) - offset)^2} pairwise over blocks. The
+     * integer difference is exact, so only the fractional offset is rounded.
+     */
+    private static double squaredDeviations(int[] a, int from, int to, long center, double offset) {
+        if (to - from > Summation.BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return squaredDeviations(a, from, middle, center, offset)
+                    + squaredDeviations(a, middle, to, center, offset);
+        }
+        double sum0 = 0;
+        double sum1 = 0;
+        int i = from;
+        for (; i <= to - 2; i += 2) {
+            double delta0 = (a[i] - center) - offset;
+            double delta1 = (a[i + 1] - center) - offset;
+            sum0 += delta0 * delta0;
+            sum1 += delta1 * delta1;
+        }
+        if (i < to) {
+            double delta = (a[i] - center) - offset;
+            sum0 += delta * delta;
+        }
+        return sum0 + sum1;
+    }
+    
+    /**
+     * Long variant of {@link #squaredDeviations(int[], int, int, long, double)};
+     * a difference that overflows is taken in double arithmetic instead.
+     */
+    private static double squaredDeviations(long[] a, int from, int to, long center, double offset) {
+        if (to - from > Summation.BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return squaredDeviations(a, from, middle, center, offset)
+                    + squaredDeviations(a, middle, to, center, offset);
+        }
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            long difference = a[i] - center;
+            double delta = ((a[i] ^ center) & (a[i] ^ difference)) < 0
+                    ? ((double) a[i] - center) - offset
+                    : difference - offset;
+            sum += delta * delta;
+        }
+        return sum;
+    }
+    
+    /**
+     * Sums {@code (a[i] - mean)^2} pairwise over blocks.
+     */
+    private static double squaredDeviations(float[] a, int from, int to, double mean) {
+        if (to - from > Summation.BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return squaredDeviations(a, from, middle, mean) + squaredDeviations(a, middle, to, mean);
+        }
+        double sum0 = 0;
+        double sum1 = 0;
+        int i = from;
+        for (; i <= to - 2; i += 2) {
+            double delta0 = a[i] - mean;
+            double delta1 = a[i + 1] - mean;
+            sum0 += delta0 * delta0;
+            sum1 += delta1 * delta1;
+        }
+        if (i < to) {
+            double delta = a[i] - mean;
+            sum0 += delta * delta;
+        }
+        return sum0 + sum1;
+    }
+    
+    /**
+     * Blocked pairwise sum of floats in double precision.
+     */
+    private static double sum(float[] a, int from, int to) {
+        if (to - from > Summation.BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return sum(a, from, middle) + sum(a, middle, to);
+        }
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        int i = from;
+        for (; i <= to - 4; i += 4) {
+            sum0 += a[i];
+            sum1 += a[i + 1];
+            sum2 += a[i + 2];
+            sum3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            sum0 += a[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+    
+    private static void checkSampleSize(int length) {
+        if (length < 2) {
+            throw new IllegalArgumentException("Sample variance requires at least 2 data points");
+        }
+    }
+}
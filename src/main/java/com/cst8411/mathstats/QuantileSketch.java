@@ -0,0 +1,453 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Mergeable streaming quantile sketch (KLL, Karnin, Lang and Liberty 2016)
+ * for approximate medians and percentiles of unbounded streams.
+ * 
+ * <p>Values are kept in a stack of compactors. Level {@code h} holds items
+ * that each stand for {@code 2^h} original values; when a level fills up it
+ * is sorted and every other item (starting at a random offset) is promoted
+ * to the next level. Memory therefore stays at roughly {@code 3k} doubles
+ * regardless of how many values are added, and the rank error of
+ * {@link #quantile} and {@link #cdf} is about {@code 1.7 / k} of the count
+ * with high probability. The exact minimum and maximum are tracked
+ * separately.</p>
+ * 
+ * <p>Instances are not thread-safe. Use one sketch per thread or node and
+ * combine them with {@link #merge}.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class QuantileSketch {
+    
+    /** Default accuracy parameter, giving a rank error of about 1%. */
+    public static final int DEFAULT_K = 200;
+    
+    /** Smallest accepted accuracy parameter. */
+    public static final int MIN_K = 8;
+    
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+    
+    private final int k;
+    private final SplittableRandom random;
+    
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int numLevels;
+    private int retained;
+    private int maxRetained;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    // Sorted, weighted view of the retained items; rebuilt lazily after updates
+    private double[] sortedItems;
+    private long[] cumulativeWeights;
+    private boolean sortedValid;
+    
+    /**
+     * Creates a sketch with the default accuracy parameter.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+    
+    /**
+     * Creates a sketch with accuracy parameter {@code k}. Larger values use
+     * more memory and give more accurate estimates.
+     * 
+     * @param k accuracy parameter, at least {@link #MIN_K}
+     * @throws IllegalArgumentException if k is less than {@link #MIN_K}
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+    
+    /**
+     * Creates a sketch whose compaction coin flips come from a fixed seed,
+     * so that the same input always produces the same sketch.
+     * 
+     * @param k accuracy parameter, at least {@link #MIN_K}
+     * @param seed seed for the compaction offsets
+     * @throws IllegalArgumentException if k is less than {@link #MIN_K}
+     */
+    public QuantileSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+    
+    private QuantileSketch(int k, SplittableRandom random) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("k must be at least " + MIN_K);
+        }
+        this.k = k;
+        this.random = random;
+        addLevel();
+    }
+    
+    /**
+     * Adds a value to the sketch.
+     * 
+     * @param value the value to add
+     * @throws IllegalArgumentException if value is NaN
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN");
+        }
+        append(0, value);
+        count++;
+        retained++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+        sortedValid = false;
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+    
+    /**
+     * Merges another sketch into this one. Afterwards this sketch summarizes
+     * the values of both; {@code other} is left unchanged.
+     * 
+     * @param other sketch to merge
+     * @return this sketch
+     * @throws IllegalArgumentException if other is null
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other sketch cannot be null");
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        // Snapshot the levels first: when other == this, appending grows them
+        int otherLevels = other.numLevels;
+        int[] otherSizes = other.sizes.clone();
+        double[][] otherItems = other.levels.clone();
+        while (numLevels < otherLevels) {
+            addLevel();
+        }
+        for (int h = 0; h < otherLevels; h++) {
+            for (int i = 0; i < otherSizes[h]; i++) {
+                append(h, otherItems[h][i]);
+            }
+            retained += otherSizes[h];
+        }
+        count += other.count;
+        if (other.min < min) min = other.min;
+        if (other.max > max) max = other.max;
+        sortedValid = false;
+        while (retained >= maxRetained) {
+            compress();
+        }
+        return this;
+    }
+    
+    /**
+     * Returns the number of values added, including merged sketches.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Returns the accuracy parameter.
+     * 
+     * @return k
+     */
+    public int k() {
+        return k;
+    }
+    
+    /**
+     * Returns the exact smallest value added.
+     * 
+     * @return the minimum
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double min() {
+        checkNotEmpty();
+        return min;
+    }
+    
+    /**
+     * Returns the exact largest value added.
+     * 
+     * @return the maximum
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double max() {
+        checkNotEmpty();
+        return max;
+    }
+    
+    /**
+     * Estimates the value at quantile {@code q}, i.e. the smallest retained
+     * value whose estimated rank is at least {@code q * count()}.
+     * 
+     * @param q quantile in {@code [0, 1]}
+     * @return the estimated quantile
+     * @throws IllegalArgumentException if q is outside {@code [0, 1]}
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        checkNotEmpty();
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        ensureSorted();
+        double target = q * count;
+        int lo = 0;
+        int hi = sortedItems.length - 1;
+        while (lo < hi) {
+            int middle = (lo + hi) >>> 1;
+            if (cumulativeWeights[middle] < target) {
+                lo = middle + 1;
+            } else {
+                hi = middle;
+            }
+        }
+        return sortedItems[lo];
+    }
+    
+    /**
+     * Estimates the median.
+     * 
+     * @return the estimated median
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double median() {
+        return quantile(0.5);
+    }
+    
+    /**
+     * Estimates the fraction of values less than or equal to {@code x}.
+     * 
+     * @param x the value to rank
+     * @return the estimated cumulative distribution at x, in {@code [0, 1]}
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double cdf(double x) {
+        checkNotEmpty();
+        if (x < min) {
+            return 0.0;
+        }
+        if (x >= max) {
+            return 1.0;
+        }
+        ensureSorted();
+        // Index of the first item greater than x
+        int lo = 0;
+        int hi = sortedItems.length;
+        while (lo < hi) {
+            int middle = (lo + hi) >>> 1;
+            if (sortedItems[middle] <= x) {
+                lo = middle + 1;
+            } else {
+                hi = middle;
+            }
+        }
+        return lo == 0 ? 0.0 : (double) cumulativeWeights[lo - 1] / count;
+    }
+    
+    /**
+     * Returns the number of items currently held, a measure of memory use.
+     * 
+     * @return the number of retained items
+     */
+    int retained() {
+        return retained;
+    }
+    
+    /**
+     * Returns the number of bytes {@link #writeState} produces.
+     * 
+     * @return the encoded size of the state
+     */
+    int stateSize() {
+        int size = Integer.BYTES + SummaryCodec.varLongSize(count) + 2 * Double.BYTES + 1;
+        for (int h = 0; h < numLevels; h++) {
+            size += SummaryCodec.varLongSize(sizes[h]) + sizes[h] * Double.BYTES;
+        }
+        return size;
+    }
+    
+    /**
+     * Writes k, the count, minimum, maximum and the items of every level,
+     * for {@link SummaryCodec}. The random state is not written.
+     * 
+     * @param out buffer to write to
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(k);
+        SummaryCodec.putVarLong(out, count);
+        out.putDouble(min).putDouble(max);
+        out.put((byte) numLevels);
+        for (int h = 0; h < numLevels; h++) {
+            SummaryCodec.putVarLong(out, sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                out.putDouble(levels[h][i]);
+            }
+        }
+    }
+    
+    /**
+     * Reads state written by {@link #writeState}. The decoded sketch draws
+     * its future compaction offsets from a fresh random generator.
+     * 
+     * @param in buffer to read from
+     * @return the decoded sketch
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    static QuantileSketch readState(ByteBuffer in) {
+        QuantileSketch sketch = new QuantileSketch(in.getInt());
+        sketch.count = SummaryCodec.getVarLong(in);
+        sketch.min = in.getDouble();
+        sketch.max = in.getDouble();
+        int numLevels = in.get();
+        if (numLevels < 1 || numLevels > Long.SIZE) {
+            throw new IllegalArgumentException("Summary state is corrupt");
+        }
+        while (sketch.numLevels < numLevels) {
+            sketch.addLevel();
+        }
+        long weight = 0;
+        for (int h = 0; h < numLevels; h++) {
+            long size = SummaryCodec.getVarLong(in);
+            if (size < 0 || size > in.remaining() / Double.BYTES) {
+                throw new IllegalArgumentException("Summary state is corrupt");
+            }
+            double[] items = new double[Math.max(MIN_LEVEL_CAPACITY, (int) size)];
+            for (int i = 0; i < size; i++) {
+                items[i] = in.getDouble();
+            }
+            sketch.levels[h] = items;
+            sketch.sizes[h] = (int) size;
+            sketch.retained += (int) size;
+            weight += size << h;
+        }
+        if (weight != sketch.count) {
+            throw new IllegalArgumentException("Summary state is corrupt");
+        }
+        return sketch;
+    }
+    
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+    }
+    
+    private int capacity(int level) {
+        int depth = numLevels - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+    
+    private void addLevel() {
+        if (numLevels == levels.length) {
+            levels = Arrays.copyOf(levels, numLevels * 2);
+            sizes = Arrays.copyOf(sizes, numLevels * 2);
+        }
+        levels[numLevels] = new double[MIN_LEVEL_CAPACITY];
+        numLevels++;
+        maxRetained = 0;
+        for (int h = 0; h < numLevels; h++) {
+            maxRetained += capacity(h);
+        }
+    }
+    
+    private void append(int level, double value) {
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, Math.max(capacity(level), items.length * 2));
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+    
+    /**
+     * Compacts the lowest level that is at or over its capacity.
+     */
+    private void compress() {
+        for (int h = 0; h < numLevels; h++) {
+            if (sizes[h] >= capacity(h)) {
+                if (h + 1 == numLevels) {
+                    addLevel();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Sorts level {@code h} and promotes every other item to level {@code h + 1}.
+     * With an odd number of items the smallest stays behind.
+     */
+    private void compact(int h) {
+        double[] items = levels[h];
+        int size = sizes[h];
+        Arrays.sort(items, 0, size);
+        int keep = size & 1;
+        int offset = random.nextBoolean() ? 1 : 0;
+        int promoted = 0;
+        for (int i = keep + offset; i < size; i += 2) {
+            append(h + 1, items[i]);
+            promoted++;
+        }
+        sizes[h] = keep;
+        retained -= size - keep - promoted;
+    }
+    
+    /**
+     * Builds the sorted items and their cumulative weights by merging the
+     * levels one at a time.
+     */
+    private void ensureSorted() {
+        if (sortedValid) {
+            return;
+        }
+        double[] items = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < numLevels; h++) {
+            double[] level = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(level);
+            long weight = 1L << h;
+            double[] mergedItems = new double[items.length + level.length];
+            long[] mergedWeights = new long[mergedItems.length];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < mergedItems.length; m++) {
+                if (j == level.length || (i < items.length && items[i] <= level[j])) {
+                    mergedItems[m] = items[i];
+                    mergedWeights[m] = weights[i++];
+                } else {
+                    mergedItems[m] = level[j++];
+                    mergedWeights[m] = weight;
+                }
+            }
+            items = mergedItems;
+            weights = mergedWeights;
+        }
+        for (int m = 1; m < weights.length; m++) {
+            weights[m] += weights[m - 1];
+        }
+        sortedItems = items;
+        cumulativeWeights = weights;
+        sortedValid = true;
+    }
+}
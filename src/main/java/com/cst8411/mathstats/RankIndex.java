@@ -0,0 +1,187 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+
+/**
+ * Sorted index over a fixed set of values, built once in O(n log n), that
+ * answers quantile queries in constant time and rank and cumulative
+ * distribution queries in O(log n) by binary search.
+ * 
+ * <p>Values are ordered as by {@link Arrays#sort(double[])}, so
+ * {@code -0.0} precedes {@code 0.0} and {@code NaN} sorts above every other
+ * value. Quantiles between two values are estimated by an
+ * {@link Interpolation} method, {@link Interpolation#LINEAR} unless another
+ * is given.</p>
+ * 
+ * <p>Instances are immutable and can be shared between threads.</p>
+ * 
+ * <pre>{@code
+ * RankIndex latencies = RankIndex.of(samples);
+ * double p99 = latencies.percentile(99);
+ * double slowShare = 1 - latencies.cdf(250.0);
+ * }</pre>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class RankIndex {
+    
+    private final double[] sorted;
+    
+    /**
+     * Creates an index over values that are already sorted; the array is
+     * shared, not copied, and must not be modified.
+     * 
+     * @param sorted values in ascending order
+     */
+    RankIndex(double[] sorted) {
+        this.sorted = sorted;
+    }
+    
+    /**
+     * Builds an index over a sorted copy of {@code data}.
+     * 
+     * @param data array of double values
+     * @return the index
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static RankIndex of(double[] data) {
+        Statistics.validateRange(data, 0, data == null ? 0 : data.length);
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        return new RankIndex(sorted);
+    }
+    
+    /**
+     * Returns the number of indexed values.
+     * 
+     * @return the size
+     */
+    public int size() {
+        return sorted.length;
+    }
+    
+    /**
+     * Returns the smallest value.
+     * 
+     * @return the minimum
+     */
+    public double min() {
+        return sorted[0];
+    }
+    
+    /**
+     * Returns the largest value.
+     * 
+     * @return the maximum
+     */
+    public double max() {
+        return sorted[sorted.length - 1];
+    }
+    
+    /**
+     * Returns the number of values less than or equal to {@code x}.
+     * 
+     * @param x the value to rank
+     * @return the rank, in {@code [0, size()]}
+     */
+    public int rank(double x) {
+        // Index of the first value greater than x
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int middle = (lo + hi) >>> 1;
+            if (Double.compare(sorted[middle], x) <= 0) {
+                lo = middle + 1;
+            } else {
+                hi = middle;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * Returns the fraction of values less than or equal to {@code x}, the
+     * empirical cumulative distribution function.
+     * 
+     * @param x the value to rank
+     * @return the cumulative distribution at x, in {@code [0, 1]}
+     */
+    public double cdf(double x) {
+        return (double) rank(x) / sorted.length;
+    }
+    
+    /**
+     * Returns the value at quantile {@code q} using linear interpolation.
+     * 
+     * @param q quantile in {@code [0, 1]}
+     * @return the quantile
+     * @throws IllegalArgumentException if q is outside {@code [0, 1]}
+     */
+    public double quantile(double q) {
+        return quantile(q, Interpolation.LINEAR);
+    }
+    
+    /**
+     * Returns the value at quantile {@code q}.
+     * 
+     * @param q quantile in {@code [0, 1]}
+     * @param method how to estimate between two values
+     * @return the quantile
+     * @throws IllegalArgumentException if q is outside {@code [0, 1]} or method is null
+     */
+    public double quantile(double q, Interpolation method) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (method == null) {
+            throw new IllegalArgumentException("Interpolation cannot be null");
+        }
+        return method.estimate(sorted, 0, sorted.length, q);
+    }
+    
+    /**
+     * Returns the value below which {@code percentile} percent of the values
+     * fall, using linear interpolation.
+     * 
+     * @param percentile percentage between 0 and 100
+     * @return the percentile
+     * @throws IllegalArgumentException if percentile is outside [0, 100]
+     */
+    public double percentile(double percentile) {
+        return percentile(percentile, Interpolation.LINEAR);
+    }
+    
+    /**
+     * Returns the value below which {@code percentile} percent of the values fall.
+     * 
+     * @param percentile percentage between 0 and 100
+     * @param method how to estimate between two values
+     * @return the percentile
+     * @throws IllegalArgumentException if percentile is outside [0, 100] or method is null
+     */
+    public double percentile(double percentile, Interpolation method) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        return quantile(percentile / 100, method);
+    }
+    
+    /**
+     * Returns several percentiles at once, using linear interpolation.
+     * 
+     * @param percentiles percentages between 0 and 100
+     * @return the percentiles, in the order requested
+     * @throws IllegalArgumentException if percentiles is null or any is outside [0, 100]
+     */
+    public double[] percentiles(double... percentiles) {
+        if (percentiles == null) {
+            throw new IllegalArgumentException("Percentiles cannot be null");
+        }
+        double[] values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = percentile(percentiles[i]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,387 @@
+package com.cst8411.mathstats;
+
+/**
+ * Statistics over a sliding window of the most recent values.
+ * 
+ * <p>Values are kept in a primitive ring buffer. Mean and variance are
+ * maintained with add/remove Welford updates in O(1), and are recomputed
+ * from the buffer once per full rotation so rounding drift cannot build up.
+ * The median uses an indexable pair of heaps over buffer slots (O(log N)
+ * per update) and the minimum and maximum use monotonic deques (amortized
+ * O(1)). All storage is allocated in the constructor, so {@link #add} does
+ * not allocate.</p>
+ * 
+ * <p>Instances are not thread-safe.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class RollingStatistics {
+    
+    private final int windowSize;
+    private final double[] values;
+    private int size;
+    private long added;
+    
+    private double mean;
+    private double m2;
+    
+    // Two heaps of buffer slots: lower half (max-heap) and upper half (min-heap)
+    private final int[] lowHeap;
+    private final int[] highHeap;
+    private int lowSize;
+    private int highSize;
+    private final int[] heapPosition;
+    private final boolean[] inLowHeap;
+    
+    // Monotonic deques of sequence numbers, stored as rings of length windowSize
+    private final long[] minDeque;
+    private final long[] maxDeque;
+    private int minHead;
+    private int minSize;
+    private int maxHead;
+    private int maxSize;
+    
+    /**
+     * Creates a rolling window holding the last {@code windowSize} values.
+     * 
+     * @param windowSize number of values in the window
+     * @throws IllegalArgumentException if windowSize is less than 1
+     */
+    public RollingStatistics(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        this.windowSize = windowSize;
+        this.values = new double[windowSize];
+        this.lowHeap = new int[windowSize];
+        this.highHeap = new int[windowSize];
+        this.heapPosition = new int[windowSize];
+        this.inLowHeap = new boolean[windowSize];
+        this.minDeque = new long[windowSize];
+        this.maxDeque = new long[windowSize];
+    }
+    
+    /**
+     * Adds a value, evicting the oldest value once the window is full.
+     * 
+     * @param value the value to add
+     * @throws IllegalArgumentException if value is NaN
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN");
+        }
+        int slot = (int) (added % windowSize);
+        if (size == windowSize) {
+            double old = values[slot];
+            removeFromHeaps(slot);
+            values[slot] = value;
+            double newMean = mean + (value - old) / windowSize;
+            m2 += (value - old) * (value - newMean + old - mean);
+            mean = newMean;
+            if (m2 < 0) {
+                m2 = 0;
+            }
+        } else {
+            values[slot] = value;
+            size++;
+            double delta = value - mean;
+            mean += delta / size;
+            m2 += delta * (value - mean);
+        }
+        insertIntoHeaps(slot);
+        pushDeques(added, value);
+        added++;
+        if (slot == windowSize - 1 && size == windowSize) {
+            recomputeMoments();
+        }
+    }
+    
+    /**
+     * Removes every value from the window.
+     */
+    public void clear() {
+        size = 0;
+        added = 0;
+        mean = 0;
+        m2 = 0;
+        lowSize = 0;
+        highSize = 0;
+        minHead = 0;
+        minSize = 0;
+        maxHead = 0;
+        maxSize = 0;
+    }
+    
+    /**
+     * Returns the maximum number of values in the window.
+     * 
+     * @return the window size
+     */
+    public int windowSize() {
+        return windowSize;
+    }
+    
+    /**
+     * Returns the number of values currently in the window.
+     * 
+     * @return the current size
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns whether the window holds {@link #windowSize()} values.
+     * 
+     * @return true if the window is full
+     */
+    public boolean isFull() {
+        return size == windowSize;
+    }
+    
+    /**
+     * Returns the mean of the values in the window.
+     * 
+     * @return the mean
+     * @throws IllegalStateException if the window is empty
+     */
+    public double mean() {
+        checkNotEmpty();
+        return mean;
+    }
+    
+    /**
+     * Returns the population variance of the values in the window.
+     * 
+     * @return the population variance
+     * @throws IllegalStateException if the window is empty
+     */
+    public double variance() {
+        checkNotEmpty();
+        return m2 / size;
+    }
+    
+    /**
+     * Returns the sample variance of the values in the window.
+     * 
+     * @return the sample variance
+     * @throws IllegalStateException if the window holds fewer than 2 values
+     */
+    public double sampleVariance() {
+        if (size < 2) {
+            throw new IllegalStateException("Sample variance requires at least 2 data points");
+        }
+        return m2 / (size - 1);
+    }
+    
+    /**
+     * Returns the population standard deviation of the values in the window.
+     * 
+     * @return the population standard deviation
+     * @throws IllegalStateException if the window is empty
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+    
+    /**
+     * Returns the median of the values in the window.
+     * 
+     * @return the median
+     * @throws IllegalStateException if the window is empty
+     */
+    public double median() {
+        checkNotEmpty();
+        if (lowSize > highSize) {
+            return values[lowHeap[0]];
+        }
+        return (values[lowHeap[0]] + values[highHeap[0]]) / 2.0;
+    }
+    
+    /**
+     * Returns the smallest value in the window.
+     * 
+     * @return the minimum
+     * @throws IllegalStateException if the window is empty
+     */
+    public double min() {
+        checkNotEmpty();
+        return valueOf(minDeque[minHead]);
+    }
+    
+    /**
+     * Returns the largest value in the window.
+     * 
+     * @return the maximum
+     * @throws IllegalStateException if the window is empty
+     */
+    public double max() {
+        checkNotEmpty();
+        return valueOf(maxDeque[maxHead]);
+    }
+    
+    /**
+     * Returns the difference between the largest and smallest values in the window.
+     * 
+     * @return the range
+     * @throws IllegalStateException if the window is empty
+     */
+    public double range() {
+        return max() - min();
+    }
+    
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Window is empty");
+        }
+    }
+    
+    private void recomputeMoments() {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double newMean = sum / windowSize;
+        double squares = 0;
+        for (double value : values) {
+            double difference = value - newMean;
+            squares += difference * difference;
+        }
+        mean = newMean;
+        m2 = squares;
+    }
+    
+    private double valueOf(long sequence) {
+        return values[(int) (sequence % windowSize)];
+    }
+    
+    // ---- monotonic deques ----
+    
+    private void pushDeques(long sequence, double value) {
+        long oldest = sequence - windowSize;
+        if (minSize > 0 && minDeque[minHead] <= oldest) {
+            minHead = (minHead + 1) % windowSize;
+            minSize--;
+        }
+        while (minSize > 0 && valueOf(minDeque[(minHead + minSize - 1) % windowSize]) >= value) {
+            minSize--;
+        }
+        minDeque[(minHead + minSize++) % windowSize] = sequence;
+        
+        if (maxSize > 0 && maxDeque[maxHead] <= oldest) {
+            maxHead = (maxHead + 1) % windowSize;
+            maxSize--;
+        }
+        while (maxSize > 0 && valueOf(maxDeque[(maxHead + maxSize - 1) % windowSize]) <= value) {
+            maxSize--;
+        }
+        maxDeque[(maxHead + maxSize++) % windowSize] = sequence;
+    }
+    
+    // ---- indexable two-heap median ----
+    
+    private void insertIntoHeaps(int slot) {
+        if (lowSize == 0 || values[slot] <= values[lowHeap[0]]) {
+            inLowHeap[slot] = true;
+            lowHeap[lowSize] = slot;
+            heapPosition[slot] = lowSize;
+            siftUp(lowHeap, lowSize++, true);
+        } else {
+            inLowHeap[slot] = false;
+            highHeap[highSize] = slot;
+            heapPosition[slot] = highSize;
+            siftUp(highHeap, highSize++, false);
+        }
+        rebalance();
+    }
+    
+    private void removeFromHeaps(int slot) {
+        int position = heapPosition[slot];
+        if (inLowHeap[slot]) {
+            removeAt(lowHeap, position, --lowSize, true);
+        } else {
+            removeAt(highHeap, position, --highSize, false);
+        }
+        rebalance();
+    }
+    
+    /**
+     * Keeps the lower heap equal in size to, or one larger than, the upper heap.
+     */
+    private void rebalance() {
+        if (lowSize > highSize + 1) {
+            int slot = lowHeap[0];
+            removeAt(lowHeap, 0, --lowSize, true);
+            inLowHeap[slot] = false;
+            highHeap[highSize] = slot;
+            heapPosition[slot] = highSize;
+            siftUp(highHeap, highSize++, false);
+        } else if (highSize > lowSize) {
+            int slot = highHeap[0];
+            removeAt(highHeap, 0, --highSize, false);
+            inLowHeap[slot] = true;
+            lowHeap[lowSize] = slot;
+            heapPosition[slot] = lowSize;
+            siftUp(lowHeap, lowSize++, true);
+        }
+    }
+    
+    /**
+     * Removes the element at {@code position} from a heap whose new size is
+     * {@code last} by moving the last element into the hole.
+     */
+    private void removeAt(int[] heap, int position, int last, boolean maxHeap) {
+        if (position == last) {
+            return;
+        }
+        int moved = heap[last];
+        heap[position] = moved;
+        heapPosition[moved] = position;
+        siftUp(heap, position, maxHeap);
+        if (heapPosition[moved] == position) {
+            siftDown(heap, position, last, maxHeap);
+        }
+    }
+    
+    private boolean above(int slotA, int slotB, boolean maxHeap) {
+        return maxHeap ? values[slotA] > values[slotB] : values[slotA] < values[slotB];
+    }
+    
+    private void siftUp(int[] heap, int position, boolean maxHeap) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!above(slot, heap[parent], maxHeap)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        heapPosition[slot] = position;
+    }
+    
+    private void siftDown(int[] heap, int position, int size, boolean maxHeap) {
+        int slot = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && above(heap[child + 1], heap[child], maxHeap)) {
+                child++;
+            }
+            if (!above(heap[child], slot, maxHeap)) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        heapPosition[slot] = position;
+    }
+}
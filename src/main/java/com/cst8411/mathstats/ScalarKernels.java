@@ -0,0 +1,66 @@
+package com.cst8411.mathstats;
+
+/**
+ * Plain-loop kernels, used whenever the Vector API is unavailable.
+ * 
+ * <p>Sums use {@link Summation#pairwise}. {@link #summarize} works on blocks
+ * of {@value Summation#BLOCK_SIZE} values: the block mean comes from a
+ * multi-accumulator sum, the squared deviations from it are summed in a
+ * second pass over the (cache-resident) block, and the block summaries are
+ * merged pairwise with {@link StreamingStatistics#combine}. This avoids the
+ * division per value of Welford's update and keeps the rounding error
+ * growing with {@code log2(n)}.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class ScalarKernels implements StatisticsKernels {
+    
+    @Override
+    public double sum(double[] data, int from, int to) {
+        return Summation.pairwise(data, from, to);
+    }
+    
+    @Override
+    public double range(double[] data, int from, int to) {
+        double min = data[from];
+        double max = data[from];
+        for (int i = from; i < to; i++) {
+            double value = data[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return max - min;
+    }
+    
+    @Override
+    public StreamingStatistics summarize(double[] data, int from, int to) {
+        if (to - from > Summation.BLOCK_SIZE) {
+            int middle = (from + to) >>> 1;
+            return summarize(data, from, middle).combine(summarize(data, middle, to));
+        }
+        int n = to - from;
+        double mean = Summation.pairwise(data, from, to) / n;
+        double m20 = 0;
+        double m21 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int i = from;
+        for (; i <= to - 2; i += 2) {
+            double delta0 = data[i] - mean;
+            double delta1 = data[i + 1] - mean;
+            m20 += delta0 * delta0;
+            m21 += delta1 * delta1;
+        }
+        if (i < to) {
+            double delta = data[i] - mean;
+            m20 += delta * delta;
+        }
+        for (i = from; i < to; i++) {
+            double value = data[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new StreamingStatistics(n, mean, m20 + m21, min, max);
+    }
+}
@@ -0,0 +1,371 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+
+/**
+ * In-place order-statistic selection (introselect) used by the median and
+ * percentile operations. Elements are ordered as by {@link Arrays#sort(double[])},
+ * so {@code -0.0} precedes {@code 0.0} and {@code NaN} is greater than every
+ * other value. A {@code long} overload repeats the algorithm for integer
+ * keys; {@code int} and {@code float} medians are selected on widened or
+ * {@link #orderedKey order-preserving} long keys rather than on copies of
+ * the algorithm for each type.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+final class Selection {
+    
+    /** Ranges at or below this size are finished with an insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    /** Ranges at or above this size use a ninther instead of a median of three. */
+    private static final int NINTHER_THRESHOLD = 128;
+    
+    private Selection() {
+    }
+    
+    /**
+     * Rearranges {@code a[from, to)} so that {@code a[k]} holds the value it
+     * would have if the range were sorted, every element before {@code k} is
+     * less than or equal to it, and every element after is greater than or
+     * equal to it. Runs in expected linear time; if partitioning degenerates
+     * the remaining range is sorted, bounding the worst case at O(n log n).
+     * 
+     * @param a array to rearrange
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive)
+     * @param k index to select, {@code from <= k < to}
+     */
+    static void select(double[] a, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (hi > lo) {
+            if (hi - lo < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, lo, hi);
+                return;
+            }
+            if (--depthLimit < 0) {
+                Arrays.sort(a, lo, hi + 1);
+                return;
+            }
+            double pivot = choosePivot(a, lo, hi);
+            // Three-way partition: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                int c = Double.compare(a[i], pivot);
+                if (c < 0) {
+                    swap(a, lt++, i++);
+                } else if (c > 0) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Places several order statistics at once: after the call, every index in
+     * {@code ks[kFrom, kTo)} holds the value it would have if {@code a[from, to)}
+     * were sorted. The middle requested index is selected first and the
+     * indices on either side are selected recursively within their own
+     * partition, so {@code k} indices cost O(n log k) rather than k full
+     * selections or a sort.
+     * 
+     * @param a array to rearrange
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive)
+     * @param ks distinct indices in ascending order, each within the range
+     * @param kFrom first entry of ks to select (inclusive)
+     * @param kTo last entry of ks to select (exclusive)
+     */
+    static void selectAll(double[] a, int from, int to, int[] ks, int kFrom, int kTo) {
+        while (kFrom < kTo) {
+            int middle = (kFrom + kTo) >>> 1;
+            int k = ks[middle];
+            select(a, from, to, k);
+            selectAll(a, from, k, ks, kFrom, middle);
+            from = k + 1;
+            kFrom = middle + 1;
+        }
+    }
+    
+    /**
+     * Returns the median of {@code a[from, to)}, reordering the range.
+     * For an even number of elements the upper middle is selected and the
+     * lower middle is found by a maximum scan over the lower partition.
+     * 
+     * @param a array to rearrange
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive), greater than {@code from}
+     * @return the median of the range
+     */
+    static double median(double[] a, int from, int to) {
+        int size = to - from;
+        int middle = from + size / 2;
+        select(a, from, to, middle);
+        if (size % 2 != 0) {
+            return a[middle];
+        }
+        return (max(a, from, middle) + a[middle]) / 2.0;
+    }
+    
+    /**
+     * Returns the largest element of {@code a[from, to)} in sort order.
+     * 
+     * @param a array to scan
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive), greater than {@code from}
+     * @return the maximum
+     */
+    static double max(double[] a, int from, int to) {
+        double max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(a[i], max) > 0) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Picks a pivot value from {@code a[lo, hi]}: the median of three samples,
+     * or Tukey's ninther for large ranges.
+     */
+    private static double choosePivot(double[] a, int lo, int hi) {
+        int middle = (lo + hi) >>> 1;
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return medianOf3(a[lo], a[middle], a[hi]);
+        }
+        int step = (hi - lo) / 8;
+        return medianOf3(
+                medianOf3(a[lo], a[lo + step], a[lo + 2 * step]),
+                medianOf3(a[middle - step], a[middle], a[middle + step]),
+                medianOf3(a[hi - 2 * step], a[hi - step], a[hi]));
+    }
+    
+    private static double medianOf3(double x, double y, double z) {
+        if (Double.compare(x, y) > 0) {
+            double t = x;
+            x = y;
+            y = t;
+        }
+        if (Double.compare(y, z) > 0) {
+            y = z;
+            if (Double.compare(x, y) > 0) {
+                y = x;
+            }
+        }
+        return y;
+    }
+    
+    private static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double value = a[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(a[j], value) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+    
+    private static void swap(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+    
+    /**
+     * Long variant of {@link #select(double[], int, int, int)}.
+     */
+    static void select(long[] a, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (hi > lo) {
+            if (hi - lo < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, lo, hi);
+                return;
+            }
+            if (--depthLimit < 0) {
+                Arrays.sort(a, lo, hi + 1);
+                return;
+            }
+            long pivot = choosePivot(a, lo, hi);
+            // Three-way partition: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                int c = Long.compare(a[i], pivot);
+                if (c < 0) {
+                    swap(a, lt++, i++);
+                } else if (c > 0) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Long variant of {@link #median(double[], int, int)}, reordering the
+     * range; the middle values are averaged in double arithmetic, so they
+     * cannot overflow.
+     */
+    static double median(long[] a, int from, int to) {
+        int size = to - from;
+        int middle = from + size / 2;
+        select(a, from, to, middle);
+        if (size % 2 != 0) {
+            return a[middle];
+        }
+        return ((double) max(a, from, middle) + a[middle]) / 2.0;
+    }
+    
+    /**
+     * Long variant of {@link #max(double[], int, int)}.
+     */
+    static long max(long[] a, int from, int to) {
+        long max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (Long.compare(a[i], max) > 0) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+    
+    private static long choosePivot(long[] a, int lo, int hi) {
+        int middle = (lo + hi) >>> 1;
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return medianOf3(a[lo], a[middle], a[hi]);
+        }
+        int step = (hi - lo) / 8;
+        return medianOf3(
+                medianOf3(a[lo], a[lo + step], a[lo + 2 * step]),
+                medianOf3(a[middle - step], a[middle], a[middle + step]),
+                medianOf3(a[hi - 2 * step], a[hi - step], a[hi]));
+    }
+    
+    private static long medianOf3(long x, long y, long z) {
+        if (Long.compare(x, y) > 0) {
+            long t = x;
+            x = y;
+            y = t;
+        }
+        if (Long.compare(y, z) > 0) {
+            y = z;
+            if (Long.compare(x, y) > 0) {
+                y = x;
+            }
+        }
+        return y;
+    }
+    
+    private static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long value = a[i];
+            int j = i - 1;
+            while (j >= lo && Long.compare(a[j], value) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+    
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+    
+    /**
+     * Returns the median of {@code a[from, to)} without reordering it. The
+     * values are widened into a {@code long[]} scratch copy and selected
+     * there, so the int and long medians share one implementation.
+     * 
+     * @param a array of values
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive), greater than {@code from}
+     * @return the median of the range
+     */
+    static double median(int[] a, int from, int to) {
+        long[] copy = new long[to - from];
+        for (int i = from; i < to; i++) {
+            copy[i - from] = a[i];
+        }
+        return median(copy, 0, copy.length);
+    }
+    
+    /**
+     * Returns the median of {@code a[from, to)} without reordering it,
+     * ordering values as {@link Arrays#sort(float[])} does. The values are
+     * selected as {@link #orderedKey order-preserving long keys} and the
+     * middle ones averaged in double arithmetic.
+     * 
+     * @param a array of values
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive), greater than {@code from}
+     * @return the median of the range
+     */
+    static double median(float[] a, int from, int to) {
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = orderedKey(a[i]);
+        }
+        int size = keys.length;
+        int middle = size / 2;
+        select(keys, 0, size, middle);
+        double upper = fromOrderedKey(keys[middle]);
+        if (size % 2 != 0) {
+            return upper;
+        }
+        return (fromOrderedKey(max(keys, 0, middle)) + upper) / 2.0;
+    }
+    
+    /**
+     * Maps a double to a long with the same order as {@link Double#compare}:
+     * negative values have their magnitude bits flipped so that they sort
+     * below the positive ones. NaN maps above positive infinity.
+     * 
+     * @param value the value to map
+     * @return a key ordered like the value
+     */
+    static long orderedKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+    
+    /**
+     * Inverse of {@link #orderedKey}.
+     * 
+     * @param key a key returned by {@link #orderedKey}
+     * @return the value it was mapped from
+     */
+    static double fromOrderedKey(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+}
@@ -1,8 +1,10 @@
 package com.cst8411.mathstats;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Statistical operations utility class providing common statistical calculations.
@@ -20,106 +22,325 @@ public class Statistics {
      * @throws IllegalArgumentException if data is null or empty
      */
     public static double mean(double[] data) {
-        validateData(data);
-        double sum = 0;
-        for (double value : data) {
-            sum += value;
-        }
-        return sum / data.length;
+        return mean(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Calculates the arithmetic mean of {@code data[from, to)} without copying the range.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the mean of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double mean(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        return StatisticsKernels.get().sum(data, from, to) / (to - from);
     }
     
     /**
      * Finds the median (middle value) of an array of numbers.
+     * Uses expected linear-time selection on a copy of the data; see
+     * {@link #medianInPlace(double[])} to avoid the copy.
      * 
      * @param data array of double values
      * @return the median of the data
      * @throws IllegalArgumentException if data is null or empty
      */
     public static double median(double[] data) {
-        validateData(data);
-        // Create a copy to avoid modifying original array
-        double[] sortedData = Arrays.copyOf(data, data.length);
-        Arrays.sort(sortedData);
+        return median(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Finds the median of {@code data[from, to)}. Only the range is copied
+     * for the selection; see {@link #medianInPlace(double[], int, int)} to
+     * avoid the copy.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the median of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double median(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        // Select on a copy to avoid modifying original array
+        return Selection.median(Arrays.copyOfRange(data, from, to), 0, to - from);
+    }
+    
+    /**
+     * Finds the median (middle value) of an array of numbers without copying it.
+     * The elements of {@code data} are reordered by the selection, so callers
+     * should pass an array they own, such as a scratch buffer.
+     * 
+     * @param data array of double values, reordered in place
+     * @return the median of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double medianInPlace(double[] data) {
+        return medianInPlace(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Finds the median of {@code data[from, to)} without copying it. Only
+     * the elements inside the range are reordered.
+     * 
+     * @param data array of double values, reordered in place within the range
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the median of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double medianInPlace(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        return Selection.median(data, from, to);
+    }
+    
+    /**
+     * Calculates several percentiles of an array in one pass, using linear
+     * interpolation between neighbouring values. See
+     * {@link #percentiles(double[], int, int, Interpolation, double...)}.
+     * 
+     * @param data array of double values
+     * @param percentiles percentages between 0 and 100
+     * @return the percentiles, in the order requested
+     * @throws IllegalArgumentException if data is null or empty, percentiles
+     *         is null, or any percentile is outside [0, 100]
+     */
+    public static double[] percentiles(double[] data, double... percentiles) {
+        return percentiles(data, 0, data == null ? 0 : data.length, Interpolation.LINEAR, percentiles);
+    }
+    
+    /**
+     * Calculates several percentiles of an array in one pass.
+     * See {@link #percentiles(double[], int, int, Interpolation, double...)}.
+     * 
+     * @param data array of double values
+     * @param method how to estimate between two values
+     * @param percentiles percentages between 0 and 100
+     * @return the percentiles, in the order requested
+     * @throws IllegalArgumentException if data is null or empty, method or
+     *         percentiles is null, or any percentile is outside [0, 100]
+     */
+    public static double[] percentiles(double[] data, Interpolation method, double... percentiles) {
+        return percentiles(data, 0, data == null ? 0 : data.length, method, percentiles);
+    }
+    
+    /**
+     * Calculates several percentiles of {@code data[from, to)} in one pass.
+     * The range is copied once and a multi-way selection places every order
+     * statistic the requested percentiles need, in O(n log k) for k
+     * percentiles instead of a sort or k separate selections. For repeated
+     * queries on the same data, build a {@link RankIndex} instead.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @param method how to estimate between two values
+     * @param percentiles percentages between 0 and 100
+     * @return the percentiles, in the order requested
+     * @throws IllegalArgumentException if data is null, the range is invalid
+     *         or empty, method or percentiles is null, or any percentile is
+     *         outside [0, 100]
+     */
+    public static double[] percentiles(double[] data, int from, int to, Interpolation method,
+            double... percentiles) {
+        validateRange(data, from, to);
+        if (method == null) {
+            throw new IllegalArgumentException("Interpolation cannot be null");
+        }
+        if (percentiles == null) {
+            throw new IllegalArgumentException("Percentiles cannot be null");
+        }
+        int size = to - from;
+        // Both neighbours of every target position, deduplicated below
+        int[] ranks = new int[2 * percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            double p = percentiles[i];
+            if (!(p >= 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            double h = (size - 1) * (p / 100);
+            ranks[2 * i] = (int) Math.floor(h);
+            ranks[2 * i + 1] = (int) Math.ceil(h);
+        }
+        ranks = Arrays.stream(ranks).sorted().distinct().toArray();
         
-        int middle = sortedData.length / 2;
-        // If even number of elements, return average of two middle elements
-        if (sortedData.length % 2 == 0) {
-            return (sortedData[middle - 1] + sortedData[middle]) / 2.0;
-        } else {
-            return sortedData[middle];
+        double[] copy = Arrays.copyOfRange(data, from, to);
+        Selection.selectAll(copy, 0, size, ranks, 0, ranks.length);
+        double[] values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = method.estimate(copy, 0, size, percentiles[i] / 100);
         }
+        return values;
     }
     
     /**
      * Finds the mode (most frequent value) in an array of numbers.
      * Returns the smallest mode if multiple modes exist.
+     * Values are counted in a primitive hash table, so no boxing takes place.
      * 
      * @param data array of double values
      * @return the mode of the data
      * @throws IllegalArgumentException if data is null or empty
      */
     public static double mode(double[] data) {
-        validateData(data);
+        return mode(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Finds the mode of {@code data[from, to)}, returning the smallest mode
+     * if multiple modes exist.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the mode of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double mode(double[] data, int from, int to) {
+        validateRange(data, from, to);
         
-        Map<Double, Integer> frequencyMap = new HashMap<>();
-        // Count frequency of each value
-        for (double value : data) {
-            frequencyMap.put(value, frequencyMap.getOrDefault(value, 0) + 1);
+        // Count frequency of each value, keyed on its bit pattern
+        LongIntHashMap frequencies = new LongIntHashMap(Math.min(to - from, 1 << 16));
+        for (int i = from; i < to; i++) {
+            frequencies.increment(Double.doubleToLongBits(data[i]));
         }
-        
-        // Find the value with highest frequency
-        double mode = data[0];
+        return mostFrequent(frequencies, data[from]);
+    }
+    
+    /**
+     * Finds the value with the highest count in a frequency table, preferring
+     * the smallest value in {@link Double#compare} order on ties.
+     * 
+     * @param frequencies counts keyed on {@link Double#doubleToLongBits}
+     * @param first first value of the data, returned if no count beats it
+     * @return the mode
+     */
+    static double mostFrequent(LongIntHashMap frequencies, double first) {
+        long key = mostFrequent(frequencies, Selection.orderedKey(first), true);
+        return Selection.fromOrderedKey(key);
+    }
+    
+    /**
+     * Finds the key with the highest count in a frequency table keyed on the
+     * values themselves, such as integers, preferring the smallest key on ties.
+     * 
+     * @param frequencies counts keyed on the values
+     * @param first first value of the data, returned if no count beats it
+     * @return the mode
+     */
+    static long mostFrequent(LongIntHashMap frequencies, long first) {
+        return mostFrequent(frequencies, first, false);
+    }
+    
+    /**
+     * Scans a frequency table for the most frequent key, comparing keys as
+     * signed longs, or as {@link Selection#orderedKey ordered keys} of the
+     * doubles whose bits they hold.
+     */
+    private static long mostFrequent(LongIntHashMap frequencies, long first, boolean doubleBits) {
+        long mode = first;
         int maxFrequency = 0;
         
-        for (Map.Entry<Double, Integer> entry : frequencyMap.entrySet()) {
-            if (entry.getValue() > maxFrequency || 
-                (entry.getValue() == maxFrequency && entry.getKey() < mode)) {
-                mode = entry.getKey();
-                maxFrequency = entry.getValue();
+        for (int slot = 0; slot < frequencies.capacity(); slot++) {
+            int frequency = frequencies.countAt(slot);
+            if (frequency == 0) {
+                continue;
+            }
+            long key = frequencies.keyAt(slot);
+            if (doubleBits) {
+                key = Selection.orderedKey(Double.longBitsToDouble(key));
+            }
+            if (frequency > maxFrequency || (frequency == maxFrequency && key < mode)) {
+                mode = key;
+                maxFrequency = frequency;
             }
         }
         
         return mode;
     }
     
+    /**
+     * Finds the mode (most frequent value) by sorting the array in place and
+     * scanning runs of equal values. Returns the smallest mode if multiple
+     * modes exist. Avoids the hash table of {@link #mode(double[])} at the
+     * cost of reordering {@code data}.
+     * 
+     * @param data array of double values, sorted in place
+     * @return the mode of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static double modeInPlace(double[] data) {
+        return modeInPlace(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Finds the mode of {@code data[from, to)} by sorting the range in place.
+     * Elements outside the range are left untouched.
+     * 
+     * @param data array of double values, sorted in place within the range
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the mode of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double modeInPlace(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        Arrays.sort(data, from, to);
+        return modeOfSorted(data, from, to);
+    }
+    
     /**
      * Calculates the range (difference between max and min) of the data.
      * 
      * @param data array of double values
-     * @return the range of the data
+     * @return the range of the data, or NaN if any value is NaN
      * @throws IllegalArgumentException if data is null or empty
      */
     public static double range(double[] data) {
-        validateData(data);
-        double min = data[0];
-        double max = data[0];
-        
-        for (double value : data) {
-            if (value < min) min = value;
-            if (value > max) max = value;
-        }
-        
-        return max - min;
+        return range(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Calculates the range (difference between max and min) of {@code data[from, to)}.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the range of the values, or NaN if any value is NaN
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double range(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        return StatisticsKernels.get().range(data, from, to);
     }
     
     /**
      * Calculates the population variance of the data.
+     * Computed in a single pass with {@link StreamingStatistics}.
      * 
      * @param data array of double values
      * @return the population variance
      * @throws IllegalArgumentException if data is null or empty
      */
     public static double variance(double[] data) {
-        validateData(data);
-        double mean = mean(data);
-        double sumSquaredDifferences = 0;
-        
-        for (double value : data) {
-            double difference = value - mean;
-            sumSquaredDifferences += difference * difference;
-        }
-        
-        return sumSquaredDifferences / data.length;
+        return variance(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Calculates the population variance of {@code data[from, to)}.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the population variance
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double variance(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        return new StreamingStatistics().accept(data, from, to).variance();
     }
     
     /**
@@ -133,29 +354,50 @@ public class Statistics {
         return Math.sqrt(variance(data));
     }
     
+    /**
+     * Calculates the population standard deviation of {@code data[from, to)}.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the population standard deviation
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static double standardDeviation(double[] data, int from, int to) {
+        return Math.sqrt(variance(data, from, to));
+    }
+    
     /**
      * Calculates the sample variance of the data.
-     * Uses n-1 denominator (Bessel's correction).
+     * Uses n-1 denominator (Bessel's correction) and a single pass with
+     * {@link StreamingStatistics}.
      * 
      * @param data array of double values
      * @return the sample variance
      * @throws IllegalArgumentException if data is null or has less than 2 elements
      */
     public static double sampleVariance(double[] data) {
-        validateData(data);
-        if (data.length < 2) {
+        return sampleVariance(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Calculates the sample variance of {@code data[from, to)}.
+     * Uses n-1 denominator (Bessel's correction).
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the sample variance
+     * @throws IllegalArgumentException if data is null, the range is invalid,
+     *         or it has less than 2 elements
+     */
+    public static double sampleVariance(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        if (to - from < 2) {
             throw new IllegalArgumentException("Sample variance requires at least 2 data points");
         }
         
-        double mean = mean(data);
-        double sumSquaredDifferences = 0;
-        
-        for (double value : data) {
-            double difference = value - mean;
-            sumSquaredDifferences += difference * difference;
-        }
-        
-        return sumSquaredDifferences / (data.length - 1);
+        return new StreamingStatistics().accept(data, from, to).sampleVariance();
     }
     
     /**
@@ -170,17 +412,259 @@ public class Statistics {
     }
     
     /**
-     * Validates that the data array is not null and not empty.
+     * Calculates the sample standard deviation of {@code data[from, to)}.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the sample standard deviation
+     * @throws IllegalArgumentException if data is null, the range is invalid,
+     *         or it has less than 2 elements
+     */
+    public static double sampleStandardDeviation(double[] data, int from, int to) {
+        return Math.sqrt(sampleVariance(data, from, to));
+    }
+    
+    /**
+     * Computes every descriptive statistic of the data at once.
+     * The moments, minimum and maximum come from a single pass, and the
+     * median and mode are both read from one sorted copy of the data, so
+     * the data is sorted at most once.
+     * 
+     * @param data array of double values
+     * @return the summary of the data
+     * @throws IllegalArgumentException if data is null or empty
+     */
+    public static DescriptiveSummary describe(double[] data) {
+        return describe(data, 0, data == null ? 0 : data.length);
+    }
+    
+    /**
+     * Computes every descriptive statistic of {@code data[from, to)} at once.
+     * Only the range is copied, for the median and mode.
+     * 
+     * @param data array of double values
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @return the summary of the range
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    public static DescriptiveSummary describe(double[] data, int from, int to) {
+        validateRange(data, from, to);
+        StreamingStatistics moments = new StreamingStatistics().accept(data, from, to);
+        return describe(moments, Arrays.copyOfRange(data, from, to));
+    }
+    
+    /**
+     * Builds a summary from precomputed moments and a private copy of the data.
+     * 
+     * @param moments single-pass summary of the data
+     * @param sortedData copy of the data, sorted in place by this method
+     * @return the summary
+     */
+    static DescriptiveSummary describe(StreamingStatistics moments, double[] sortedData) {
+        Arrays.sort(sortedData);
+        int middle = sortedData.length / 2;
+        double median = sortedData.length % 2 == 0
+                ? (sortedData[middle - 1] + sortedData[middle]) / 2.0
+                : sortedData[middle];
+        double mode = modeOfSorted(sortedData, 0, sortedData.length);
+        
+        double sampleVariance = moments.count() < 2 ? Double.NaN : moments.sampleVariance();
+        return new DescriptiveSummary(
+                moments.count(),
+                moments.mean(),
+                median,
+                mode,
+                moments.min(),
+                moments.max(),
+                moments.range(),
+                moments.variance(),
+                moments.standardDeviation(),
+                sampleVariance,
+                Math.sqrt(sampleVariance));
+    }
+    
+    /**
+     * Calculates the population covariance (n denominator) of every pair of
+     * columns. Each column is centered once and the pairwise products are
+     * accumulated in cache-sized tiles, rather than making a pass over the
+     * data per pair; {@link ParallelStatistics#covarianceMatrix} runs the
+     * tiles in parallel.
+     * 
+     * @param columns one array per variable, all of the same length
+     * @return the covariance matrix, element {@code (a, b)} for columns a and b
+     * @throws IllegalArgumentException if columns is null or empty, or any
+     *         column is null, empty or of a different length
+     */
+    public static SymmetricMatrix covarianceMatrix(double[][] columns) {
+        Comoments.validateColumns(columns);
+        return Comoments.covariance(Comoments.of(columns, null), columns[0].length);
+    }
+    
+    /**
+     * Calculates the sample covariance (n-1 denominator) of every pair of columns.
+     * 
+     * @param columns one array per variable, all of the same length
+     * @return the sample covariance matrix
+     * @throws IllegalArgumentException if columns is null or empty, or any
+     *         column is null, of a different length or has less than 2 elements
+     */
+    public static SymmetricMatrix sampleCovarianceMatrix(double[][] columns) {
+        Comoments.validateColumns(columns);
+        if (columns[0].length < 2) {
+            throw new IllegalArgumentException("Sample covariance requires at least 2 data points");
+        }
+        return Comoments.covariance(Comoments.of(columns, null), columns[0].length - 1);
+    }
+    
+    /**
+     * Calculates the Pearson correlation of every pair of columns, from the
+     * same tiled co-moments as {@link #covarianceMatrix(double[][])}. Pairs
+     * involving a constant column have no defined correlation and are
+     * {@code NaN}.
+     * 
+     * @param columns one array per variable, all of the same length
+     * @return the correlation matrix, with ones on the diagonal
+     * @throws IllegalArgumentException if columns is null or empty, or any
+     *         column is null, empty or of a different length
+     */
+    public static SymmetricMatrix correlationMatrix(double[][] columns) {
+        Comoments.validateColumns(columns);
+        return Comoments.correlation(Comoments.of(columns, null));
+    }
+    
+    /**
+     * Opens a binary file of big-endian doubles for out-of-core statistics.
+     * The file is memory-mapped in segments rather than loaded onto the heap.
+     * Big-endian is the format of {@link java.io.DataOutputStream#writeDouble};
+     * use {@link #of(Path, ByteOrder)} for little-endian files.
+     * 
+     * @param path file to read
+     * @return a source over the file's values; close it when done
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the file size is not a multiple of 8 bytes
+     * @see MappedDoubleSource
+     */
+    public static MappedDoubleSource of(Path path) throws IOException {
+        return MappedDoubleSource.open(path);
+    }
+    
+    /**
+     * Opens a binary file of doubles stored in the given byte order, for
+     * example {@link ByteOrder#LITTLE_ENDIAN} for files written by native code.
+     * 
+     * @param path file to read
+     * @param order byte order of the stored values
+     * @return a source over the file's values; close it when done
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if path or order is null, or the file
+     *         size is not a multiple of 8 bytes
+     * @see MappedDoubleSource
+     */
+    public static MappedDoubleSource of(Path path, ByteOrder order) throws IOException {
+        return MappedDoubleSource.open(path, order);
+    }
+    
+    /**
+     * Computes count, mean, variance, minimum and maximum of the values
+     * sharing each key, in a single pass without boxing.
+     * 
+     * @param keys group key of each value
+     * @param values array of double values
+     * @return per-group statistics, ordered by ascending key
+     * @throws IllegalArgumentException if either array is null, values is
+     *         empty, or the arrays differ in length
+     * @see GroupBy
+     */
+    public static GroupedStatistics groupBy(int[] keys, double[] values) {
+        return new GroupBy().aggregate(keys, values);
+    }
+    
+    /**
+     * Returns fork-join variants of the mean, range and variance operations
+     * for large arrays, e.g. {@code Statistics.parallel().variance(data)}.
+     * 
+     * @return the default parallel implementation
+     * @see ParallelStatistics
+     */
+    public static ParallelStatistics parallel() {
+        return ParallelStatistics.defaultInstance();
+    }
+    
+    /**
+     * Finds the most frequent value in a sorted, non-empty range by run-length
+     * scanning. Values are equal when their bit patterns match, as in
+     * {@link Double#equals}; the first (smallest) longest run wins.
+     * 
+     * @param sorted array sorted in ascending order
+     * @param from first index of the range (inclusive)
+     * @param to last index of the range (exclusive)
+     * @return the mode of the range
+     */
+    static double modeOfSorted(double[] sorted, int from, int to) {
+        double mode = sorted[from];
+        int maxFrequency = 0;
+        int runStart = from;
+        long runBits = Double.doubleToLongBits(sorted[from]);
+        
+        for (int i = from + 1; i <= to; i++) {
+            long bits = i < to ? Double.doubleToLongBits(sorted[i]) : ~runBits;
+            if (bits != runBits) {
+                if (i - runStart > maxFrequency) {
+                    maxFrequency = i - runStart;
+                    mode = sorted[runStart];
+                }
+                runStart = i;
+                runBits = bits;
+            }
+        }
+        
+        return mode;
+    }
+    
+    /**
+     * Validates that {@code data[from, to)} is a non-empty range of a non-null array.
      * 
-     * @param data array to validate
+     * @param data array to validate, of any primitive component type
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @throws IllegalArgumentException if data is null, or the range is invalid or empty
+     */
+    static void validateRange(Object data, int from, int to) {
+        checkRange(data, from, to);
+        if (from == to) {
+            throw new IllegalArgumentException(Array.getLength(data) == 0
+                    ? "Data array cannot be empty" : "Data range cannot be empty");
+        }
+    }
+    
+    /**
+     * Validates that a whole array is non-null and non-empty.
+     * 
+     * @param data array to validate, of any primitive component type
      * @throws IllegalArgumentException if data is null or empty
      */
-    private static void validateData(double[] data) {
+    static void validateData(Object data) {
+        validateRange(data, 0, data == null ? 0 : Array.getLength(data));
+    }
+    
+    /**
+     * Validates that {@code [from, to)} is a range, possibly empty, of a non-null array.
+     * 
+     * @param data array to validate, of any primitive component type
+     * @param from index of the first value (inclusive)
+     * @param to index of the last value (exclusive)
+     * @throws IllegalArgumentException if data is null or the range is invalid
+     */
+    static void checkRange(Object data, int from, int to) {
         if (data == null) {
             throw new IllegalArgumentException("Data array cannot be null");
         }
-        if (data.length == 0) {
-            throw new IllegalArgumentException("Data array cannot be empty");
+        int length = Array.getLength(data);
+        if (from < 0 || to > length || from > to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to
+                    + ") for array of length " + length);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.cst8411.mathstats;
+
+/**
+ * Inner loops shared by the array-based statistics. The implementation is
+ * chosen once per JVM: {@code VectorKernels} when the
+ * {@code jdk.incubator.vector} module is present, otherwise
+ * {@link ScalarKernels}.
+ * 
+ * <p>All methods take a non-empty, already validated range
+ * {@code [from, to)}.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+interface StatisticsKernels {
+    
+    /**
+     * Returns the sum of the values in the range.
+     * 
+     * @param data array of double values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the sum
+     */
+    double sum(double[] data, int from, int to);
+    
+    /**
+     * Returns the difference between the largest and smallest values in the range.
+     * Extremes follow {@link Math#min} and {@link Math#max}, so the range is
+     * NaN if any value is NaN, in every implementation.
+     * 
+     * @param data array of double values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the range
+     */
+    double range(double[] data, int from, int to);
+    
+    /**
+     * Returns count, mean, sum of squared deviations, minimum and maximum
+     * of the values in the range, computed in one pass.
+     * 
+     * @param data array of double values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return an accumulator holding the summary
+     */
+    StreamingStatistics summarize(double[] data, int from, int to);
+    
+    /**
+     * Returns the kernels selected for this JVM.
+     * 
+     * @return the shared kernels
+     */
+    static StatisticsKernels get() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Lazily selects the implementation on first use.
+     */
+    final class Holder {
+        
+        /** Set to {@code false} to force the scalar kernels. */
+        static final String VECTOR_PROPERTY = "mathstats.vector";
+        
+        static final StatisticsKernels INSTANCE = load();
+        
+        private Holder() {
+        }
+        
+        private static StatisticsKernels load() {
+            if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                    || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return new ScalarKernels();
+            }
+            try {
+                return (StatisticsKernels) Class.forName("com.cst8411.mathstats.VectorKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarKernels();
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.cst8411.mathstats;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Thread-safe recorder of count, mean, variance, minimum and maximum for
+ * many concurrent writers. Like {@link java.util.concurrent.atomic.LongAdder},
+ * it spreads updates over several cells so that threads rarely contend:
+ * {@link #record} is lock-free and never allocates, and {@link #snapshot()}
+ * merges the cells into a {@link StreamingStatistics}.
+ * 
+ * <p>Each cell keeps a count, the sum and sum of squares of the values minus
+ * a shift (the first recorded value), and the minimum and maximum. Shifting
+ * keeps the sums small for data far from zero, such as latencies, so the
+ * variance does not suffer the cancellation of the textbook formula. Cells
+ * are padded onto separate cache lines.</p>
+ * 
+ * <p>A snapshot taken while other threads are recording is not atomic: a
+ * value being recorded concurrently may be reflected in some of the
+ * statistics and not yet in others. Snapshots taken after the writers have
+ * finished are exact.</p>
+ * 
+ * <p>{@link #reset()} swaps in a fresh set of cells atomically. A value
+ * recorded concurrently with a reset lands wholly in the old cells or wholly
+ * in the new ones, so it is either dropped or kept but never half-counted.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StatisticsRecorder implements DoubleConsumer {
+    
+    /** Longs between the starts of two cells (128 bytes). */
+    private static final int STRIDE = 16;
+    
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int SUM_OF_SQUARES = 2;
+    private static final int MIN = 3;
+    private static final int MAX = 4;
+    
+    private static final int MAX_STRIPES = 1 << 10;
+    
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SHIFT;
+    
+    static {
+        try {
+            SHIFT = MethodHandles.lookup().findVarHandle(Cells.class, "shift", double.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    /** Per-thread hash used to pick a cell, moved on contention. */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+            () -> new int[] {mix(Thread.currentThread().getId())});
+    
+    private final int mask;
+    private volatile Cells state;
+    
+    /**
+     * Creates a recorder with one stripe per available processor, rounded up
+     * to a power of two.
+     */
+    public StatisticsRecorder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates a recorder with at least {@code stripes} cells. More stripes
+     * reduce contention at the cost of memory and snapshot time.
+     * 
+     * @param stripes minimum number of cells, rounded up to a power of two
+     * @throws IllegalArgumentException if stripes is less than 1 or greater than 1024
+     */
+    public StatisticsRecorder(int stripes) {
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Stripes must be between 1 and " + MAX_STRIPES);
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        state = new Cells(size);
+    }
+    
+    /**
+     * Records a value. Safe to call from any number of threads.
+     * 
+     * @param value the value to record
+     * @throws IllegalArgumentException if value is NaN
+     */
+    public void record(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN");
+        }
+        Cells current = state;
+        long[] cells = current.values;
+        double k = current.shift;
+        if (Double.isNaN(k)) {
+            SHIFT.compareAndSet(current, Double.NaN, value);
+            k = current.shift;
+        }
+        int[] probe = PROBE.get();
+        int base = ((probe[0] & mask) + 1) * STRIDE;
+        double delta = value - k;
+        
+        boolean contended = !add(cells, base + SUM, delta);
+        contended |= !add(cells, base + SUM_OF_SQUARES, delta * delta);
+        contended |= !lower(cells, base + MIN, value);
+        contended |= !raise(cells, base + MAX, value);
+        // The count goes last so that a snapshot rarely counts a value whose sums it misses
+        CELLS.getAndAdd(cells, base + COUNT, 1L);
+        
+        if (contended) {
+            int h = probe[0];
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+        }
+    }
+    
+    /**
+     * Records a value; equivalent to {@link #record(double)}.
+     * 
+     * @param value the value to record
+     * @throws IllegalArgumentException if value is NaN
+     */
+    @Override
+    public void accept(double value) {
+        record(value);
+    }
+    
+    /**
+     * Returns the number of values recorded so far.
+     * 
+     * @return the count
+     */
+    public long count() {
+        long[] cells = state.values;
+        long count = 0;
+        for (int base = STRIDE; base < cells.length; base += STRIDE) {
+            count += (long) CELLS.getVolatile(cells, base + COUNT);
+        }
+        return count;
+    }
+    
+    /**
+     * Merges every cell into a new accumulator. The result is independent of
+     * this recorder and can be queried or combined freely.
+     * 
+     * @return count, mean, variance, minimum and maximum of the recorded values
+     */
+    public StreamingStatistics snapshot() {
+        Cells current = state;
+        long[] cells = current.values;
+        double k = current.shift;
+        StreamingStatistics result = new StreamingStatistics();
+        for (int base = STRIDE; base < cells.length; base += STRIDE) {
+            long n = (long) CELLS.getVolatile(cells, base + COUNT);
+            if (n == 0) {
+                continue;
+            }
+            double sum = bits(cells, base + SUM);
+            double sumOfSquares = bits(cells, base + SUM_OF_SQUARES);
+            double m2 = Math.max(0.0, sumOfSquares - sum * (sum / n));
+            result.combine(new StreamingStatistics(n, k + sum / n, m2, bits(cells, base + MIN), bits(cells, base + MAX)));
+        }
+        return result;
+    }
+    
+    /**
+     * Discards every recorded value by atomically replacing the cells. A
+     * value recorded concurrently with a reset is either wholly discarded or
+     * wholly kept.
+     */
+    public void reset() {
+        state = new Cells(mask + 1);
+    }
+    
+    /**
+     * Atomically adds {@code delta} to the double stored at {@code index}.
+     * 
+     * @return true if the first attempt succeeded, false if it was contended
+     */
+    private static boolean add(long[] cells, int index, double delta) {
+        long current = (long) CELLS.getVolatile(cells, index);
+        if (CELLS.compareAndSet(cells, index, current,
+                Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta))) {
+            return true;
+        }
+        do {
+            current = (long) CELLS.getVolatile(cells, index);
+        } while (!CELLS.compareAndSet(cells, index, current,
+                Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta)));
+        return false;
+    }
+    
+    /**
+     * Atomically replaces the double at {@code index} with {@code value} if smaller.
+     * 
+     * @return true if no attempt was contended
+     */
+    private static boolean lower(long[] cells, int index, double value) {
+        boolean first = true;
+        long current;
+        while (value < Double.longBitsToDouble(current = (long) CELLS.getVolatile(cells, index))) {
+            if (CELLS.compareAndSet(cells, index, current, Double.doubleToRawLongBits(value))) {
+                return first;
+            }
+            first = false;
+        }
+        return first;
+    }
+    
+    /**
+     * Atomically replaces the double at {@code index} with {@code value} if larger.
+     * 
+     * @return true if no attempt was contended
+     */
+    private static boolean raise(long[] cells, int index, double value) {
+        boolean first = true;
+        long current;
+        while (value > Double.longBitsToDouble(current = (long) CELLS.getVolatile(cells, index))) {
+            if (CELLS.compareAndSet(cells, index, current, Double.doubleToRawLongBits(value))) {
+                return first;
+            }
+            first = false;
+        }
+        return first;
+    }
+    
+    private static double bits(long[] cells, int index) {
+        return Double.longBitsToDouble((long) CELLS.getVolatile(cells, index));
+    }
+    
+    /**
+     * Spreads a thread id into a non-zero hash (the MurmurHash3 finalizer).
+     */
+    private static int mix(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        int h = (int) id;
+        return h == 0 ? 1 : h;
+    }
+    
+    /**
+     * One generation of cells together with the shift its sums are relative
+     * to, so that a reset replaces both at once.
+     */
+    private static final class Cells {
+        
+        final long[] values;
+        volatile double shift = Double.NaN;
+        
+        Cells(int size) {
+            // One leading cell of padding keeps the first cell off the array header's line
+            values = new long[(size + 1) * STRIDE];
+            for (int base = STRIDE; base < values.length; base += STRIDE) {
+                values[base + SUM] = Double.doubleToRawLongBits(0.0);
+                values[base + SUM_OF_SQUARES] = Double.doubleToRawLongBits(0.0);
+                values[base + MIN] = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+                values[base + MAX] = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.cst8411.mathstats;
+
+/**
+ * Single-pass accumulator for the means and co-moments of several variables
+ * observed together, one row at a time, from which covariance and
+ * correlation matrices are derived. It is the streaming counterpart of
+ * {@link Statistics#covarianceMatrix(double[][])} for data that does not fit
+ * in memory or arrives incrementally.
+ * 
+ * <p>Rows are folded in with the multivariate Welford update, and
+ * independent accumulators (for example one per thread or partition) can be
+ * merged with {@link #combine} using the Chan et al. pairwise formula. The
+ * co-moments are stored as a packed lower triangle, so each row costs
+ * {@code k * (k + 1) / 2} multiply-adds for {@code k} variables.</p>
+ * 
+ * <p>Instances are not thread-safe.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingCovariance {
+    
+    private final int dimension;
+    private final double[] means;
+    private final double[] comoments;
+    private final double[] deltas;
+    private long count;
+    
+    /**
+     * Creates an empty accumulator for rows of {@code dimension} values.
+     * 
+     * @param dimension number of variables
+     * @throws IllegalArgumentException if dimension is less than 1
+     */
+    public StreamingCovariance(int dimension) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be at least 1");
+        }
+        this.dimension = dimension;
+        this.means = new double[dimension];
+        this.comoments = new double[SymmetricMatrix.index(dimension - 1, dimension - 1) + 1];
+        this.deltas = new double[dimension];
+    }
+    
+    /**
+     * Adds one observation of every variable.
+     * 
+     * @param row one value per variable
+     * @return this accumulator
+     * @throws IllegalArgumentException if row is null or its length is not the dimension
+     */
+    public StreamingCovariance accept(double... row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row cannot be null");
+        }
+        if (row.length != dimension) {
+            throw new IllegalArgumentException("Row must have " + dimension + " values");
+        }
+        count++;
+        for (int a = 0; a < dimension; a++) {
+            deltas[a] = row[a] - means[a];
+            means[a] += deltas[a] / count;
+        }
+        int index = 0;
+        for (int a = 0; a < dimension; a++) {
+            // delta_a * (x_b - updated mean_b) equals (n - 1) / n * delta_a * delta_b
+            double residual = row[a] - means[a];
+            for (int b = 0; b <= a; b++) {
+                comoments[index++] += deltas[b] * residual;
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Merges another accumulator into this one, as if its rows had been
+     * added to this accumulator.
+     * 
+     * @param other accumulator to merge
+     * @return this accumulator
+     * @throws IllegalArgumentException if other is null or has a different dimension
+     */
+    public StreamingCovariance combine(StreamingCovariance other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other accumulator cannot be null");
+        }
+        if (other.dimension != dimension) {
+            throw new IllegalArgumentException("Accumulators must have the same dimension");
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        long n = count + other.count;
+        double weight = (double) count * other.count / n;
+        for (int a = 0; a < dimension; a++) {
+            deltas[a] = other.means[a] - means[a];
+        }
+        int index = 0;
+        for (int a = 0; a < dimension; a++) {
+            for (int b = 0; b <= a; b++) {
+                comoments[index] += other.comoments[index] + deltas[a] * deltas[b] * weight;
+                index++;
+            }
+            means[a] += deltas[a] * ((double) other.count / n);
+        }
+        count = n;
+        return this;
+    }
+    
+    /**
+     * Returns the number of rows added so far.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Returns the number of variables.
+     * 
+     * @return the dimension
+     */
+    public int dimension() {
+        return dimension;
+    }
+    
+    /**
+     * Returns the mean of each variable.
+     * 
+     * @return a copy of the means
+     * @throws IllegalStateException if no rows have been added
+     */
+    public double[] means() {
+        checkNotEmpty();
+        return means.clone();
+    }
+    
+    /**
+     * Returns the population covariance matrix (n denominator).
+     * 
+     * @return the covariance matrix
+     * @throws IllegalStateException if no rows have been added
+     */
+    public SymmetricMatrix covarianceMatrix() {
+        checkNotEmpty();
+        return Comoments.covariance(new SymmetricMatrix(dimension, comoments), count);
+    }
+    
+    /**
+     * Returns the sample covariance matrix (n-1 denominator).
+     * 
+     * @return the sample covariance matrix
+     * @throws IllegalStateException if fewer than 2 rows have been added
+     */
+    public SymmetricMatrix sampleCovarianceMatrix() {
+        if (count < 2) {
+            throw new IllegalStateException("Sample covariance requires at least 2 data points");
+        }
+        return Comoments.covariance(new SymmetricMatrix(dimension, comoments), count - 1);
+    }
+    
+    /**
+     * Returns the Pearson correlation matrix. Pairs involving a variable
+     * that has been constant so far are {@code NaN}.
+     * 
+     * @return the correlation matrix
+     * @throws IllegalStateException if no rows have been added
+     */
+    public SymmetricMatrix correlationMatrix() {
+        checkNotEmpty();
+        return Comoments.correlation(new SymmetricMatrix(dimension, comoments));
+    }
+    
+    /**
+     * Returns the co-moments as a matrix sharing this accumulator's storage,
+     * so later updates show through.
+     * 
+     * @return a live view of the co-moments
+     */
+    SymmetricMatrix comoments() {
+        return new SymmetricMatrix(dimension, comoments);
+    }
+    
+    /**
+     * Returns the mean of one variable without copying the means.
+     * 
+     * @param variable index of the variable
+     * @return its mean, or 0 if no rows have been added
+     */
+    double mean(int variable) {
+        return means[variable];
+    }
+    
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("No data has been accepted");
+        }
+    }
+}
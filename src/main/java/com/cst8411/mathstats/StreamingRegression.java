@@ -0,0 +1,271 @@
+package com.cst8411.mathstats;
+
+/**
+ * Online ordinary least-squares fit of {@code y = b0 + b1 x1 + ... + bp xp}
+ * over a stream of observations, without buffering them.
+ * 
+ * <p>The sufficient statistics are the means and co-moments of
+ * {@code (x1, ..., xp, y)}, kept in a {@link StreamingCovariance}, so each
+ * observation costs O(p²) and accumulators for separate partitions can be
+ * merged with {@link #combine}. The coefficients are solved from the normal
+ * equations in centered form by a Cholesky factorization on first query and
+ * cached until the next update, so repeated queries are constant time.
+ * Centering keeps the fit accurate when the data is far from the origin.</p>
+ * 
+ * <pre>{@code
+ * StreamingRegression trend = new StreamingRegression();
+ * for (Sample s : samples) {
+ *     trend.accept(s.time(), s.value());
+ * }
+ * double perSecond = trend.slope();
+ * }</pre>
+ * 
+ * <p>Instances are not thread-safe.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingRegression {
+    
+    /** Pivot size, relative to the predictor's own variance, treated as collinear. */
+    private static final double COLLINEARITY_TOLERANCE = 1e-12;
+    
+    private final int predictors;
+    private final StreamingCovariance moments;
+    private final double[] row;
+    /** Solved slopes, or null when the accumulator changed since the last solve. */
+    private double[] slopes;
+    
+    /**
+     * Creates a simple regression of y on a single predictor.
+     */
+    public StreamingRegression() {
+        this(1);
+    }
+    
+    /**
+     * Creates a multiple regression of y on {@code predictors} variables.
+     * 
+     * @param predictors number of predictor variables
+     * @throws IllegalArgumentException if predictors is less than 1
+     */
+    public StreamingRegression(int predictors) {
+        if (predictors < 1) {
+            throw new IllegalArgumentException("Predictors must be at least 1");
+        }
+        this.predictors = predictors;
+        this.moments = new StreamingCovariance(predictors + 1);
+        this.row = new double[predictors + 1];
+    }
+    
+    /**
+     * Adds one observation of a simple regression.
+     * 
+     * @param x the predictor value
+     * @param y the response value
+     * @return this accumulator
+     * @throws IllegalArgumentException if the regression has more than one predictor
+     */
+    public StreamingRegression accept(double x, double y) {
+        if (predictors != 1) {
+            throw new IllegalArgumentException("Observation must have " + predictors + " predictor values");
+        }
+        row[0] = x;
+        row[1] = y;
+        moments.accept(row);
+        slopes = null;
+        return this;
+    }
+    
+    /**
+     * Adds one observation.
+     * 
+     * @param x the predictor values
+     * @param y the response value
+     * @return this accumulator
+     * @throws IllegalArgumentException if x is null or does not have one value per predictor
+     */
+    public StreamingRegression accept(double[] x, double y) {
+        if (x == null) {
+            throw new IllegalArgumentException("Predictor values cannot be null");
+        }
+        if (x.length != predictors) {
+            throw new IllegalArgumentException("Observation must have " + predictors + " predictor values");
+        }
+        System.arraycopy(x, 0, row, 0, predictors);
+        row[predictors] = y;
+        moments.accept(row);
+        slopes = null;
+        return this;
+    }
+    
+    /**
+     * Merges another accumulator into this one, as if its observations had
+     * been added to this accumulator.
+     * 
+     * @param other accumulator to merge
+     * @return this accumulator
+     * @throws IllegalArgumentException if other is null or has a different number of predictors
+     */
+    public StreamingRegression combine(StreamingRegression other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other accumulator cannot be null");
+        }
+        if (other.predictors != predictors) {
+            throw new IllegalArgumentException("Accumulators must have the same number of predictors");
+        }
+        moments.combine(other.moments);
+        slopes = null;
+        return this;
+    }
+    
+    /**
+     * Returns the number of observations added so far.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return moments.count();
+    }
+    
+    /**
+     * Returns the number of predictor variables.
+     * 
+     * @return the number of predictors
+     */
+    public int predictors() {
+        return predictors;
+    }
+    
+    /**
+     * Returns the slope of a simple regression.
+     * 
+     * @return the fitted slope
+     * @throws IllegalArgumentException if the regression has more than one predictor
+     * @throws IllegalStateException if the fit is not determined (see {@link #coefficients()})
+     */
+    public double slope() {
+        if (predictors != 1) {
+            throw new IllegalArgumentException("Slope is only defined for a single predictor; use coefficients()");
+        }
+        return solve()[0];
+    }
+    
+    /**
+     * Returns the fitted coefficient of each predictor.
+     * 
+     * @return a copy of the coefficients {@code b1 ... bp}
+     * @throws IllegalStateException if there are not more observations than
+     *         predictors, or a predictor is constant or collinear with others
+     */
+    public double[] coefficients() {
+        return solve().clone();
+    }
+    
+    /**
+     * Returns the fitted intercept {@code b0}.
+     * 
+     * @return the intercept
+     * @throws IllegalStateException if the fit is not determined (see {@link #coefficients()})
+     */
+    public double intercept() {
+        double[] b = solve();
+        double intercept = moments.mean(predictors);
+        for (int j = 0; j < predictors; j++) {
+            intercept -= b[j] * moments.mean(j);
+        }
+        return intercept;
+    }
+    
+    /**
+     * Returns the coefficient of determination, the fraction of the variance
+     * of y explained by the fit.
+     * 
+     * @return r² in {@code [0, 1]}, or {@code NaN} if y is constant
+     * @throws IllegalStateException if the fit is not determined (see {@link #coefficients()})
+     */
+    public double rSquared() {
+        double[] b = solve();
+        SymmetricMatrix c = moments.comoments();
+        double total = c.get(predictors, predictors);
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double explained = 0;
+        for (int j = 0; j < predictors; j++) {
+            explained += b[j] * c.get(j, predictors);
+        }
+        return Math.max(0.0, Math.min(1.0, explained / total));
+    }
+    
+    /**
+     * Returns the fitted response for the given predictor values.
+     * 
+     * @param x the predictor values
+     * @return the predicted y
+     * @throws IllegalArgumentException if x is null or does not have one value per predictor
+     * @throws IllegalStateException if the fit is not determined (see {@link #coefficients()})
+     */
+    public double predict(double... x) {
+        if (x == null || x.length != predictors) {
+            throw new IllegalArgumentException("Observation must have " + predictors + " predictor values");
+        }
+        double[] b = solve();
+        double y = moments.mean(predictors);
+        for (int j = 0; j < predictors; j++) {
+            y += b[j] * (x[j] - moments.mean(j));
+        }
+        return y;
+    }
+    
+    /**
+     * Solves {@code Sxx b = Sxy} on the centered co-moments by Cholesky
+     * factorization, caching the result until the next update.
+     */
+    private double[] solve() {
+        if (slopes != null) {
+            return slopes;
+        }
+        if (moments.count() <= predictors) {
+            throw new IllegalStateException("Regression requires more observations than predictors");
+        }
+        SymmetricMatrix c = moments.comoments();
+        int p = predictors;
+        // Lower-triangular factor L with L L^T = Sxx
+        double[][] l = new double[p][p];
+        for (int i = 0; i < p; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = c.get(i, j);
+                for (int k = 0; k < j; k++) {
+                    sum -= l[i][k] * l[j][k];
+                }
+                if (i == j) {
+                    if (!(sum > COLLINEARITY_TOLERANCE * c.get(i, i))) {
+                        throw new IllegalStateException("Predictors are constant or collinear");
+                    }
+                    l[i][i] = Math.sqrt(sum);
+                } else {
+                    l[i][j] = sum / l[j][j];
+                }
+            }
+        }
+        // Forward substitution L z = Sxy, then back substitution L^T b = z
+        double[] b = new double[p];
+        for (int i = 0; i < p; i++) {
+            double sum = c.get(i, p);
+            for (int k = 0; k < i; k++) {
+                sum -= l[i][k] * b[k];
+            }
+            b[i] = sum / l[i][i];
+        }
+        for (int i = p - 1; i >= 0; i--) {
+            double sum = b[i];
+            for (int k = i + 1; k < p; k++) {
+                sum -= l[k][i] * b[k];
+            }
+            b[i] = sum / l[i][i];
+        }
+        slopes = b;
+        return b;
+    }
+}
@@ -0,0 +1,279 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Single-pass accumulator for count, mean, variance, minimum and maximum.
+ * Values are folded in with Welford's update, so the data never needs to be
+ * held in memory and can arrive one value at a time.
+ * 
+ * <p>A NaN value makes every statistic NaN, including the minimum, maximum
+ * and range, whatever its position in the stream.</p>
+ * 
+ * <p>Instances are not thread-safe. Independent accumulators (for example one
+ * per thread or per partition) can be merged with {@link #combine}.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingStatistics implements DoubleConsumer {
+    
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Creates an empty accumulator.
+     */
+    public StreamingStatistics() {
+    }
+    
+    /**
+     * Creates an accumulator from previously computed state.
+     * 
+     * @param count number of values
+     * @param mean mean of the values
+     * @param m2 sum of squared differences from the mean
+     * @param min smallest value
+     * @param max largest value
+     */
+    StreamingStatistics(long count, double mean, double m2, double min, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.m2 = m2;
+        this.min = min;
+        this.max = max;
+    }
+    
+    /**
+     * Adds a single value.
+     * 
+     * @param value the value to add
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /**
+     * Adds every value of {@code data} in the range {@code [from, to)}.
+     * 
+     * @param data array of double values
+     * @param from index of the first value to add (inclusive)
+     * @param to index of the last value to add (exclusive)
+     * @return this accumulator
+     * @throws IllegalArgumentException if data is null or the range is invalid
+     */
+    public StreamingStatistics accept(double[] data, int from, int to) {
+        Statistics.checkRange(data, from, to);
+        if (from < to) {
+            combine(StatisticsKernels.get().summarize(data, from, to));
+        }
+        return this;
+    }
+    
+    /**
+     * Merges the state of another accumulator into this one, as if every value
+     * seen by {@code other} had been added here. Uses the pairwise update of
+     * Chan, Golub and LeVeque.
+     * 
+     * @param other accumulator to merge
+     * @return this accumulator
+     * @throws IllegalArgumentException if other is null
+     */
+    public StreamingStatistics combine(StreamingStatistics other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other accumulator cannot be null");
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * ((double) other.count / n);
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        count = n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+    
+    /**
+     * Returns the number of values added so far.
+     * 
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Returns the arithmetic mean of the values added so far.
+     * 
+     * @return the mean
+     * @throws IllegalStateException if no values have been added
+     */
+    public double mean() {
+        checkNotEmpty();
+        return mean;
+    }
+    
+    /**
+     * Returns the population variance of the values added so far.
+     * 
+     * @return the population variance
+     * @throws IllegalStateException if no values have been added
+     */
+    public double variance() {
+        checkNotEmpty();
+        return m2 / count;
+    }
+    
+    /**
+     * Returns the sample variance (n-1 denominator) of the values added so far.
+     * 
+     * @return the sample variance
+     * @throws IllegalStateException if fewer than 2 values have been added
+     */
+    public double sampleVariance() {
+        if (count < 2) {
+            throw new IllegalStateException("Sample variance requires at least 2 data points");
+        }
+        return m2 / (count - 1);
+    }
+    
+    /**
+     * Returns the population standard deviation of the values added so far.
+     * 
+     * @return the population standard deviation
+     * @throws IllegalStateException if no values have been added
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+    
+    /**
+     * Returns the sample standard deviation of the values added so far.
+     * 
+     * @return the sample standard deviation
+     * @throws IllegalStateException if fewer than 2 values have been added
+     */
+    public double sampleStandardDeviation() {
+        return Math.sqrt(sampleVariance());
+    }
+    
+    /**
+     * Returns the smallest value added so far.
+     * 
+     * @return the minimum
+     * @throws IllegalStateException if no values have been added
+     */
+    public double min() {
+        checkNotEmpty();
+        return min;
+    }
+    
+    /**
+     * Returns the largest value added so far.
+     * 
+     * @return the maximum
+     * @throws IllegalStateException if no values have been added
+     */
+    public double max() {
+        checkNotEmpty();
+        return max;
+    }
+    
+    /**
+     * Returns the difference between the largest and smallest values added so far.
+     * 
+     * @return the range
+     * @throws IllegalStateException if no values have been added
+     */
+    public double range() {
+        checkNotEmpty();
+        return max - min;
+    }
+    
+    /**
+     * Returns the sum of squared differences from the mean.
+     * 
+     * @return the second central moment times the count
+     */
+    double m2() {
+        return m2;
+    }
+    
+    /**
+     * Returns the number of bytes {@link #writeState} produces.
+     * 
+     * @return the encoded size of the state
+     */
+    int stateSize() {
+        return SummaryCodec.varLongSize(count) + (count == 0 ? 0 : 4 * Double.BYTES);
+    }
+    
+    /**
+     * Writes the count and, unless empty, the mean, sum of squared
+     * differences, minimum and maximum, for {@link SummaryCodec}.
+     * 
+     * @param out buffer to write to
+     */
+    void writeState(ByteBuffer out) {
+        SummaryCodec.putVarLong(out, count);
+        if (count > 0) {
+            out.putDouble(mean).putDouble(m2).putDouble(min).putDouble(max);
+        }
+    }
+    
+    /**
+     * Reads state written by {@link #writeState}.
+     * 
+     * @param in buffer to read from
+     * @return the decoded accumulator
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    static StreamingStatistics readState(ByteBuffer in) {
+        long count = SummaryCodec.getVarLong(in);
+        if (count == 0) {
+            return new StreamingStatistics();
+        }
+        double mean = in.getDouble();
+        double m2 = in.getDouble();
+        double min = in.getDouble();
+        double max = in.getDouble();
+        // NaN and infinite values are valid state; only orderings that no
+        // accumulator can reach are rejected
+        if (count < 0 || m2 < 0 || min > max) {
+            throw new IllegalArgumentException("Summary state is corrupt");
+        }
+        return new StreamingStatistics(count, mean, m2, min, max);
+    }
+    
+    /**
+     * Ensures at least one value has been added.
+     * 
+     * @throws IllegalStateException if no values have been added
+     */
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("No data has been accepted");
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.cst8411.mathstats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact, versioned binary encoding of the mergeable summaries
+ * {@link StreamingStatistics}, {@link QuantileSketch} and
+ * {@link DoubleHistogram}, so that partial results computed in separate
+ * processes can be shipped, checkpointed and merged instead of the raw data.
+ * 
+ * <p>Every encoding starts with a six-byte header: the magic number
+ * {@code "MSTS"}, a format version byte and a type byte. The payload follows
+ * in big-endian order whatever the buffer's byte order, with counts as
+ * unsigned LEB128 varints and doubles as their exact IEEE 754 bits, so
+ * decoding restores the state exactly and merging decoded summaries gives
+ * the same result as merging the originals. A {@link StreamingStatistics}
+ * takes at most 48 bytes; a histogram stores only its non-empty buckets.</p>
+ * 
+ * <p>Readers accept every version up to {@link #VERSION}. The write methods
+ * advance the buffer's position past the encoding; the read methods advance
+ * it past the summary read, and leave it unchanged if decoding fails.</p>
+ * 
+ * <pre>{@code
+ * ByteBuffer out = ByteBuffer.allocate(SummaryCodec.encodedSize(partial));
+ * SummaryCodec.write(partial, out);
+ * // ... on the coordinator
+ * total.combine(SummaryCodec.readStatistics(ByteBuffer.wrap(bytes)));
+ * }</pre>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class SummaryCodec {
+    
+    /** Current format version, written by every encoder. */
+    public static final int VERSION = 1;
+    
+    /** {@code "MSTS"} in ASCII. */
+    static final int MAGIC = 0x4D535453;
+    
+    /** Bytes of magic number, version and type preceding each payload. */
+    static final int HEADER_SIZE = Integer.BYTES + 2;
+    
+    static final byte STATISTICS = 1;
+    static final byte QUANTILE_SKETCH = 2;
+    static final byte HISTOGRAM = 3;
+    
+    private SummaryCodec() {
+    }
+    
+    /**
+     * Returns the number of bytes {@link #write(StreamingStatistics, ByteBuffer)} writes.
+     * 
+     * @param statistics accumulator to encode
+     * @return the encoded size in bytes
+     * @throws IllegalArgumentException if statistics is null
+     */
+    public static int encodedSize(StreamingStatistics statistics) {
+        checkNotNull(statistics);
+        return HEADER_SIZE + statistics.stateSize();
+    }
+    
+    /**
+     * Returns the number of bytes {@link #write(QuantileSketch, ByteBuffer)} writes.
+     * 
+     * @param sketch sketch to encode
+     * @return the encoded size in bytes
+     * @throws IllegalArgumentException if sketch is null
+     */
+    public static int encodedSize(QuantileSketch sketch) {
+        checkNotNull(sketch);
+        return HEADER_SIZE + sketch.stateSize();
+    }
+    
+    /**
+     * Returns the number of bytes {@link #write(DoubleHistogram, ByteBuffer)} writes.
+     * 
+     * @param histogram histogram to encode
+     * @return the encoded size in bytes
+     * @throws IllegalArgumentException if histogram is null
+     */
+    public static int encodedSize(DoubleHistogram histogram) {
+        checkNotNull(histogram);
+        return HEADER_SIZE + histogram.stateSize();
+    }
+    
+    /**
+     * Writes an accumulator's count, mean, sum of squared differences,
+     * minimum and maximum.
+     * 
+     * @param statistics accumulator to encode
+     * @param out buffer with at least {@link #encodedSize(StreamingStatistics)} bytes remaining
+     * @throws IllegalArgumentException if either argument is null
+     * @throws java.nio.BufferOverflowException if out has too little space
+     */
+    public static void write(StreamingStatistics statistics, ByteBuffer out) {
+        checkNotNull(statistics);
+        ByteOrder order = begin(out, STATISTICS);
+        try {
+            statistics.writeState(out);
+        } finally {
+            out.order(order);
+        }
+    }
+    
+    /**
+     * Writes a quantile sketch's retained items, count, minimum and maximum.
+     * 
+     * @param sketch sketch to encode
+     * @param out buffer with at least {@link #encodedSize(QuantileSketch)} bytes remaining
+     * @throws IllegalArgumentException if either argument is null
+     * @throws java.nio.BufferOverflowException if out has too little space
+     */
+    public static void write(QuantileSketch sketch, ByteBuffer out) {
+        checkNotNull(sketch);
+        ByteOrder order = begin(out, QUANTILE_SKETCH);
+        try {
+            sketch.writeState(out);
+        } finally {
+            out.order(order);
+        }
+    }
+    
+    /**
+     * Writes a histogram's configuration, exact moments and non-empty buckets.
+     * 
+     * @param histogram histogram to encode
+     * @param out buffer with at least {@link #encodedSize(DoubleHistogram)} bytes remaining
+     * @throws IllegalArgumentException if either argument is null
+     * @throws java.nio.BufferOverflowException if out has too little space
+     */
+    public static void write(DoubleHistogram histogram, ByteBuffer out) {
+        checkNotNull(histogram);
+        ByteOrder order = begin(out, HISTOGRAM);
+        try {
+            histogram.writeState(out);
+        } finally {
+            out.order(order);
+        }
+    }
+    
+    /**
+     * Encodes an accumulator into a new array.
+     * 
+     * @param statistics accumulator to encode
+     * @return the encoding
+     * @throws IllegalArgumentException if statistics is null
+     */
+    public static byte[] toBytes(StreamingStatistics statistics) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(statistics));
+        write(statistics, out);
+        return out.array();
+    }
+    
+    /**
+     * Encodes a quantile sketch into a new array.
+     * 
+     * @param sketch sketch to encode
+     * @return the encoding
+     * @throws IllegalArgumentException if sketch is null
+     */
+    public static byte[] toBytes(QuantileSketch sketch) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(sketch));
+        write(sketch, out);
+        return out.array();
+    }
+    
+    /**
+     * Encodes a histogram into a new array.
+     * 
+     * @param histogram histogram to encode
+     * @return the encoding
+     * @throws IllegalArgumentException if histogram is null
+     */
+    public static byte[] toBytes(DoubleHistogram histogram) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(histogram));
+        write(histogram, out);
+        return out.array();
+    }
+    
+    /**
+     * Reads an accumulator written by {@link #write(StreamingStatistics, ByteBuffer)}.
+     * 
+     * @param in buffer positioned at the encoding
+     * @return a new accumulator with the encoded state
+     * @throws IllegalArgumentException if in is null, or does not hold a
+     *         valid encoding of a supported version
+     */
+    public static StreamingStatistics readStatistics(ByteBuffer in) {
+        int start = begin(in, STATISTICS, "statistics");
+        ByteOrder order = in.order();
+        in.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return StreamingStatistics.readState(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw fail(in, start, e);
+        } finally {
+            in.order(order);
+        }
+    }
+    
+    /**
+     * Reads a quantile sketch written by {@link #write(QuantileSketch, ByteBuffer)}.
+     * The decoded sketch draws future compaction offsets from a fresh random
+     * generator, so it is not reproducible even if the original was seeded.
+     * 
+     * @param in buffer positioned at the encoding
+     * @return a new sketch with the encoded state
+     * @throws IllegalArgumentException if in is null, or does not hold a
+     *         valid encoding of a supported version
+     */
+    public static QuantileSketch readQuantileSketch(ByteBuffer in) {
+        int start = begin(in, QUANTILE_SKETCH, "quantile sketch");
+        ByteOrder order = in.order();
+        in.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return QuantileSketch.readState(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw fail(in, start, e);
+        } finally {
+            in.order(order);
+        }
+    }
+    
+    /**
+     * Reads a histogram written by {@link #write(DoubleHistogram, ByteBuffer)}.
+     * 
+     * @param in buffer positioned at the encoding
+     * @return a new histogram with the encoded state
+     * @throws IllegalArgumentException if in is null, or does not hold a
+     *         valid encoding of a supported version
+     */
+    public static DoubleHistogram readHistogram(ByteBuffer in) {
+        int start = begin(in, HISTOGRAM, "histogram");
+        ByteOrder order = in.order();
+        in.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return DoubleHistogram.readState(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw fail(in, start, e);
+        } finally {
+            in.order(order);
+        }
+    }
+    
+    /**
+     * Writes the header and switches the buffer to big-endian order.
+     * 
+     * @return the buffer's original byte order, to be restored by the caller
+     */
+    private static ByteOrder begin(ByteBuffer out, byte type) {
+        if (out == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        ByteOrder order = out.order();
+        out.order(ByteOrder.BIG_ENDIAN);
+        try {
+            out.putInt(MAGIC).put((byte) VERSION).put(type);
+        } catch (RuntimeException e) {
+            out.order(order);
+            throw e;
+        }
+        return order;
+    }
+    
+    /**
+     * Reads and checks the header.
+     * 
+     * @return the position of the header, where the buffer is reset on failure
+     */
+    private static int begin(ByteBuffer in, byte type, String name) {
+        if (in == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        int start = in.position();
+        ByteOrder order = in.order();
+        boolean magic = in.remaining() >= HEADER_SIZE
+                && in.order(ByteOrder.BIG_ENDIAN).getInt(start) == MAGIC;
+        in.order(order);
+        if (!magic) {
+            throw new IllegalArgumentException("Buffer does not hold a mathstats summary");
+        }
+        int version = in.get(start + Integer.BYTES) & 0xFF;
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported summary format version " + version);
+        }
+        if (in.get(start + Integer.BYTES + 1) != type) {
+            throw new IllegalArgumentException("Buffer does not hold an encoded " + name);
+        }
+        in.position(start + HEADER_SIZE);
+        return start;
+    }
+    
+    private static IllegalArgumentException fail(ByteBuffer in, int start, RuntimeException cause) {
+        in.position(start);
+        if (cause instanceof BufferUnderflowException) {
+            return new IllegalArgumentException("Summary is truncated", cause);
+        }
+        return (IllegalArgumentException) cause;
+    }
+    
+    private static void checkNotNull(Object summary) {
+        if (summary == null) {
+            throw new IllegalArgumentException("Summary cannot be null");
+        }
+    }
+    
+    /**
+     * Returns the length of the unsigned LEB128 encoding of {@code value}.
+     * 
+     * @param value the value to encode
+     * @return between 1 and 10 bytes
+     */
+    static int varLongSize(long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+    
+    /**
+     * Writes {@code value} as an unsigned LEB128 varint: seven bits per byte,
+     * least significant first, with the high bit set on all but the last byte.
+     * 
+     * @param out buffer to write to
+     * @param value the value to encode
+     */
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+    
+    /**
+     * Reads an unsigned LEB128 varint written by {@link #putVarLong}.
+     * 
+     * @param in buffer to read from
+     * @return the decoded value
+     * @throws IllegalArgumentException if the varint is longer than 10 bytes
+     */
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Summary state is corrupt");
+    }
+}
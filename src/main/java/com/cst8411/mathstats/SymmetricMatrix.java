@@ -0,0 +1,91 @@
+package com.cst8411.mathstats;
+
+/**
+ * Immutable symmetric matrix stored as its packed lower triangle, as
+ * returned by the covariance and correlation operations. A matrix of size
+ * {@code k} holds {@code k * (k + 1) / 2} values instead of {@code k * k};
+ * element {@code (i, j)} with {@code i >= j} is at packed index
+ * {@code i * (i + 1) / 2 + j}, and {@code (j, i)} refers to the same value.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class SymmetricMatrix {
+    
+    private final int size;
+    private final double[] packed;
+    
+    /**
+     * Creates a matrix over a packed lower triangle; the array is not copied.
+     * 
+     * @param size number of rows and columns
+     * @param packed lower triangle in row-major order
+     */
+    SymmetricMatrix(int size, double[] packed) {
+        this.size = size;
+        this.packed = packed;
+    }
+    
+    /**
+     * Returns the number of rows, which equals the number of columns.
+     * 
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns the element at {@code (row, column)}.
+     * 
+     * @param row row index
+     * @param column column index
+     * @return the element, equal to {@code get(column, row)}
+     * @throws IndexOutOfBoundsException if either index is not in {@code [0, size())}
+     */
+    public double get(int row, int column) {
+        if (row < 0 || row >= size || column < 0 || column >= size) {
+            throw new IndexOutOfBoundsException("Element (" + row + ", " + column
+                    + ") out of bounds for size " + size);
+        }
+        return packed[index(row, column)];
+    }
+    
+    /**
+     * Returns a copy of the packed lower triangle in row-major order.
+     * 
+     * @return the packed elements
+     */
+    public double[] toPackedArray() {
+        return packed.clone();
+    }
+    
+    /**
+     * Returns the full matrix as a new square array.
+     * 
+     * @return the elements, indexed {@code [row][column]}
+     */
+    public double[][] toArray() {
+        double[][] full = new double[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column <= row; column++) {
+                full[row][column] = packed[index(row, column)];
+                full[column][row] = full[row][column];
+            }
+        }
+        return full;
+    }
+    
+    /**
+     * Returns the packed index of element {@code (row, column)}.
+     * 
+     * @param row row index
+     * @param column column index
+     * @return the index into the packed lower triangle
+     */
+    static int index(int row, int column) {
+        return row >= column
+                ? (int) ((long) row * (row + 1) / 2) + column
+                : (int) ((long) column * (column + 1) / 2) + row;
+    }
+}
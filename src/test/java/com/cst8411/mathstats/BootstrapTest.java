@@ -0,0 +1,140 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bootstrap and BootstrapResult.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class BootstrapTest {
+    
+    private static double[] normalData(int size, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 100 + random.nextGaussian() * 15;
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test results are reproducible for a seed, serially or in parallel")
+    public void testDeterminism() {
+        double[] data = normalData(500, 1);
+        BootstrapResult serial = new Bootstrap().withResamples(1_000).withSeed(7)
+                .run(data, Statistics::medianInPlace);
+        BootstrapResult parallel = new Bootstrap().withResamples(1_000).withSeed(7)
+                .withParallelism(Statistics.parallel()).run(data, Statistics::medianInPlace);
+        BootstrapResult otherSeed = new Bootstrap().withResamples(1_000).withSeed(8)
+                .run(data, Statistics::medianInPlace);
+        
+        assertArrayEquals(serial.replicates(), parallel.replicates(), 0.0);
+        assertEquals(serial.bcaInterval(0.95), parallel.bcaInterval(0.95));
+        assertFalse(Arrays.equals(serial.replicates(), otherSeed.replicates()));
+        assertEquals(Statistics.median(data), serial.estimate(), 0.0);
+        assertEquals(1_000, serial.resamples());
+        
+        // The input is left untouched by in-place metrics
+        assertArrayEquals(normalData(500, 1), data, 0.0);
+    }
+    
+    @Test
+    @DisplayName("Test standard error and intervals of the mean")
+    public void testMeanIntervals() {
+        double[] data = normalData(2_000, 2);
+        BootstrapResult result = new Bootstrap().withSeed(11).withParallelism(Statistics.parallel())
+                .run(data, Statistics::mean);
+        double expectedError = Statistics.sampleStandardDeviation(data) / Math.sqrt(data.length);
+        assertEquals(expectedError, result.standardError(), 0.1 * expectedError);
+        assertEquals(0.0, result.bias(), 0.1 * expectedError);
+        
+        BootstrapResult.Interval percentile = result.percentileInterval(0.95);
+        BootstrapResult.Interval bca = result.bcaInterval(0.95);
+        // For the mean of symmetric data both intervals approach mean +- 1.96 SE
+        assertEquals(result.estimate() - 1.96 * expectedError, percentile.lower(), 0.2 * expectedError);
+        assertEquals(result.estimate() + 1.96 * expectedError, percentile.upper(), 0.2 * expectedError);
+        assertEquals(percentile.lower(), bca.lower(), 0.2 * expectedError);
+        assertEquals(percentile.upper(), bca.upper(), 0.2 * expectedError);
+        assertEquals(0.95, bca.confidence(), 0.0);
+        assertTrue(result.percentileInterval(0.5).upper() < percentile.upper());
+    }
+    
+    @Test
+    @DisplayName("Test BCa interval of a skewed statistic")
+    public void testSkewedStatistic() {
+        // The standard deviation of exponential data has a right-skewed sampling distribution
+        Random random = new Random(3);
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = -Math.log(1 - random.nextDouble());
+        }
+        BootstrapResult result = new Bootstrap().withResamples(4_000).withSeed(5)
+                .run(data, Statistics::standardDeviation);
+        BootstrapResult.Interval bca = result.bcaInterval(0.9);
+        BootstrapResult.Interval percentile = result.percentileInterval(0.9);
+        assertTrue(bca.lower() < result.estimate() && result.estimate() < bca.upper());
+        assertTrue(percentile.lower() < result.estimate() && result.estimate() < percentile.upper());
+        // Skewness shifts the BCa interval to the right of the percentile interval
+        assertTrue(bca.upper() > percentile.upper());
+    }
+    
+    @Test
+    @DisplayName("Test samples too small for the jackknife")
+    public void testSmallSamples() {
+        BootstrapResult single = new Bootstrap().withResamples(50).withSeed(1)
+                .run(new double[] {5}, Statistics::median);
+        assertEquals(5.0, single.estimate(), 0.0);
+        assertEquals(5.0, single.bcaInterval(0.95).lower(), 0.0);
+        assertEquals(5.0, single.bcaInterval(0.95).upper(), 0.0);
+        
+        for (Bootstrap bootstrap : new Bootstrap[] {new Bootstrap(),
+                new Bootstrap().withParallelism(Statistics.parallel())}) {
+            BootstrapResult pair = bootstrap.withResamples(200).withSeed(2)
+                    .run(new double[] {5, 6}, Statistics::sampleStandardDeviation);
+            BootstrapResult.Interval bca = pair.bcaInterval(0.9);
+            assertTrue(bca.lower() >= 0 && bca.lower() <= bca.upper());
+        }
+    }
+    
+    @Test
+    @DisplayName("Test BCa levels saturate for a large acceleration")
+    public void testLargeAcceleration() {
+        double[] replicates = new double[1_000];
+        for (int i = 0; i < replicates.length; i++) {
+            replicates[i] = i;
+        }
+        BootstrapResult result = new BootstrapResult(500, replicates, -5.0);
+        BootstrapResult.Interval bca = result.bcaInterval(0.95);
+        assertEquals(0.0, bca.lower(), 0.0);
+        assertTrue(bca.lower() <= bca.upper() && bca.upper() <= 999);
+        
+        BootstrapResult positive = new BootstrapResult(500, replicates, 5.0);
+        assertEquals(999.0, positive.bcaInterval(0.95).upper(), 0.0);
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        Bootstrap bootstrap = new Bootstrap().withResamples(10);
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.run(null, Statistics::mean));
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.run(new double[0], Statistics::mean));
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.run(new double[] {1}, null));
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.withResamples(0));
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.withParallelism(null));
+        
+        BootstrapResult result = bootstrap.run(new double[] {1, 2, 3}, Statistics::mean);
+        assertThrows(IllegalArgumentException.class, () -> result.percentileInterval(1));
+        assertThrows(IllegalArgumentException.class, () -> result.bcaInterval(0));
+        
+        // A constant sample yields a degenerate but finite interval
+        BootstrapResult constant = bootstrap.run(new double[] {4, 4, 4}, Statistics::mean);
+        assertEquals(4.0, constant.bcaInterval(0.95).lower(), 0.0);
+        assertEquals(4.0, constant.bcaInterval(0.95).upper(), 0.0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.cst8411.mathstats;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CsvDoubleReader class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class CsvDoubleReaderTest {
+    
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static double parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return CsvDoubleReader.parse(bytes, 0, bytes.length);
+    }
+    
+    @Test
+    @DisplayName("Test reading one column of a CSV file")
+    public void testReadColumn() throws IOException {
+        String csv = "id,name,value\r\n"
+                + "1,alpha,2.5\r\n"
+                + "2,\"beta, gamma\",4\r\n"
+                + "\r\n"
+                + "3,delta,\r\n"
+                + "4,epsilon, -1.5e1 \r\n"
+                + "5,zeta";
+        CsvDoubleReader reader = new CsvDoubleReader(2).withHeader(true);
+        double[] values = reader.readAll(channel(csv));
+        
+        assertArrayEquals(new double[] {2.5, 4, -15}, values);
+        assertEquals(5, reader.rowsRead());
+        assertEquals(3, reader.valuesRead());
+        assertTrue(reader.rowsPerSecond() > 0);
+    }
+    
+    @Test
+    @DisplayName("Test streaming newline-delimited text into an accumulator")
+    public void testStreamIntoStatistics() throws IOException {
+        StringBuilder text = new StringBuilder();
+        double[] expected = new double[50_000];
+        Random random = new Random(17);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextInt(2_000_000) / 1000.0 - 1000;
+            text.append(expected[i]).append('\n');
+        }
+        
+        StreamingStatistics statistics = new StreamingStatistics();
+        long count = new CsvDoubleReader(0).read(channel(text.toString()), statistics);
+        
+        assertEquals(expected.length, count);
+        assertEquals(Statistics.mean(expected), statistics.mean(), 1e-9);
+        assertEquals(Statistics.variance(expected), statistics.variance(), 1e-6);
+    }
+    
+    @Test
+    @DisplayName("Test number parsing matches Double.parseDouble")
+    public void testParse() {
+        String[] inputs = {
+            "0", "-0", "+7", "3.14159", ".5", "5.", "1e10", "1E-5", "-2.5e+3",
+            "123456789012345678901234567890", "0.1", "9007199254740993", "1e-320",
+            "1.7976931348623157e308", "NaN", "-Infinity", "000123.4500"
+        };
+        for (String input : inputs) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(input)),
+                    Double.doubleToLongBits(parse(input)), input);
+        }
+        
+        Random random = new Random(19);
+        for (int i = 0; i < 10_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(value)) {
+                assertEquals(value, parse(Double.toString(value)));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test invalid input")
+    public void testInvalidInput() {
+        assertThrows(NumberFormatException.class, () -> parse("abc"));
+        assertThrows(NumberFormatException.class, () -> parse("1e"));
+        assertThrows(NumberFormatException.class, () -> parse("."));
+        assertThrows(NumberFormatException.class,
+                () -> new CsvDoubleReader(0).read(channel("1\nx\n"), value -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new CsvDoubleReader(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CsvDoubleReader(0).withDelimiter('"'));
+    }
+}
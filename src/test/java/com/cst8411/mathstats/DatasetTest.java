@@ -0,0 +1,129 @@
+package com.cst8411.mathstats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Dataset.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DatasetTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    private static double[] randomData(int size) {
+        Random random = new Random(42);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = Math.floor(50 + random.nextGaussian() * 10);
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test cached metrics match Statistics")
+    public void testMatchesStatistics() {
+        double[] data = randomData(10_001);
+        Dataset dataset = Dataset.of(data);
+        
+        assertEquals(data.length, dataset.size());
+        assertEquals(Statistics.mean(data), dataset.mean(), DELTA);
+        assertEquals(Statistics.median(data), dataset.median(), DELTA);
+        assertEquals(Statistics.mode(data), dataset.mode(), DELTA);
+        assertEquals(Statistics.range(data), dataset.range(), DELTA);
+        assertEquals(Statistics.variance(data), dataset.variance(), DELTA);
+        assertEquals(Statistics.standardDeviation(data), dataset.standardDeviation(), DELTA);
+        assertEquals(Statistics.sampleVariance(data), dataset.sampleVariance(), DELTA);
+        assertEquals(Statistics.sampleStandardDeviation(data), dataset.sampleStandardDeviation(), DELTA);
+        assertEquals(Statistics.describe(data).median(), dataset.describe().median(), DELTA);
+        assertEquals(Statistics.describe(data).mode(), dataset.describe().mode(), DELTA);
+        
+        // Repeated queries return the cached result
+        assertSame(dataset.describe(), dataset.describe());
+        assertSame(dataset.sorted(), dataset.sorted());
+    }
+    
+    @Test
+    @DisplayName("Test frequencies and mode ties")
+    public void testFrequencies() {
+        Dataset dataset = Dataset.of(new double[] {3, 1, 3, 1, 2});
+        assertEquals(1.0, dataset.mode(), DELTA);
+        assertEquals(2, dataset.frequency(3));
+        assertEquals(1, dataset.frequency(2));
+        assertEquals(0, dataset.frequency(4));
+        assertEquals(2.0, dataset.median(), DELTA);
+        
+        // The summary takes its mode from the sorted copy and must agree on ties
+        Dataset fresh = Dataset.of(new double[] {3, 1, 3, 1, 2, 0.0, -0.0, 0.0, -0.0});
+        assertEquals(-0.0, fresh.describe().mode());
+        assertEquals(Statistics.mode(fresh.toArray()), fresh.mode());
+    }
+    
+    @Test
+    @DisplayName("Test copy and ownership semantics")
+    public void testCopyAndWrap() {
+        double[] data = {1, 2, 3};
+        Dataset copied = Dataset.of(data);
+        Dataset wrapped = Dataset.wrap(data);
+        data[0] = 100;
+        assertEquals(1.0, copied.get(0), DELTA);
+        assertEquals(100.0, wrapped.get(0), DELTA);
+        
+        double[] values = copied.toArray();
+        values[1] = -1;
+        assertEquals(2.0, copied.get(1), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test concurrent readers see one consistent result")
+    public void testConcurrentReaders() throws Exception {
+        double[] data = randomData(200_000);
+        Dataset dataset = Dataset.of(data);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<DescriptiveSummary>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(dataset::describe);
+            }
+            DescriptiveSummary first = null;
+            for (Future<DescriptiveSummary> future : executor.invokeAll(tasks)) {
+                DescriptiveSummary summary = future.get();
+                if (first == null) {
+                    first = summary;
+                }
+                assertSame(first, summary);
+            }
+            assertEquals(Statistics.median(data), first.median(), DELTA);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Test invalid input")
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> Dataset.of(null));
+        assertThrows(IllegalArgumentException.class, () -> Dataset.wrap(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> Dataset.of(new double[] {1}).sampleVariance());
+    }
+    
+    @Test
+    @DisplayName("Test percentiles reuse the sorted copy")
+    public void testPercentiles() {
+        double[] data = randomData(1_000);
+        Dataset dataset = Dataset.of(data);
+        assertArrayEquals(Statistics.percentiles(data, 50, 90, 99.9), dataset.percentiles(50, 90, 99.9), DELTA);
+        assertEquals(dataset.median(), dataset.percentile(50), DELTA);
+        assertEquals(dataset.size(), dataset.rankIndex().rank(dataset.max()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.cst8411.mathstats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DoubleArrayBuilder class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DoubleArrayBuilderTest {
+    
+    @Test
+    @DisplayName("Test appending past the initial capacity")
+    public void testGrowth() {
+        DoubleArrayBuilder builder = new DoubleArrayBuilder(0);
+        for (int i = 0; i < 100; i++) {
+            builder.accept(i);
+        }
+        
+        assertEquals(100, builder.size());
+        assertEquals(42.0, builder.get(42));
+        double[] values = builder.toArray();
+        assertEquals(100, values.length);
+        assertEquals(99.0, values[99]);
+    }
+    
+    @Test
+    @DisplayName("Test clearing and invalid use")
+    public void testClearAndInvalidUse() {
+        DoubleArrayBuilder builder = new DoubleArrayBuilder();
+        builder.accept(1);
+        builder.clear();
+        
+        assertEquals(0, builder.size());
+        assertEquals(0, builder.toArray().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> builder.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleArrayBuilder(-1));
+    }
+}
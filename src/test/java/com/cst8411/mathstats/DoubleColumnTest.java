@@ -0,0 +1,159 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DoubleColumn and its implementations.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DoubleColumnTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    private static double[] randomData(int size) {
+        Random random = new Random(42);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = Math.floor(50 + random.nextGaussian() * 10);
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test reads across segment boundaries")
+    public void testSegmentedColumn() {
+        double[] data = randomData(1_000);
+        try (BufferDoubleColumn column = BufferDoubleColumn.allocateDirect(data.length, 64)) {
+            assertTrue(column.isWritable());
+            for (int i = 0; i < data.length; i++) {
+                column.set(i, data[i]);
+            }
+            
+            assertEquals(data.length, column.size());
+            assertEquals(data[999], column.get(999));
+            double[] copy = new double[200];
+            column.copyTo(50, copy, 10, 150);
+            for (int i = 0; i < 150; i++) {
+                assertEquals(data[50 + i], copy[10 + i]);
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> column.get(1_000));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.copyTo(900, copy, 0, 101));
+        }
+    }
+    
+    @Test
+    @DisplayName("Test column statistics on off-heap columns match arrays")
+    public void testStatisticsOnColumn() {
+        double[] data = randomData(20_000);
+        try (BufferDoubleColumn column = BufferDoubleColumn.allocateDirect(data.length, 4_096)) {
+            for (int i = 0; i < data.length; i++) {
+                column.set(i, data[i]);
+            }
+            
+            assertEquals(Statistics.mean(data), ColumnStatistics.mean(column), 1e-9);
+            assertEquals(Statistics.median(data), ColumnStatistics.median(column));
+            assertEquals(Statistics.mode(data), ColumnStatistics.mode(column));
+            assertEquals(Statistics.range(data), ColumnStatistics.range(column));
+            assertEquals(Statistics.variance(data), ColumnStatistics.variance(column), 1e-9);
+            assertEquals(Statistics.sampleStandardDeviation(data),
+                    ColumnStatistics.sampleStandardDeviation(column), 1e-9);
+            assertEquals(Statistics.describe(data), ColumnStatistics.describe(column));
+        }
+    }
+    
+    @Test
+    @DisplayName("Test off-heap median and mean without copying to the heap")
+    public void testExternalMedianAndCompensatedMean() {
+        double[] data = randomData(5_000);
+        data[17] = 1e300;
+        data[18] = -1e300;
+        try (BufferDoubleColumn column = BufferDoubleColumn.allocateDirect(data.length, 333)) {
+            for (int i = 0; i < data.length; i++) {
+                column.set(i, data[i]);
+            }
+            
+            assertEquals(Statistics.median(data), ColumnStatistics.median(column));
+            assertEquals(Statistics.mean(data), ColumnStatistics.mean(column), 1e-9);
+        }
+    }
+    
+    @Test
+    @DisplayName("Test heap and wrapped columns")
+    public void testHeapAndWrappedColumns() {
+        double[] data = {2, 4, 4, 4, 5, 5, 7, 9};
+        DoubleColumn heap = DoubleColumn.of(data);
+        assertEquals(5.0, ColumnStatistics.mean(heap), DELTA);
+        assertEquals(4.0, ColumnStatistics.mode(heap), DELTA);
+        assertEquals(2.0, ColumnStatistics.standardDeviation(heap), DELTA);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(8 + data.length * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putDouble(-1);
+        for (double value : data) {
+            buffer.putDouble(value);
+        }
+        buffer.flip().position(8);
+        
+        BufferDoubleColumn wrapped = DoubleColumn.wrap(buffer);
+        assertEquals(data.length, wrapped.size());
+        assertEquals(4.5, ColumnStatistics.median(wrapped), DELTA);
+        assertEquals(7.0, ColumnStatistics.range(wrapped), DELTA);
+        assertFalse(DoubleColumn.wrap(buffer.asReadOnlyBuffer()).isWritable());
+    }
+    
+    @Test
+    @DisplayName("Test closed columns and invalid arguments")
+    public void testInvalidUse() {
+        BufferDoubleColumn column = DoubleColumn.allocateDirect(4);
+        column.close();
+        column.close();
+        assertThrows(IllegalStateException.class, () -> column.get(0));
+        assertThrows(IllegalStateException.class, () -> column.set(0, 1));
+        
+        assertThrows(IllegalArgumentException.class, () -> ColumnStatistics.mean(null));
+        assertThrows(IllegalArgumentException.class, () -> ColumnStatistics.median(DoubleColumn.allocateDirect(0)));
+        assertThrows(IllegalArgumentException.class, () -> ColumnStatistics.sampleVariance(DoubleColumn.of(new double[] {1})));
+        assertThrows(IllegalArgumentException.class, () -> DoubleColumn.allocateDirect(-1));
+        assertThrows(IllegalArgumentException.class, () -> DoubleColumn.wrap(ByteBuffer.allocate(12)));
+        assertThrows(IllegalArgumentException.class, () -> DoubleColumn.of(null));
+    }
+    
+    @Test
+    @DisplayName("Test array range and DoubleBuffer views")
+    public void testRangeAndDoubleBufferViews() {
+        double[] data = randomData(10_000);
+        DoubleColumn range = DoubleColumn.of(data, 100, 9_000);
+        assertEquals(8_900, range.size());
+        assertEquals(data[100], range.get(0), DELTA);
+        assertEquals(Statistics.mean(data, 100, 9_000), ColumnStatistics.mean(range), DELTA);
+        assertEquals(Statistics.mode(data, 100, 9_000), ColumnStatistics.mode(range), DELTA);
+        assertEquals(Statistics.describe(data, 100, 9_000), ColumnStatistics.describe(range));
+        
+        // Heap buffers are read through their array, direct ones through the buffer
+        DoubleBuffer heap = DoubleBuffer.wrap(data, 100, 8_900);
+        DoubleBuffer direct = ByteBuffer.allocateDirect(data.length * Double.BYTES).asDoubleBuffer().put(data);
+        direct.position(100).limit(9_000);
+        assertTrue(DoubleColumn.wrap(heap) instanceof HeapDoubleColumn);
+        assertTrue(DoubleColumn.wrap(direct) instanceof BufferDoubleColumn);
+        for (DoubleColumn column : new DoubleColumn[] {DoubleColumn.wrap(heap), DoubleColumn.wrap(direct),
+                DoubleColumn.wrap(heap.asReadOnlyBuffer())}) {
+            assertEquals(8_900, column.size());
+            assertEquals(Statistics.variance(data, 100, 9_000), ColumnStatistics.variance(column), DELTA);
+            assertEquals(Statistics.median(data, 100, 9_000), ColumnStatistics.median(column), DELTA);
+            assertEquals(Statistics.range(data, 100, 9_000), ColumnStatistics.range(column), DELTA);
+        }
+        assertFalse(((BufferDoubleColumn) DoubleColumn.wrap(direct.asReadOnlyBuffer())).isWritable());
+        
+        assertThrows(IllegalArgumentException.class, () -> DoubleColumn.of(data, 5, 4));
+        assertThrows(IllegalArgumentException.class, () -> DoubleColumn.wrap((DoubleBuffer) null));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(8_900));
+    }
+}
\ No newline at end of file
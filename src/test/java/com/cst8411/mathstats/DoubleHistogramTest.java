@@ -0,0 +1,97 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DoubleHistogram class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class DoubleHistogramTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test percentiles are within the configured precision")
+    public void testPercentiles() {
+        Random random = new Random(42);
+        double[] data = new double[100_000];
+        DoubleHistogram histogram = new DoubleHistogram(0.001, 3_600_000, 3);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Math.exp(3 + random.nextGaussian());
+            histogram.record(data[i]);
+        }
+        Arrays.sort(data);
+        
+        for (double p : new double[] {1, 25, 50, 90, 99, 99.9}) {
+            double exact = data[(int) Math.ceil(p / 100 * data.length) - 1];
+            assertEquals(exact, histogram.percentile(p), exact * 1e-3, "percentile " + p);
+        }
+        assertEquals(data[0], histogram.percentile(0));
+        assertEquals(data[data.length - 1], histogram.percentile(100));
+        assertEquals(Statistics.mean(data), histogram.mean(), 1e-9);
+        assertEquals(histogram.percentile(50), histogram.median());
+    }
+    
+    @Test
+    @DisplayName("Test mode bucket and bucket bounds")
+    public void testModeAndBounds() {
+        DoubleHistogram histogram = new DoubleHistogram(1, 1_000, 2);
+        histogram.record(0.25, 2);
+        histogram.record(512.3, 5);
+        histogram.record(100);
+        
+        double mode = histogram.mode();
+        assertTrue(histogram.lowestEquivalentValue(512.3) <= mode);
+        assertTrue(mode < histogram.highestEquivalentValue(512.3));
+        assertEquals(512.3, mode, 512.3 * 0.01);
+        assertEquals(0.0, histogram.lowestEquivalentValue(0.25), DELTA);
+        assertEquals(8, histogram.count());
+    }
+    
+    @Test
+    @DisplayName("Test merging, copying and memory footprint")
+    public void testMergeAndCopy() {
+        DoubleHistogram left = new DoubleHistogram(1, 1_000, 3);
+        DoubleHistogram right = new DoubleHistogram(1, 1_000, 3);
+        int buckets = left.bucketCount();
+        for (int i = 1; i <= 500; i++) {
+            left.record(i);
+            right.record(i + 500);
+        }
+        
+        DoubleHistogram merged = left.copy().add(right);
+        assertEquals(500, left.count());
+        assertEquals(1_000, merged.count());
+        assertEquals(500.5, merged.mean(), DELTA);
+        assertEquals(500.0, merged.median(), 0.5);
+        assertEquals(1.0, merged.min(), DELTA);
+        assertEquals(1_000.0, merged.max(), DELTA);
+        assertEquals(buckets, merged.bucketCount());
+        
+        merged.reset();
+        assertEquals(0, merged.count());
+        assertThrows(IllegalStateException.class, merged::median);
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleHistogram(0, 100, 3));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleHistogram(1, 1.5, 3));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleHistogram(1, 100, 6));
+        
+        DoubleHistogram histogram = new DoubleHistogram(1, 100, 2);
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(5, -1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.add(new DoubleHistogram(1, 100, 3)));
+    }
+}
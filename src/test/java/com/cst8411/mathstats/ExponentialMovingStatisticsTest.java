@@ -0,0 +1,102 @@
+package com.cst8411.mathstats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ExponentialMovingStatistics class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class ExponentialMovingStatisticsTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    @Test
+    @DisplayName("Test bias-corrected mean starts at the first sample")
+    public void testBiasCorrection() {
+        ExponentialMovingStatistics ewma = ExponentialMovingStatistics.withAlpha(0.1);
+        ewma.update(10);
+        assertEquals(10.0, ewma.mean(), DELTA);
+        assertTrue(Double.isNaN(ewma.variance()));
+        
+        // Weights 0.9 and 1 give (0.9 * 10 + 20) / 1.9
+        ewma.update(20);
+        assertEquals(29.0 / 1.9, ewma.mean(), DELTA);
+        // Two equally weighted samples give the unbiased sample variance
+        ExponentialMovingStatistics same = ExponentialMovingStatistics.withHalfLife(1);
+        same.update(0, 10);
+        same.update(0, 20);
+        assertEquals(50.0, same.variance(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test weighted variance against a direct computation")
+    public void testVariance() {
+        double alpha = 0.3;
+        double[] samples = {4, 9, 1, 7, 3};
+        ExponentialMovingStatistics ewma = ExponentialMovingStatistics.withAlpha(alpha);
+        for (double sample : samples) {
+            ewma.update(sample);
+        }
+        
+        double weightSum = 0;
+        double weightSquares = 0;
+        double weightedSum = 0;
+        for (int i = 0; i < samples.length; i++) {
+            double weight = Math.pow(1 - alpha, samples.length - 1 - i);
+            weightSum += weight;
+            weightSquares += weight * weight;
+            weightedSum += weight * samples[i];
+        }
+        double mean = weightedSum / weightSum;
+        double weightedSquares = 0;
+        for (int i = 0; i < samples.length; i++) {
+            double weight = Math.pow(1 - alpha, samples.length - 1 - i);
+            weightedSquares += weight * (samples[i] - mean) * (samples[i] - mean);
+        }
+        
+        assertEquals(mean, ewma.mean(), DELTA);
+        assertEquals(weightedSquares / (weightSum - weightSquares / weightSum), ewma.variance(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test half-life decay with irregular timestamps")
+    public void testHalfLife() {
+        ExponentialMovingStatistics ewma = ExponentialMovingStatistics.withHalfLife(10);
+        ewma.update(100, 0);
+        ewma.update(110, 3);
+        // The first sample has decayed to half weight: (0.5 * 0 + 3) / 1.5
+        assertEquals(2.0, ewma.mean(), DELTA);
+        assertEquals(110.0, ewma.lastTimestamp(), DELTA);
+        
+        // A repeated timestamp applies no decay
+        ewma.update(110, 3);
+        assertEquals(6.0 / 2.5, ewma.mean(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test invalid use")
+    public void testInvalidUse() {
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingStatistics.withAlpha(0));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingStatistics.withAlpha(1));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingStatistics.withHalfLife(-1));
+        
+        ExponentialMovingStatistics ewma = ExponentialMovingStatistics.withHalfLife(1);
+        assertThrows(IllegalStateException.class, ewma::mean);
+        assertThrows(IllegalArgumentException.class, () -> ewma.update(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> ewma.update(Double.POSITIVE_INFINITY, 1));
+        assertEquals(0, ewma.count());
+        ewma.update(5, 1);
+        assertThrows(IllegalArgumentException.class, () -> ewma.update(Double.POSITIVE_INFINITY, 1));
+        assertThrows(IllegalArgumentException.class, () -> ewma.update(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> ewma.update(6, Double.NaN));
+        
+        ewma.reset();
+        assertEquals(0, ewma.count());
+        ewma.update(1, 7);
+        assertEquals(7.0, ewma.mean(), DELTA);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GroupBy and GroupedStatistics classes.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class GroupByTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test small grouping against Statistics")
+    public void testSmallGroups() {
+        int[] keys = {7, -2, 7, 3, -2, 7, 3, 3};
+        double[] values = {1, 10, 3, 5, 20, 8, 5, 9};
+        GroupedStatistics groups = new GroupBy().withMedians(true).aggregate(keys, values);
+        
+        assertArrayEquals(new int[] {-2, 3, 7}, groups.keys());
+        assertArrayEquals(new long[] {2, 3, 3}, groups.counts());
+        assertEquals(15.0, groups.means()[0], DELTA);
+        assertEquals(Statistics.variance(new double[] {5, 5, 9}), groups.variances()[1], DELTA);
+        assertEquals(Statistics.sampleVariance(new double[] {1, 3, 8}), groups.sampleVariances()[2], DELTA);
+        assertArrayEquals(new double[] {15, 5, 3}, groups.medians(), DELTA);
+        assertArrayEquals(new double[] {10, 5, 1}, groups.mins(), DELTA);
+        assertArrayEquals(new double[] {20, 9, 8}, groups.maxs(), DELTA);
+        assertEquals(2, groups.indexOf(7));
+        assertEquals(-1, groups.indexOf(4));
+        
+        GroupedStatistics single = Statistics.groupBy(new int[] {1}, new double[] {4});
+        assertTrue(Double.isNaN(single.sampleVariances()[0]));
+        assertFalse(single.hasMedians());
+        assertThrows(IllegalStateException.class, single::medians);
+    }
+    
+    @Test
+    @DisplayName("Test parallel grouping matches serial grouping")
+    public void testParallelMatchesSerial() {
+        Random random = new Random(3);
+        int[] keys = new int[200_000];
+        double[] values = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1_000) - 500;
+            values[i] = 100 + random.nextGaussian() * 15;
+        }
+        
+        GroupedStatistics serial = new GroupBy().withMedians(true).aggregate(keys, values);
+        GroupedStatistics parallel = new GroupBy().withMedians(true)
+                .withParallelism(Statistics.parallel().withThreshold(5_000))
+                .aggregate(keys, values);
+        
+        assertEquals(1_000, serial.size());
+        assertArrayEquals(serial.keys(), parallel.keys());
+        assertArrayEquals(serial.counts(), parallel.counts());
+        assertArrayEquals(serial.means(), parallel.means(), 1e-9);
+        assertArrayEquals(serial.variances(), parallel.variances(), 1e-7);
+        assertArrayEquals(serial.mins(), parallel.mins(), 0.0);
+        assertArrayEquals(serial.medians(), parallel.medians(), 0.0);
+        
+        int group = serial.indexOf(42);
+        double[] members = new double[(int) serial.counts()[group]];
+        for (int i = 0, j = 0; i < keys.length; i++) {
+            if (keys[i] == 42) {
+                members[j++] = values[i];
+            }
+        }
+        assertEquals(Statistics.median(members), serial.medians()[group]);
+        assertEquals(Statistics.variance(members), serial.variances()[group], 1e-9);
+        assertArrayEquals(serial.means(), Statistics.parallel().groupBy(keys, values).means(), 1e-9);
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Statistics.groupBy(null, new double[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.groupBy(new int[0], new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.groupBy(new int[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> new GroupBy().withParallelism(null));
+        
+        GroupedStatistics groups = Statistics.groupBy(new int[] {1, 1}, new double[] {2, 4});
+        groups.means()[0] = 99;
+        assertEquals(3.0, groups.means()[0], DELTA);
+    }
+}
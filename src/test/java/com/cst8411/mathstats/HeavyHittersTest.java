@@ -0,0 +1,103 @@
+package com.cst8411.mathstats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HeavyHitters class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class HeavyHittersTest {
+    
+    /** Zipf-like stream: value i occurs with weight 1 / (i + 1). */
+    private static double[] skewedData(int size, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 100 + Math.floor(Math.exp(random.nextDouble() * Math.log(100_000))) / 100;
+        }
+        return data;
+    }
+    
+    private static Map<Double, Long> exactCounts(double[] data) {
+        Map<Double, Long> counts = new HashMap<>();
+        for (double value : data) {
+            counts.merge(value, 1L, Long::sum);
+        }
+        return counts;
+    }
+    
+    @Test
+    @DisplayName("Test error bounds on a high-cardinality stream")
+    public void testErrorBounds() {
+        double[] data = skewedData(200_000, 7);
+        Map<Double, Long> exact = exactCounts(data);
+        HeavyHitters hitters = new HeavyHitters(200).accept(data);
+        
+        assertEquals(data.length, hitters.count());
+        assertTrue(hitters.maxError() <= data.length / 200);
+        for (HeavyHitters.Entry entry : hitters.topK(200)) {
+            long truth = exact.get(entry.value());
+            assertTrue(entry.count() >= truth);
+            assertTrue(entry.guaranteedCount() <= truth);
+            assertTrue(entry.error() <= hitters.maxError());
+        }
+        for (Map.Entry<Double, Long> entry : exact.entrySet()) {
+            if (entry.getValue() > data.length / 200) {
+                assertTrue(hitters.estimate(entry.getKey()) >= entry.getValue());
+            }
+        }
+        assertEquals(Statistics.mode(data), hitters.approxMode());
+    }
+    
+    @Test
+    @DisplayName("Test exact counts and tie-break below capacity")
+    public void testBelowCapacity() {
+        HeavyHitters hitters = new HeavyHitters(10).accept(new double[] {5, 3, 5, 3, 9});
+        assertEquals(3.0, hitters.approxMode());
+        assertEquals(Statistics.mode(new double[] {5, 3, 5, 3, 9}), hitters.approxMode());
+        
+        List<HeavyHitters.Entry> top = hitters.topK(2);
+        assertEquals(List.of(new HeavyHitters.Entry(3, 2, 0), new HeavyHitters.Entry(5, 2, 0)), top);
+        assertEquals(0, hitters.maxError());
+        assertEquals(0, hitters.estimate(4));
+    }
+    
+    @Test
+    @DisplayName("Test merging partitions keeps the guarantees")
+    public void testMerge() {
+        double[] first = skewedData(100_000, 1);
+        double[] second = skewedData(100_000, 2);
+        double[] all = new double[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        Map<Double, Long> exact = exactCounts(all);
+        
+        HeavyHitters merged = new HeavyHitters(100).accept(first).merge(new HeavyHitters(100).accept(second));
+        assertEquals(all.length, merged.count());
+        for (HeavyHitters.Entry entry : merged.topK(100)) {
+            long truth = exact.get(entry.value());
+            assertTrue(entry.count() >= truth);
+            assertTrue(entry.count() - truth <= all.length / 100);
+        }
+        assertEquals(Statistics.mode(all), merged.approxMode());
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0));
+        HeavyHitters hitters = new HeavyHitters(4);
+        assertThrows(IllegalStateException.class, hitters::approxMode);
+        assertThrows(IllegalArgumentException.class, () -> hitters.accept(null));
+        assertThrows(IllegalArgumentException.class, () -> hitters.merge(null));
+        assertThrows(IllegalArgumentException.class, () -> hitters.topK(-1));
+    }
+}
@@ -0,0 +1,78 @@
+package com.cst8411.mathstats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LongIntHashMap class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class LongIntHashMapTest {
+    
+    @Test
+    @DisplayName("Test counts agree with a boxed HashMap across resizes")
+    public void testCountsMatchHashMap() {
+        Random random = new Random(11);
+        LongIntHashMap table = new LongIntHashMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(3_000) * 1_000_000_007L;
+            table.increment(key);
+            expected.merge(key, 1, Integer::sum);
+        }
+        
+        assertEquals(expected.size(), table.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().intValue(), table.get(entry.getKey()));
+        }
+        assertEquals(0, table.get(-1L));
+        
+        int occupied = 0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.countAt(slot) != 0) {
+                occupied++;
+                assertEquals(expected.get(table.keyAt(slot)).intValue(), table.countAt(slot));
+            }
+        }
+        assertEquals(expected.size(), occupied);
+    }
+    
+    @Test
+    @DisplayName("Test zero is an ordinary key")
+    public void testZeroKey() {
+        LongIntHashMap table = new LongIntHashMap(4);
+        table.increment(0L);
+        table.increment(0L);
+        assertEquals(2, table.get(0L));
+        assertEquals(1, table.size());
+    }
+    
+    @Test
+    @DisplayName("Test put and remove keep probe runs intact")
+    public void testPutAndRemove() {
+        Random random = new Random(5);
+        LongIntHashMap table = new LongIntHashMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextBoolean()) {
+                table.put(key, i + 1);
+                expected.put(key, i + 1);
+            } else {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, table.remove(key));
+            }
+        }
+        
+        assertEquals(expected.size(), table.size());
+        for (long key = 0; key < 500; key++) {
+            assertEquals(expected.getOrDefault(key, 0).intValue(), table.get(key));
+        }
+    }
+}
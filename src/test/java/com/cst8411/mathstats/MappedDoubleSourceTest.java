@@ -0,0 +1,140 @@
+package com.cst8411.mathstats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MappedDoubleSource class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class MappedDoubleSourceTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path write(String name, double[] values, ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES).order(order);
+        for (double value : values) {
+            buffer.putDouble(value);
+        }
+        return Files.write(tempDir.resolve(name), buffer.array());
+    }
+    
+    private static double[] randomData(int size) {
+        Random random = new Random(13);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = random.nextInt(1_000) / 8.0 - 40;
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test statistics over several mapped segments")
+    public void testSegmentedStatistics() throws IOException {
+        double[] data = randomData(10_001);
+        Path path = write("values.bin", data, ByteOrder.LITTLE_ENDIAN);
+        try (MappedDoubleSource source = MappedDoubleSource.open(path, ByteOrder.LITTLE_ENDIAN, 8 * 1_000)) {
+            assertEquals(data.length, source.count());
+            assertEquals(Statistics.mean(data), source.mean(), DELTA);
+            assertEquals(Statistics.variance(data), source.variance(), DELTA);
+            assertEquals(Statistics.sampleVariance(data), source.sampleVariance(), DELTA);
+            assertEquals(Statistics.range(data), source.range(), DELTA);
+            assertEquals(Statistics.variance(data), source.parallelSummarize().variance(), DELTA);
+        }
+    }
+    
+    @Test
+    @DisplayName("Test external median selection")
+    public void testMedian() throws IOException {
+        double[] odd = randomData(20_001);
+        double[] even = randomData(20_000);
+        Path oddPath = write("odd.bin", odd, ByteOrder.BIG_ENDIAN);
+        Path evenPath = write("even.bin", even, ByteOrder.BIG_ENDIAN);
+        try (MappedDoubleSource oddSource = Statistics.of(oddPath);
+             MappedDoubleSource evenSource = Statistics.of(evenPath)) {
+            assertEquals(Statistics.median(odd), oddSource.median(), DELTA);
+            assertEquals(Statistics.median(even), evenSource.median(), DELTA);
+            // Force several narrowing passes before the exact selection
+            assertEquals(Statistics.median(odd), oddSource.median(2), DELTA);
+            assertEquals(Statistics.median(even), evenSource.median(2), DELTA);
+        }
+    }
+    
+    @Test
+    @DisplayName("Test even-count median reads the lower neighbour from the final window")
+    public void testEvenMedianNeighbour() throws IOException {
+        double[][] inputs = {
+            {1, 2, 3, 4},
+            {4, 4, 1, 1},
+            {5, 5, 5, 5, 9, 1},
+            {-0.0, 0.0, 2, -3},
+            {7, 7},
+        };
+        for (int i = 0; i < inputs.length; i++) {
+            double[] data = inputs[i];
+            Path path = write("even" + i + ".bin", data, ByteOrder.LITTLE_ENDIAN);
+            try (MappedDoubleSource source = Statistics.of(path, ByteOrder.LITTLE_ENDIAN)) {
+                for (int maxCandidates : new int[] {1, 2, 3, data.length}) {
+                    assertEquals(Statistics.median(data), source.median(maxCandidates), DELTA);
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test median with NaN and duplicates")
+    public void testMedianSpecialValues() throws IOException {
+        double[] data = {Double.NaN, 3, 3, 3, Double.NaN};
+        try (MappedDoubleSource source = Statistics.of(write("nan.bin", data, ByteOrder.BIG_ENDIAN))) {
+            assertEquals(Statistics.median(data), source.median(1), DELTA);
+        }
+        double[] mostlyNaN = {Double.NaN, 1, Double.NaN};
+        try (MappedDoubleSource source = Statistics.of(write("nan2.bin", mostlyNaN, ByteOrder.BIG_ENDIAN))) {
+            assertTrue(Double.isNaN(source.median()));
+        }
+    }
+    
+    @Test
+    @DisplayName("Test median when the values span more than Double.MAX_VALUE")
+    public void testMedianExtremeValues() throws IOException {
+        double[] wide = {-1e308, 1e308, 1, 2, 3, 4, 5, 6};
+        double[] infinite = {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0.0, 0.0, 1, 2, 3};
+        try (MappedDoubleSource wideSource = Statistics.of(write("wide.bin", wide, ByteOrder.BIG_ENDIAN));
+             MappedDoubleSource infiniteSource = Statistics.of(write("inf.bin", infinite, ByteOrder.BIG_ENDIAN))) {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertEquals(Statistics.median(wide), wideSource.median(2), DELTA);
+                assertEquals(Statistics.median(infinite), infiniteSource.median(1), DELTA);
+                assertEquals(Statistics.median(infinite), infiniteSource.median(), DELTA);
+            });
+        }
+    }
+    
+    @Test
+    @DisplayName("Test invalid files")
+    public void testInvalidFiles() throws IOException {
+        Path odd = Files.write(tempDir.resolve("bad.bin"), new byte[12]);
+        assertThrows(IllegalArgumentException.class, () -> MappedDoubleSource.open(odd));
+        assertThrows(IllegalArgumentException.class, () -> MappedDoubleSource.open(null));
+        
+        Path empty = Files.write(tempDir.resolve("empty.bin"), new byte[0]);
+        try (MappedDoubleSource source = MappedDoubleSource.open(empty)) {
+            assertEquals(0, source.count());
+            assertThrows(IllegalStateException.class, source::mean);
+            assertThrows(IllegalStateException.class, source::median);
+        }
+    }
+}
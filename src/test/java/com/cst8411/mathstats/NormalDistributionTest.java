@@ -0,0 +1,50 @@
+package com.cst8411.mathstats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NormalDistribution.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class NormalDistributionTest {
+    
+    @Test
+    @DisplayName("Test cumulative distribution against reference values")
+    public void testCdf() {
+        assertEquals(0.5, NormalDistribution.cdf(0), 1e-15);
+        assertEquals(0.9750021048517795, NormalDistribution.cdf(1.96), 1e-14);
+        assertEquals(0.0013498980316301, NormalDistribution.cdf(-3), 1e-14);
+        assertEquals(0.0, NormalDistribution.cdf(Double.NEGATIVE_INFINITY), 0.0);
+        assertEquals(1.0, NormalDistribution.cdf(Double.POSITIVE_INFINITY), 0.0);
+        
+        // The lower tail keeps its relative accuracy far from the mean
+        assertEquals(6.2209605742717841e-16, NormalDistribution.cdf(-8), 1e-14 * 6.2209605742717841e-16);
+        assertEquals(7.6198530241605261e-24, NormalDistribution.cdf(-10), 1e-14 * 7.6198530241605261e-24);
+        assertEquals(2.7536241186062337e-89, NormalDistribution.cdf(-20), 1e-14 * 2.7536241186062337e-89);
+        assertEquals(1 - 6.2209605742717841e-16, NormalDistribution.cdf(8), 1e-16);
+        for (double x = -40; x <= 40; x += 0.25) {
+            double p = NormalDistribution.cdf(x);
+            assertTrue(p >= 0 && p <= 1, "cdf(" + x + ") = " + p);
+        }
+        assertEquals(1.0, NormalDistribution.cdf(40), 0.0);
+        assertTrue(Double.isNaN(NormalDistribution.cdf(Double.NaN)));
+    }
+    
+    @Test
+    @DisplayName("Test inverse cumulative distribution")
+    public void testInverseCdf() {
+        assertEquals(0.0, NormalDistribution.inverseCdf(0.5), 1e-9);
+        assertEquals(1.959963984540054, NormalDistribution.inverseCdf(0.975), 1e-8);
+        assertEquals(-1.959963984540054, NormalDistribution.inverseCdf(0.025), 1e-8);
+        assertEquals(-6.361340902404056, NormalDistribution.inverseCdf(1e-10), 1e-7);
+        assertEquals(Double.NEGATIVE_INFINITY, NormalDistribution.inverseCdf(0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, NormalDistribution.inverseCdf(1), 0.0);
+        for (double p = 0.001; p < 1; p += 0.01) {
+            assertEquals(p, NormalDistribution.cdf(NormalDistribution.inverseCdf(p)), 1e-9);
+        }
+    }
+}
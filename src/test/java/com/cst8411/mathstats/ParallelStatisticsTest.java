@@ -0,0 +1,98 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ParallelStatistics class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class ParallelStatisticsTest {
+    
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+    
+    private static double[] randomData(int size) {
+        Random random = new Random(42);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 1000 + random.nextGaussian() * 25;
+        }
+        return data;
+    }
+    
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * RELATIVE_TOLERANCE);
+    }
+    
+    @Test
+    @DisplayName("Test parallel results match the serial path")
+    public void testMatchesSerial() {
+        double[] data = randomData(100_000);
+        ParallelStatistics parallel = Statistics.parallel().withThreshold(1_000);
+        
+        assertClose(Statistics.mean(data), parallel.mean(data));
+        assertClose(Statistics.variance(data), parallel.variance(data));
+        assertClose(Statistics.sampleVariance(data), parallel.sampleVariance(data));
+        assertClose(Statistics.standardDeviation(data), parallel.standardDeviation(data));
+        assertEquals(Statistics.range(data), parallel.range(data));
+    }
+    
+    @Test
+    @DisplayName("Test small arrays below the threshold")
+    public void testBelowThreshold() {
+        double[] data = {2, 4, 6, 8};
+        ParallelStatistics parallel = Statistics.parallel();
+        
+        assertEquals(5.0, parallel.mean(data), 0.0001);
+        assertEquals(5.0, parallel.variance(data), 0.0001);
+        assertEquals(6.0, parallel.range(data), 0.0001);
+        assertEquals(Math.sqrt(6.6667), parallel.sampleStandardDeviation(data), 0.001);
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        ParallelStatistics parallel = Statistics.parallel();
+        assertThrows(IllegalArgumentException.class, () -> parallel.mean(null));
+        assertThrows(IllegalArgumentException.class, () -> parallel.variance(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> parallel.sampleVariance(new double[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> parallel.withThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> parallel.withPool(null));
+    }
+    
+    @Test
+    @DisplayName("Test parallel covariance matrix matches pairwise computation")
+    public void testCovarianceMatrix() {
+        // More columns than one tile, and rows spanning several row blocks
+        Random random = new Random(3);
+        double[][] columns = new double[70][2_000];
+        for (int c = 0; c < columns.length; c++) {
+            for (int i = 0; i < columns[c].length; i++) {
+                columns[c][i] = (c % 5) * columns[0][i] + random.nextGaussian() * (c + 1);
+            }
+        }
+        ParallelStatistics parallel = Statistics.parallel().withThreshold(1_000);
+        SymmetricMatrix covariance = parallel.covarianceMatrix(columns);
+        SymmetricMatrix serial = Statistics.covarianceMatrix(columns);
+        SymmetricMatrix correlation = parallel.correlationMatrix(columns);
+        for (int a = 0; a < columns.length; a++) {
+            for (int b = 0; b <= a; b++) {
+                double expected = 0;
+                double meanA = Statistics.mean(columns[a]);
+                double meanB = Statistics.mean(columns[b]);
+                for (int i = 0; i < columns[a].length; i++) {
+                    expected += (columns[a][i] - meanA) * (columns[b][i] - meanB);
+                }
+                expected /= columns[a].length;
+                assertEquals(expected, covariance.get(a, b), 1e-9 * (1 + Math.abs(expected)));
+                assertEquals(serial.get(a, b), covariance.get(b, a), 0.0);
+                double r = expected / Math.sqrt(Statistics.variance(columns[a]) * Statistics.variance(columns[b]));
+                assertEquals(r, correlation.get(a, b), 1e-9);
+            }
+        }
+    }
+}
\ No newline at end of file
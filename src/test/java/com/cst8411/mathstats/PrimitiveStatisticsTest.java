@@ -0,0 +1,89 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PrimitiveStatistics class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class PrimitiveStatisticsTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test int overloads match the double methods")
+    public void testIntMatchesDouble() {
+        Random random = new Random(9);
+        int[] data = new int[10_001];
+        double[] widened = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(2_000) - 1_000;
+            widened[i] = data[i];
+        }
+        
+        assertEquals(Statistics.mean(widened), PrimitiveStatistics.mean(data), 1e-12);
+        assertEquals(Statistics.median(widened), PrimitiveStatistics.median(data));
+        assertEquals(Statistics.mode(widened), PrimitiveStatistics.mode(data));
+        assertEquals(Statistics.range(widened), PrimitiveStatistics.range(data));
+        assertEquals(Statistics.variance(widened), PrimitiveStatistics.variance(data), 1e-8);
+        assertEquals(Statistics.sampleStandardDeviation(widened), PrimitiveStatistics.sampleStandardDeviation(data), 1e-10);
+    }
+    
+    @Test
+    @DisplayName("Test int extremes do not overflow")
+    public void testIntExtremes() {
+        int[] data = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        assertEquals((3.0 * Integer.MAX_VALUE + Integer.MIN_VALUE) / 4, PrimitiveStatistics.mean(data), DELTA);
+        assertEquals(Integer.MAX_VALUE, PrimitiveStatistics.median(data), DELTA);
+        assertEquals(Math.pow(2, 32) - 1, PrimitiveStatistics.range(data), DELTA);
+        assertEquals(0.0, PrimitiveStatistics.median(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}), 1.0);
+    }
+    
+    @Test
+    @DisplayName("Test long sums are exact, including on overflow")
+    public void testLongExactSums() {
+        long big = Long.MAX_VALUE - 1;
+        long[] data = {big, big, big, 3};
+        assertEquals((3.0 * big + 3) / 4, PrimitiveStatistics.mean(data), Math.ulp(big * 0.75));
+        assertEquals(big, PrimitiveStatistics.mode(data));
+        
+        long offset = 1L << 60;
+        long[] counters = {offset + 4, offset + 7, offset + 13, offset + 16};
+        assertEquals(22.5, PrimitiveStatistics.variance(counters), DELTA);
+        assertEquals(30.0, PrimitiveStatistics.sampleVariance(counters), DELTA);
+        assertEquals(12.0, PrimitiveStatistics.range(counters), DELTA);
+        assertEquals(offset + 10.0, PrimitiveStatistics.median(counters), DELTA);
+        assertEquals(offset + 10.0, PrimitiveStatistics.mean(counters), DELTA);
+        assertEquals(-2.5, PrimitiveStatistics.mean(new long[] {-1, -4}), DELTA);
+        assertEquals(Math.pow(2, 64) - 1, PrimitiveStatistics.range(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}), 1e4);
+    }
+    
+    @Test
+    @DisplayName("Test float overloads")
+    public void testFloat() {
+        float[] data = {2.5f, 4.5f, 4.5f, 4.5f, 5.5f, 5.5f, 7.5f, 9.5f};
+        assertEquals(5.5, PrimitiveStatistics.mean(data), DELTA);
+        assertEquals(5.0, PrimitiveStatistics.median(data), DELTA);
+        assertEquals(4.5f, PrimitiveStatistics.mode(data));
+        assertEquals(7.0, PrimitiveStatistics.range(data), DELTA);
+        assertEquals(4.0, PrimitiveStatistics.variance(data), DELTA);
+        assertEquals(2.0, PrimitiveStatistics.standardDeviation(data), DELTA);
+        assertEquals((float) Statistics.mode(new double[] {0.0, -0.0}), PrimitiveStatistics.mode(new float[] {0.0f, -0.0f}));
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.mean((int[]) null));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.median(new long[0]));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.mode(new float[0]));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.sampleVariance(new int[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.sampleVariance(new long[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveStatistics.sampleVariance(new float[] {1}));
+    }
+}
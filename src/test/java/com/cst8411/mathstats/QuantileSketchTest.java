@@ -0,0 +1,119 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuantileSketch class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class QuantileSketchTest {
+    
+    private static final int SIZE = 200_000;
+    private static final double RANK_TOLERANCE = 0.02;
+    
+    @Test
+    @DisplayName("Test quantile estimates on a shuffled uniform stream")
+    public void testQuantiles() {
+        QuantileSketch sketch = new QuantileSketch(QuantileSketch.DEFAULT_K, 1L);
+        Random random = new Random(3);
+        for (int i = 0; i < SIZE; i++) {
+            sketch.add(random.nextDouble());
+        }
+        
+        assertEquals(SIZE, sketch.count());
+        assertEquals(0.5, sketch.median(), RANK_TOLERANCE);
+        assertEquals(0.9, sketch.quantile(0.9), RANK_TOLERANCE);
+        assertEquals(0.99, sketch.quantile(0.99), RANK_TOLERANCE);
+        assertEquals(0.25, sketch.cdf(0.25), RANK_TOLERANCE);
+        assertTrue(sketch.retained() < 4 * QuantileSketch.DEFAULT_K);
+    }
+    
+    @Test
+    @DisplayName("Test merged sketches match a single sketch")
+    public void testMerge() {
+        QuantileSketch merged = new QuantileSketch(QuantileSketch.DEFAULT_K, 2L);
+        for (int part = 0; part < 4; part++) {
+            QuantileSketch partial = new QuantileSketch(QuantileSketch.DEFAULT_K, part);
+            for (int i = part; i < SIZE; i += 4) {
+                partial.add(i);
+            }
+            merged.merge(partial);
+        }
+        
+        assertEquals(SIZE, merged.count());
+        assertEquals(0.0, merged.min());
+        assertEquals(SIZE - 1.0, merged.max());
+        assertEquals(SIZE / 2.0, merged.median(), SIZE * RANK_TOLERANCE);
+        assertEquals(SIZE * 0.99, merged.quantile(0.99), SIZE * RANK_TOLERANCE);
+    }
+    
+    @Test
+    @DisplayName("Test merging a sketch into itself doubles every weight")
+    public void testSelfMerge() {
+        QuantileSketch small = new QuantileSketch();
+        for (int i = 1; i <= 10; i++) {
+            small.add(i);
+        }
+        small.merge(small);
+        assertEquals(20, small.count());
+        assertEquals(1.0, small.min());
+        assertEquals(10.0, small.max());
+        assertEquals(0.5, small.cdf(5), 1e-12);
+        
+        QuantileSketch large = new QuantileSketch(QuantileSketch.DEFAULT_K, 5L);
+        for (int i = 0; i < SIZE; i++) {
+            large.add(i);
+        }
+        large.merge(large);
+        assertEquals(2L * SIZE, large.count());
+        assertEquals(SIZE / 2.0, large.median(), SIZE * RANK_TOLERANCE);
+    }
+    
+    @Test
+    @DisplayName("Test exact answers for small inputs")
+    public void testSmallInput() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : new double[] {5, 1, 4, 2, 3}) {
+            sketch.add(value);
+        }
+        
+        assertEquals(3.0, sketch.median());
+        assertEquals(1.0, sketch.quantile(0));
+        assertEquals(5.0, sketch.quantile(1));
+        assertEquals(0.4, sketch.cdf(2.5), 1e-12);
+        assertEquals(0.0, sketch.cdf(0));
+        assertEquals(1.0, sketch.cdf(5));
+    }
+    
+    @Test
+    @DisplayName("Test seeded sketches are deterministic")
+    public void testDeterministic() {
+        QuantileSketch first = new QuantileSketch(50, 9L);
+        QuantileSketch second = new QuantileSketch(50, 9L);
+        for (int i = 0; i < 10_000; i++) {
+            first.add(i % 977);
+            second.add(i % 977);
+        }
+        assertEquals(first.quantile(0.3), second.quantile(0.3));
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertThrows(IllegalStateException.class, sketch::median);
+        assertThrows(IllegalStateException.class, () -> sketch.cdf(1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(null));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(QuantileSketch.MIN_K - 1));
+        
+        sketch.add(1);
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(Double.NaN));
+    }
+}
@@ -0,0 +1,88 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RankIndex and Interpolation.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class RankIndexTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test interpolation methods")
+    public void testInterpolation() {
+        RankIndex index = RankIndex.of(new double[] {4, 1, 5, 2, 3});
+        // h = 4 * 0.625 = 2.5, between 3 and 4
+        assertEquals(3.5, index.quantile(0.625), DELTA);
+        assertEquals(3.0, index.quantile(0.625, Interpolation.LOWER), DELTA);
+        assertEquals(4.0, index.quantile(0.625, Interpolation.HIGHER), DELTA);
+        assertEquals(3.0, index.quantile(0.625, Interpolation.NEAREST), DELTA);
+        assertEquals(3.5, index.quantile(0.625, Interpolation.MIDPOINT), DELTA);
+        // h = 4 * 0.7 = 2.8
+        assertEquals(3.8, index.quantile(0.7), DELTA);
+        assertEquals(4.0, index.quantile(0.7, Interpolation.NEAREST), DELTA);
+        
+        assertEquals(1.0, index.quantile(0), DELTA);
+        assertEquals(5.0, index.quantile(1), DELTA);
+        assertEquals(3.0, index.percentile(50), DELTA);
+        assertArrayEquals(new double[] {1.0, 3.0, 5.0}, index.percentiles(0, 50, 100), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test rank and cumulative distribution")
+    public void testRankAndCdf() {
+        RankIndex index = RankIndex.of(new double[] {1, 2, 2, 2, 5});
+        assertEquals(0, index.rank(0.5));
+        assertEquals(1, index.rank(1));
+        assertEquals(4, index.rank(2));
+        assertEquals(4, index.rank(4.9));
+        assertEquals(5, index.rank(5));
+        assertEquals(0.8, index.cdf(3), DELTA);
+        assertEquals(1.0, index.cdf(Double.POSITIVE_INFINITY), DELTA);
+        assertEquals(1.0, index.min(), DELTA);
+        assertEquals(5.0, index.max(), DELTA);
+        assertEquals(5, index.size());
+    }
+    
+    @Test
+    @DisplayName("Test quantiles agree with Statistics.percentiles")
+    public void testMatchesMultiSelect() {
+        Random random = new Random(99);
+        double[] data = new double[20_001];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextGaussian();
+        }
+        RankIndex index = RankIndex.of(data);
+        double[] percentiles = {50, 90, 95, 99, 99.9};
+        for (Interpolation method : Interpolation.values()) {
+            double[] expected = Statistics.percentiles(data, method, percentiles);
+            for (int i = 0; i < percentiles.length; i++) {
+                assertEquals(expected[i], index.percentile(percentiles[i], method), 0.0);
+            }
+        }
+        
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[10_000], index.percentile(50), 0.0);
+    }
+    
+    @Test
+    @DisplayName("Test invalid input")
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> RankIndex.of(null));
+        assertThrows(IllegalArgumentException.class, () -> RankIndex.of(new double[0]));
+        RankIndex index = RankIndex.of(new double[] {1});
+        assertThrows(IllegalArgumentException.class, () -> index.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> index.percentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> index.quantile(0.5, null));
+        assertEquals(1.0, index.quantile(0.3), DELTA);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RollingStatistics class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class RollingStatisticsTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    @Test
+    @DisplayName("Test window metrics agree with Statistics on each window")
+    public void testMatchesStatistics() {
+        Random random = new Random(5);
+        double[] stream = new double[2_000];
+        for (int i = 0; i < stream.length; i++) {
+            // Repeated values exercise ties in the heaps and deques
+            stream[i] = random.nextInt(50) + (i % 7 == 0 ? 1000 : 0);
+        }
+        
+        for (int windowSize : new int[] {1, 2, 7, 64}) {
+            RollingStatistics rolling = new RollingStatistics(windowSize);
+            for (int i = 0; i < stream.length; i++) {
+                rolling.add(stream[i]);
+                double[] window = Arrays.copyOfRange(stream, Math.max(0, i + 1 - windowSize), i + 1);
+                
+                assertEquals(window.length, rolling.size());
+                assertEquals(Statistics.mean(window), rolling.mean(), 1e-6);
+                assertEquals(Statistics.variance(window), rolling.variance(), 1e-4);
+                assertEquals(Statistics.median(window), rolling.median(), DELTA);
+                assertEquals(Statistics.range(window), rolling.range(), DELTA);
+            }
+            assertTrue(rolling.isFull());
+        }
+    }
+    
+    @Test
+    @DisplayName("Test partially filled window")
+    public void testPartialWindow() {
+        RollingStatistics rolling = new RollingStatistics(10);
+        rolling.add(2);
+        rolling.add(8);
+        rolling.add(4);
+        
+        assertFalse(rolling.isFull());
+        assertEquals(4.0, rolling.median(), DELTA);
+        assertEquals(2.0, rolling.min(), DELTA);
+        assertEquals(8.0, rolling.max(), DELTA);
+        assertEquals(28.0 / 3.0, rolling.sampleVariance(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test clearing and invalid use")
+    public void testClearAndInvalidUse() {
+        RollingStatistics rolling = new RollingStatistics(3);
+        rolling.add(1);
+        rolling.clear();
+        
+        assertEquals(0, rolling.size());
+        assertThrows(IllegalStateException.class, rolling::mean);
+        assertThrows(IllegalStateException.class, rolling::median);
+        assertThrows(IllegalStateException.class, rolling::range);
+        assertThrows(IllegalArgumentException.class, () -> rolling.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new RollingStatistics(0));
+        
+        rolling.add(5);
+        assertEquals(5.0, rolling.median(), DELTA);
+        assertThrows(IllegalStateException.class, rolling::sampleVariance);
+    }
+}
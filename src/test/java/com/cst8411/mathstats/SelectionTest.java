@@ -0,0 +1,117 @@
+package com.cst8411.mathstats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Selection class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class SelectionTest {
+    
+    @Test
+    @DisplayName("Test selection agrees with a full sort")
+    public void testSelectMatchesSort() {
+        Random random = new Random(7);
+        for (int size : new int[] {1, 2, 5, 17, 200, 5_000}) {
+            double[] data = new double[size];
+            for (int i = 0; i < size; i++) {
+                // Few distinct values exercise the equal-to-pivot partition
+                data[i] = random.nextInt(size / 3 + 1);
+            }
+            double[] sorted = data.clone();
+            Arrays.sort(sorted);
+            
+            for (int k : new int[] {0, size / 2, size - 1}) {
+                double[] copy = data.clone();
+                Selection.select(copy, 0, size, k);
+                assertEquals(sorted[k], copy[k]);
+                for (int i = 0; i < k; i++) {
+                    assertTrue(copy[i] <= copy[k]);
+                }
+                for (int i = k + 1; i < size; i++) {
+                    assertTrue(copy[i] >= copy[k]);
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test median follows sort order for signed zeros and NaN")
+    public void testMedianSortOrder() {
+        double[] data = {Double.NaN, 0.0, -0.0, 1.0, Double.NaN};
+        assertEquals(1.0, Selection.median(data, 0, data.length));
+        
+        double[] zeros = {0.0, -0.0};
+        assertEquals(0.0, Selection.median(zeros, 0, zeros.length));
+    }
+    
+    @Test
+    @DisplayName("Test median of a sub-range")
+    public void testMedianOfRange() {
+        double[] data = {100, 4, 1, 3, 2, -100};
+        assertEquals(2.5, Selection.median(data, 1, 5));
+        assertEquals(100.0, data[0]);
+        assertEquals(-100.0, data[5]);
+    }
+    
+    @Test
+    @DisplayName("Test primitive overloads agree with a full sort")
+    public void testPrimitiveOverloads() {
+        Random random = new Random(13);
+        int[] ints = new int[1_001];
+        long[] longs = new long[ints.length];
+        float[] floats = new float[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt(300) - 150;
+            longs[i] = ints[i] * 1_000_000_000_000L;
+            floats[i] = ints[i] / 8f;
+        }
+        int[] sortedInts = ints.clone();
+        long[] sortedLongs = longs.clone();
+        float[] sortedFloats = floats.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedLongs);
+        Arrays.sort(sortedFloats);
+        
+        Selection.select(longs, 0, longs.length, 100);
+        assertEquals(sortedLongs[100], longs[100]);
+        assertEquals(sortedInts[500], Selection.median(ints, 0, ints.length));
+        assertEquals((double) sortedLongs[500], Selection.median(longs, 0, longs.length));
+        assertEquals(sortedFloats[500], Selection.median(floats, 0, floats.length));
+        assertEquals(-0.5, Selection.median(new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE}, 0, 2));
+        assertEquals(0.5, Selection.median(new float[] {Float.NaN, -0f, 1f, Float.NEGATIVE_INFINITY}, 0, 4));
+        assertEquals(-0.25, Selection.median(new float[] {-0.5f, 0f}, 0, 2));
+        
+        double[] values = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.5, Double.NaN};
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], Selection.fromOrderedKey(Selection.orderedKey(values[i])));
+            if (i > 0) {
+                assertTrue(Selection.orderedKey(values[i - 1]) < Selection.orderedKey(values[i]));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test multi-selection places every requested index")
+    public void testSelectAll() {
+        Random random = new Random(21);
+        double[] data = new double[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(2_000);
+        }
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        
+        int[] ks = {0, 1, 499, 5_000, 5_001, 9_000, 9_899, 9_999};
+        Selection.selectAll(data, 0, data.length, ks, 0, ks.length);
+        for (int k : ks) {
+            assertEquals(sorted[k], data[k], 0.0);
+        }
+    }
+}
\ No newline at end of file
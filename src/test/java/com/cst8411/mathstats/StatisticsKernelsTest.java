@@ -0,0 +1,72 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StatisticsKernels implementations. Surefire resolves
+ * the jdk.incubator.vector module, so {@link StatisticsKernels#get()} is
+ * the Vector API implementation and is checked against {@link ScalarKernels}.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StatisticsKernelsTest {
+    
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+    
+    private final StatisticsKernels scalar = new ScalarKernels();
+    private final StatisticsKernels selected = StatisticsKernels.get();
+    
+    private static double[] randomData(int size) {
+        Random random = new Random(size);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 500 + random.nextGaussian() * 40;
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test the vector kernels are selected when the module is present")
+    public void testSelection() {
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule, !(selected instanceof ScalarKernels));
+    }
+    
+    @Test
+    @DisplayName("Test selected kernels agree with the scalar kernels")
+    public void testAgreesWithScalar() {
+        for (int size : new int[] {1, 3, 8, 17, 1_000, 100_003}) {
+            double[] data = randomData(size);
+            for (int from : new int[] {0, size / 3}) {
+                double expectedSum = scalar.sum(data, from, size);
+                assertEquals(expectedSum, selected.sum(data, from, size), Math.abs(expectedSum) * RELATIVE_TOLERANCE);
+                assertEquals(scalar.range(data, from, size), selected.range(data, from, size));
+                
+                StreamingStatistics expected = scalar.summarize(data, from, size);
+                StreamingStatistics actual = selected.summarize(data, from, size);
+                assertEquals(expected.count(), actual.count());
+                assertEquals(expected.mean(), actual.mean(), expected.mean() * RELATIVE_TOLERANCE);
+                assertEquals(expected.variance(), actual.variance(), expected.variance() * 1e-9 + 1e-12);
+                assertEquals(expected.min(), actual.min());
+                assertEquals(expected.max(), actual.max());
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test NaN handling matches the scalar kernels")
+    public void testNaN() {
+        double[] data = randomData(64);
+        data[5] = Double.NaN;
+        assertEquals(scalar.range(data, 0, data.length), selected.range(data, 0, data.length));
+        assertEquals(scalar.summarize(data, 0, data.length).max(), selected.summarize(data, 0, data.length).max());
+        assertTrue(Double.isNaN(selected.sum(data, 0, data.length)));
+        
+        data[0] = Double.NaN;
+        assertTrue(Double.isNaN(selected.range(data, 0, data.length)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.cst8411.mathstats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StatisticsRecorder class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StatisticsRecorderTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test single-threaded recording")
+    public void testRecord() {
+        StatisticsRecorder recorder = new StatisticsRecorder();
+        for (double value : new double[] {1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16}) {
+            recorder.record(value);
+        }
+        
+        StreamingStatistics snapshot = recorder.snapshot();
+        assertEquals(4, recorder.count());
+        assertEquals(1e9 + 10, snapshot.mean(), DELTA);
+        assertEquals(22.5, snapshot.variance(), DELTA);
+        assertEquals(12.0, snapshot.range(), DELTA);
+        
+        recorder.reset();
+        assertEquals(0, recorder.snapshot().count());
+        recorder.record(-3);
+        assertEquals(-3.0, recorder.snapshot().min(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test concurrent writers match a serial pass")
+    public void testConcurrentWriters() throws InterruptedException {
+        int threads = 8;
+        int perThread = 50_000;
+        StatisticsRecorder recorder = new StatisticsRecorder(4);
+        StreamingStatistics expected = new StreamingStatistics();
+        double[][] samples = new double[threads][perThread];
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < perThread; i++) {
+                samples[t][i] = 250 + random.nextGaussian() * 40;
+                expected.accept(samples[t][i]);
+            }
+        }
+        
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            double[] values = samples[t];
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (double value : values) {
+                    recorder.record(value);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        
+        StreamingStatistics snapshot = recorder.snapshot();
+        assertEquals(expected.count(), snapshot.count());
+        assertEquals(expected.mean(), snapshot.mean(), 1e-9);
+        assertEquals(expected.variance(), snapshot.variance(), 1e-6);
+        assertEquals(expected.min(), snapshot.min());
+        assertEquals(expected.max(), snapshot.max());
+    }
+    
+    @Test
+    @DisplayName("Test resets racing with writers never mix generations")
+    public void testResetDuringWrites() throws InterruptedException {
+        StatisticsRecorder recorder = new StatisticsRecorder(2);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    recorder.record(1e6 + 2 * (i & 1));
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        while (writers.get(0).isAlive()) {
+            recorder.reset();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        
+        // Values are 1e6 and 1e6 + 2, so any consistent state has variance at most 1
+        StreamingStatistics snapshot = recorder.snapshot();
+        if (snapshot.count() > 0) {
+            assertTrue(snapshot.min() >= 1e6 && snapshot.max() <= 1e6 + 2);
+            assertTrue(snapshot.mean() >= 1e6 - DELTA && snapshot.mean() <= 1e6 + 2 + DELTA);
+            assertTrue(snapshot.variance() <= 1 + DELTA);
+        }
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StatisticsRecorder(0));
+        assertThrows(IllegalArgumentException.class, () -> new StatisticsRecorder(4096));
+        assertThrows(IllegalArgumentException.class, () -> new StatisticsRecorder().record(Double.NaN));
+        assertThrows(IllegalStateException.class, () -> new StatisticsRecorder().snapshot().mean());
+    }
+}
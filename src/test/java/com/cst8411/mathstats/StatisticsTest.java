@@ -1,5 +1,6 @@
 package com.cst8411.mathstats;
 
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
@@ -54,6 +55,26 @@ public class StatisticsTest {
         assertEquals(5.0, Statistics.median(data4), DELTA);
     }
     
+    @Test
+    @DisplayName("Test in-place median calculation")
+    public void testMedianInPlace() {
+        // Test with odd number of elements
+        double[] data1 = {9, 1, 8, 2, 7};
+        assertEquals(7.0, Statistics.medianInPlace(data1), DELTA);
+        
+        // Test with even number of elements
+        double[] data2 = {4, 1, 3, 2};
+        assertEquals(2.5, Statistics.medianInPlace(data2), DELTA);
+        
+        // Test that median leaves its input untouched
+        double[] data3 = {3, 1, 2};
+        Statistics.median(data3);
+        assertArrayEquals(new double[] {3, 1, 2}, data3, DELTA);
+        
+        assertThrows(IllegalArgumentException.class, () -> Statistics.medianInPlace(null));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.medianInPlace(new double[0]));
+    }
+    
     @Test
     @DisplayName("Test mode calculation")
     public void testMode() {
@@ -75,6 +96,37 @@ public class StatisticsTest {
         assertEquals(42.0, Statistics.mode(data4), DELTA);
     }
     
+    @Test
+    @DisplayName("Test mode treats signed zeros and NaN like Double.equals")
+    public void testModeSpecialValues() {
+        // -0.0 and 0.0 are counted separately
+        double[] data1 = {0.0, -0.0, 0.0, 1, 1};
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(Statistics.mode(data1)));
+        
+        // All NaN values share one count
+        double[] data2 = {Double.NaN, 1, Double.NaN, Double.NaN, 2, 2};
+        assertTrue(Double.isNaN(Statistics.mode(data2)));
+    }
+    
+    @Test
+    @DisplayName("Test in-place mode calculation")
+    public void testModeInPlace() {
+        // Test with clear mode
+        double[] data1 = {1, 2, 2, 3, 2, 4};
+        assertEquals(2.0, Statistics.modeInPlace(data1), DELTA);
+        
+        // Test with multiple modes (should return smallest)
+        double[] data2 = {3, 2, 2, 1, 1};
+        assertEquals(1.0, Statistics.modeInPlace(data2), DELTA);
+        
+        // Test with the longest run at the end
+        double[] data3 = {9, 9, 9, 1, 2};
+        assertEquals(9.0, Statistics.modeInPlace(data3), DELTA);
+        
+        assertThrows(IllegalArgumentException.class, () -> Statistics.modeInPlace(null));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.modeInPlace(new double[0]));
+    }
+    
     @Test
     @DisplayName("Test range calculation")
     public void testRange() {
@@ -93,6 +145,26 @@ public class StatisticsTest {
         // Test with single element
         double[] data4 = {7};
         assertEquals(0.0, Statistics.range(data4), DELTA);
+        
+        // A NaN anywhere, not only first, makes the range NaN
+        double[] data5 = {1, Double.NaN, 3};
+        assertTrue(Double.isNaN(Statistics.range(data5)));
+    }
+    
+    @Test
+    @DisplayName("Test NaN gives a NaN range on every path")
+    public void testRangeWithNaN() {
+        double[] nanFirst = {Double.NaN, 1, 5, 3};
+        double[] nanLater = {1, 5, Double.NaN, 3};
+        for (double[] data : new double[][] {nanFirst, nanLater}) {
+            assertTrue(Double.isNaN(Statistics.range(data)));
+            assertTrue(Double.isNaN(Statistics.describe(data).range()));
+            assertTrue(Double.isNaN(Statistics.describe(data).min()));
+            assertTrue(Double.isNaN(Statistics.parallel().range(data)));
+            assertTrue(Double.isNaN(new StreamingStatistics().accept(data, 0, data.length).max()));
+        }
+        StreamingStatistics partial = new StreamingStatistics().accept(nanFirst, 0, 1);
+        assertTrue(Double.isNaN(new StreamingStatistics().accept(nanLater, 0, 2).combine(partial).range()));
     }
     
     @Test
@@ -143,6 +215,41 @@ public class StatisticsTest {
         assertEquals(Math.sqrt(6.6667), Statistics.sampleStandardDeviation(data1), 0.001);
     }
     
+    @Test
+    @DisplayName("Test describe matches the individual operations")
+    public void testDescribe() {
+        double[] data = {12.5, 18.3, 15.7, 20.1, 14.9, 18.3, 16.2, 19.5, 18.3, 17.8};
+        DescriptiveSummary summary = Statistics.describe(data);
+        
+        assertEquals(data.length, summary.count());
+        assertEquals(Statistics.mean(data), summary.mean(), DELTA);
+        assertEquals(Statistics.median(data), summary.median(), DELTA);
+        assertEquals(Statistics.mode(data), summary.mode(), DELTA);
+        assertEquals(12.5, summary.min(), DELTA);
+        assertEquals(20.1, summary.max(), DELTA);
+        assertEquals(Statistics.range(data), summary.range(), DELTA);
+        assertEquals(Statistics.variance(data), summary.variance(), DELTA);
+        assertEquals(Statistics.standardDeviation(data), summary.standardDeviation(), DELTA);
+        assertEquals(Statistics.sampleVariance(data), summary.sampleVariance(), DELTA);
+        assertEquals(Statistics.sampleStandardDeviation(data), summary.sampleStandardDeviation(), DELTA);
+        
+        // Input is left untouched
+        assertEquals(12.5, data[0], DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test describe with a single element")
+    public void testDescribeSingleElement() {
+        DescriptiveSummary summary = Statistics.describe(new double[] {42});
+        assertEquals(42.0, summary.median(), DELTA);
+        assertEquals(42.0, summary.mode(), DELTA);
+        assertEquals(0.0, summary.variance(), DELTA);
+        assertTrue(Double.isNaN(summary.sampleVariance()));
+        
+        assertThrows(IllegalArgumentException.class, () -> Statistics.describe(null));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.describe(new double[0]));
+    }
+    
     @Test
     @DisplayName("Test null data validation")
     public void testNullDataValidation() {
@@ -173,4 +280,102 @@ public class StatisticsTest {
         assertThrows(IllegalArgumentException.class, () -> Statistics.sampleVariance(data));
         assertThrows(IllegalArgumentException.class, () -> Statistics.sampleStandardDeviation(data));
     }
+    
+    @Test
+    @DisplayName("Test range overloads match copied ranges")
+    public void testRangeOverloads() {
+        double[] data = {100, 1, 2, 2, 3, 4, 5, 7, -100};
+        double[] window = Arrays.copyOfRange(data, 1, 8);
+        
+        assertEquals(Statistics.mean(window), Statistics.mean(data, 1, 8), DELTA);
+        assertEquals(Statistics.median(window), Statistics.median(data, 1, 8), DELTA);
+        assertEquals(Statistics.mode(window), Statistics.mode(data, 1, 8), DELTA);
+        assertEquals(Statistics.range(window), Statistics.range(data, 1, 8), DELTA);
+        assertEquals(Statistics.variance(window), Statistics.variance(data, 1, 8), DELTA);
+        assertEquals(Statistics.standardDeviation(window), Statistics.standardDeviation(data, 1, 8), DELTA);
+        assertEquals(Statistics.sampleVariance(window), Statistics.sampleVariance(data, 1, 8), DELTA);
+        assertEquals(Statistics.sampleStandardDeviation(window),
+                Statistics.sampleStandardDeviation(data, 1, 8), DELTA);
+        assertEquals(Statistics.describe(window), Statistics.describe(data, 1, 8));
+        
+        // In-place variants only reorder the range
+        double[] scratch = {100, 7, 5, 4, 3, 2, 2, 1, -100};
+        assertEquals(3.0, Statistics.medianInPlace(scratch, 1, 8), DELTA);
+        assertEquals(2.0, Statistics.modeInPlace(scratch, 1, 8), DELTA);
+        assertEquals(100.0, scratch[0], DELTA);
+        assertEquals(-100.0, scratch[8], DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test range validation")
+    public void testRangeValidation() {
+        double[] data = {1, 2, 3};
+        assertThrows(IllegalArgumentException.class, () -> Statistics.mean(null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.mean(data, -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.median(data, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.mode(data, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.range(data, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.describe(data, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.sampleVariance(data, 2, 3));
+    }
+    
+    @Test
+    @DisplayName("Test percentiles in one pass")
+    public void testPercentiles() {
+        double[] data = {10, 3, 7, 1, 9, 5, 2, 8, 6, 4};
+        double[] percentiles = Statistics.percentiles(data, 50, 90, 0, 100, 25);
+        assertArrayEquals(new double[] {5.5, 9.1, 1, 10, 3.25}, percentiles, DELTA);
+        assertArrayEquals(new double[] {9, 10, 9, 9.5},
+                new double[] {
+                    Statistics.percentiles(data, Interpolation.LOWER, 90)[0],
+                    Statistics.percentiles(data, Interpolation.HIGHER, 90)[0],
+                    Statistics.percentiles(data, Interpolation.NEAREST, 90)[0],
+                    Statistics.percentiles(data, Interpolation.MIDPOINT, 90)[0]}, DELTA);
+        assertEquals(Statistics.median(data), Statistics.percentiles(data, 50)[0], DELTA);
+        assertEquals(0, Statistics.percentiles(data).length);
+        
+        // Input is left untouched, and ranges need no copy by the caller
+        assertEquals(10.0, data[0], DELTA);
+        assertEquals(7.0, Statistics.percentiles(data, 0, 3, Interpolation.LINEAR, 50)[0], DELTA);
+        
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(null, 50));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(new double[0], 50));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(data, 101));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(data, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(data, (double[]) null));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.percentiles(data, null, 50));
+    }
+    
+    @Test
+    @DisplayName("Test covariance and correlation matrices")
+    public void testCovarianceMatrices() {
+        double[] x = {1, 2, 3, 4, 5};
+        double[] y = {2, 4, 6, 8, 10};
+        double[] z = {5, 3, 4, 1, 2};
+        double[] constant = {7, 7, 7, 7, 7};
+        double[][] columns = {x, y, z, constant};
+        
+        SymmetricMatrix covariance = Statistics.covarianceMatrix(columns);
+        assertEquals(4, covariance.size());
+        assertEquals(Statistics.variance(x), covariance.get(0, 0), DELTA);
+        assertEquals(Statistics.variance(z), covariance.get(2, 2), DELTA);
+        assertEquals(4.0, covariance.get(0, 1), DELTA);
+        assertEquals(-1.6, covariance.get(2, 0), DELTA);
+        assertEquals(covariance.get(0, 2), covariance.get(2, 0), 0.0);
+        assertEquals(0.0, covariance.get(3, 1), DELTA);
+        assertEquals(-2.0, Statistics.sampleCovarianceMatrix(columns).get(0, 2), DELTA);
+        
+        SymmetricMatrix correlation = Statistics.correlationMatrix(columns);
+        assertEquals(1.0, correlation.get(0, 0), 0.0);
+        assertEquals(1.0, correlation.get(0, 1), DELTA);
+        assertEquals(-0.8, correlation.get(0, 2), DELTA);
+        assertTrue(Double.isNaN(correlation.get(3, 0)));
+        assertTrue(Double.isNaN(correlation.get(3, 3)));
+        
+        assertThrows(IllegalArgumentException.class, () -> Statistics.covarianceMatrix(null));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.covarianceMatrix(new double[0][]));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.correlationMatrix(new double[][] {x, null}));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.correlationMatrix(new double[][] {x, {1, 2}}));
+        assertThrows(IllegalArgumentException.class, () -> Statistics.sampleCovarianceMatrix(new double[][] {{1}}));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingCovariance.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingCovarianceTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    private static double[][] randomColumns(int dimension, int size, long seed) {
+        Random random = new Random(seed);
+        double[][] columns = new double[dimension][size];
+        for (int i = 0; i < size; i++) {
+            double common = random.nextGaussian();
+            for (int c = 0; c < dimension; c++) {
+                columns[c][i] = 1e6 + c * common + random.nextGaussian();
+            }
+        }
+        return columns;
+    }
+    
+    private static void assertMatrixEquals(SymmetricMatrix expected, SymmetricMatrix actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int a = 0; a < expected.size(); a++) {
+            for (int b = 0; b < expected.size(); b++) {
+                assertEquals(expected.get(a, b), actual.get(a, b), DELTA);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test streaming rows match the batch matrices")
+    public void testMatchesBatch() {
+        double[][] columns = randomColumns(4, 5_000, 1);
+        StreamingCovariance covariance = new StreamingCovariance(4);
+        for (int i = 0; i < columns[0].length; i++) {
+            covariance.accept(columns[0][i], columns[1][i], columns[2][i], columns[3][i]);
+        }
+        assertEquals(5_000, covariance.count());
+        assertEquals(Statistics.mean(columns[2]), covariance.means()[2], 1e-12 * 1e6);
+        assertMatrixEquals(Statistics.covarianceMatrix(columns), covariance.covarianceMatrix());
+        assertMatrixEquals(Statistics.sampleCovarianceMatrix(columns), covariance.sampleCovarianceMatrix());
+        assertMatrixEquals(Statistics.correlationMatrix(columns), covariance.correlationMatrix());
+    }
+    
+    @Test
+    @DisplayName("Test combining partitions matches a single pass")
+    public void testCombine() {
+        double[][] columns = randomColumns(3, 1_000, 2);
+        StreamingCovariance all = new StreamingCovariance(3);
+        StreamingCovariance left = new StreamingCovariance(3);
+        StreamingCovariance right = new StreamingCovariance(3);
+        for (int i = 0; i < columns[0].length; i++) {
+            double[] row = {columns[0][i], columns[1][i], columns[2][i]};
+            all.accept(row);
+            (i < 300 ? left : right).accept(row);
+        }
+        left.combine(right).combine(new StreamingCovariance(3));
+        assertEquals(all.count(), left.count());
+        assertMatrixEquals(all.covarianceMatrix(), left.covarianceMatrix());
+        assertMatrixEquals(all.correlationMatrix(), new StreamingCovariance(3).combine(all).correlationMatrix());
+    }
+    
+    @Test
+    @DisplayName("Test packed symmetric matrix layout")
+    public void testSymmetricMatrix() {
+        SymmetricMatrix matrix = new SymmetricMatrix(3, new double[] {1, 2, 3, 4, 5, 6});
+        assertEquals(5.0, matrix.get(2, 1), 0.0);
+        assertEquals(5.0, matrix.get(1, 2), 0.0);
+        assertArrayEquals(new double[] {4, 5, 6}, matrix.toArray()[2], 0.0);
+        assertArrayEquals(new double[] {2, 3, 5}, matrix.toArray()[1], 0.0);
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, matrix.toPackedArray(), 0.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(3, 0));
+    }
+    
+    @Test
+    @DisplayName("Test invalid use")
+    public void testInvalidUse() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingCovariance(0));
+        StreamingCovariance covariance = new StreamingCovariance(2);
+        assertThrows(IllegalStateException.class, covariance::covarianceMatrix);
+        assertThrows(IllegalArgumentException.class, () -> covariance.accept(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> covariance.accept((double[]) null));
+        assertThrows(IllegalArgumentException.class, () -> covariance.combine(new StreamingCovariance(3)));
+        covariance.accept(1, 2);
+        assertThrows(IllegalStateException.class, covariance::sampleCovarianceMatrix);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cst8411.mathstats;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingRegression.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingRegressionTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    @Test
+    @DisplayName("Test simple regression on an exact line")
+    public void testSimpleExactFit() {
+        StreamingRegression regression = new StreamingRegression();
+        for (int i = 0; i < 10; i++) {
+            regression.accept(i, 3 + 2 * i);
+        }
+        assertEquals(10, regression.count());
+        assertEquals(2.0, regression.slope(), DELTA);
+        assertEquals(3.0, regression.intercept(), DELTA);
+        assertEquals(1.0, regression.rSquared(), DELTA);
+        assertEquals(23.0, regression.predict(10), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test simple regression matches the closed form")
+    public void testSimpleClosedForm() {
+        double[] x = {1, 2, 3, 4, 5};
+        double[] y = {2, 4, 5, 4, 5};
+        StreamingRegression regression = new StreamingRegression();
+        for (int i = 0; i < x.length; i++) {
+            regression.accept(x[i], y[i]);
+        }
+        // Slope = cov(x, y) / var(x) = 0.6, intercept = 4 - 0.6 * 3 = 2.2
+        assertEquals(0.6, regression.slope(), DELTA);
+        assertEquals(2.2, regression.intercept(), DELTA);
+        assertEquals(0.6, regression.rSquared(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test multiple regression recovers coefficients far from the origin")
+    public void testMultipleRegression() {
+        Random random = new Random(5);
+        StreamingRegression regression = new StreamingRegression(3);
+        for (int i = 0; i < 10_000; i++) {
+            double[] x = {1e6 + random.nextDouble(), random.nextGaussian(), random.nextGaussian()};
+            double y = 7 + 1.5 * (x[0] - 1e6) - 2 * x[1] + 0.25 * x[2];
+            regression.accept(x, y);
+        }
+        assertArrayEquals(new double[] {1.5, -2, 0.25}, regression.coefficients(), 1e-6);
+        assertEquals(7 - 1.5e6, regression.intercept(), 1e-3);
+        assertEquals(1.0, regression.rSquared(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test combining partitions matches a single pass")
+    public void testCombine() {
+        Random random = new Random(8);
+        StreamingRegression all = new StreamingRegression(2);
+        StreamingRegression left = new StreamingRegression(2);
+        StreamingRegression right = new StreamingRegression(2);
+        for (int i = 0; i < 2_000; i++) {
+            double[] x = {random.nextGaussian(), random.nextGaussian()};
+            double y = 1 + x[0] - x[1] + random.nextGaussian();
+            all.accept(x, y);
+            (i % 3 == 0 ? left : right).accept(x, y);
+        }
+        left.combine(right);
+        assertEquals(all.count(), left.count());
+        assertArrayEquals(all.coefficients(), left.coefficients(), DELTA);
+        assertEquals(all.intercept(), left.intercept(), DELTA);
+        assertEquals(all.rSquared(), left.rSquared(), DELTA);
+        
+        // The cached solution is refreshed after an update
+        double before = left.intercept();
+        left.accept(new double[] {0, 0}, 1_000);
+        assertNotEquals(before, left.intercept());
+    }
+    
+    @Test
+    @DisplayName("Test undetermined fits and invalid input")
+    public void testInvalidUse() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingRegression(0));
+        StreamingRegression simple = new StreamingRegression();
+        simple.accept(1, 1);
+        assertThrows(IllegalStateException.class, simple::slope);
+        simple.accept(1, 2);
+        assertThrows(IllegalStateException.class, simple::slope);
+        
+        StreamingRegression collinear = new StreamingRegression(2);
+        for (int i = 0; i < 5; i++) {
+            collinear.accept(new double[] {i, 2 * i}, i);
+        }
+        assertThrows(IllegalStateException.class, collinear::coefficients);
+        assertThrows(IllegalArgumentException.class, () -> collinear.accept(1, 2));
+        assertThrows(IllegalArgumentException.class, collinear::slope);
+        assertThrows(IllegalArgumentException.class, () -> collinear.accept(new double[] {1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> collinear.combine(new StreamingRegression()));
+    }
+}
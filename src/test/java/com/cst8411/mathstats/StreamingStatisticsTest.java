@@ -0,0 +1,96 @@
+package com.cst8411.mathstats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StreamingStatistics class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class StreamingStatisticsTest {
+    
+    private static final double DELTA = 0.0001;
+    
+    @Test
+    @DisplayName("Test single value accumulation")
+    public void testAcceptSingleValues() {
+        StreamingStatistics stats = new StreamingStatistics();
+        for (double value : new double[] {2, 4, 6, 8}) {
+            stats.accept(value);
+        }
+        
+        assertEquals(4, stats.count());
+        assertEquals(5.0, stats.mean(), DELTA);
+        assertEquals(5.0, stats.variance(), DELTA);
+        assertEquals(6.6667, stats.sampleVariance(), 0.001);
+        assertEquals(2.0, stats.min(), DELTA);
+        assertEquals(8.0, stats.max(), DELTA);
+        assertEquals(6.0, stats.range(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test array range accumulation")
+    public void testAcceptRange() {
+        double[] data = {100, 1, 2, 3, 4, 5, -100};
+        StreamingStatistics stats = new StreamingStatistics().accept(data, 1, 6);
+        
+        assertEquals(5, stats.count());
+        assertEquals(3.0, stats.mean(), DELTA);
+        assertEquals(2.0, stats.variance(), DELTA);
+        assertEquals(4.0, stats.range(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test combining accumulators matches a single pass")
+    public void testCombine() {
+        double[] data = {12.5, 18.3, 15.7, 20.1, 14.9, 18.3, 16.2, 19.5, 18.3, 17.8};
+        StreamingStatistics left = new StreamingStatistics().accept(data, 0, 3);
+        StreamingStatistics right = new StreamingStatistics().accept(data, 3, data.length);
+        left.combine(right).combine(new StreamingStatistics());
+        
+        assertEquals(data.length, left.count());
+        assertEquals(Statistics.mean(data), left.mean(), DELTA);
+        assertEquals(Statistics.variance(data), left.variance(), DELTA);
+        assertEquals(Statistics.range(data), left.range(), DELTA);
+        
+        StreamingStatistics empty = new StreamingStatistics().combine(left);
+        assertEquals(left.sampleVariance(), empty.sampleVariance(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test numerical stability with a large offset")
+    public void testLargeOffset() {
+        StreamingStatistics stats = new StreamingStatistics();
+        for (double value : new double[] {1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16}) {
+            stats.accept(value);
+        }
+        assertEquals(22.5, stats.variance(), DELTA);
+    }
+    
+    @Test
+    @DisplayName("Test queries on insufficient data")
+    public void testInsufficientData() {
+        StreamingStatistics stats = new StreamingStatistics();
+        assertEquals(0, stats.count());
+        assertThrows(IllegalStateException.class, stats::mean);
+        assertThrows(IllegalStateException.class, stats::variance);
+        assertThrows(IllegalStateException.class, stats::range);
+        
+        stats.accept(5);
+        assertEquals(0.0, stats.variance(), DELTA);
+        assertThrows(IllegalStateException.class, stats::sampleVariance);
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        StreamingStatistics stats = new StreamingStatistics();
+        assertThrows(IllegalArgumentException.class, () -> stats.accept(null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> stats.accept(new double[3], 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> stats.accept(new double[3], 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> stats.combine(null));
+    }
+}
@@ -0,0 +1,250 @@
+package com.cst8411.mathstats;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SummaryCodec class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class SummaryCodecTest {
+    
+    private static double[] randomData(int size, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 100 + 15 * random.nextGaussian();
+        }
+        return data;
+    }
+    
+    @Test
+    @DisplayName("Test statistics round trip exactly")
+    public void testStatisticsRoundTrip() {
+        StreamingStatistics original = new StreamingStatistics().accept(randomData(1000, 1), 0, 1000);
+        byte[] bytes = SummaryCodec.toBytes(original);
+        StreamingStatistics decoded = SummaryCodec.readStatistics(ByteBuffer.wrap(bytes));
+        
+        assertEquals(SummaryCodec.encodedSize(original), bytes.length);
+        assertEquals(original.count(), decoded.count());
+        assertEquals(original.mean(), decoded.mean(), 0.0);
+        assertEquals(original.m2(), decoded.m2(), 0.0);
+        assertEquals(original.min(), decoded.min(), 0.0);
+        assertEquals(original.max(), decoded.max(), 0.0);
+        
+        StreamingStatistics empty = SummaryCodec.readStatistics(
+                ByteBuffer.wrap(SummaryCodec.toBytes(new StreamingStatistics())));
+        assertEquals(0, empty.count());
+    }
+    
+    @Test
+    @DisplayName("Test merging decoded partials is exact and associative")
+    public void testMergeDecodedPartials() {
+        double[] data = randomData(4000, 2);
+        StreamingStatistics[] partials = new StreamingStatistics[4];
+        ByteBuffer wire = ByteBuffer.allocate(4 * 64);
+        for (int part = 0; part < 4; part++) {
+            partials[part] = new StreamingStatistics().accept(data, part * 1000, (part + 1) * 1000);
+            SummaryCodec.write(partials[part], wire);
+        }
+        wire.flip();
+        StreamingStatistics[] decoded = new StreamingStatistics[4];
+        for (int part = 0; part < 4; part++) {
+            decoded[part] = SummaryCodec.readStatistics(wire);
+        }
+        assertFalse(wire.hasRemaining());
+        
+        StreamingStatistics expected = new StreamingStatistics();
+        StreamingStatistics actual = new StreamingStatistics();
+        for (int part = 0; part < 4; part++) {
+            expected.combine(partials[part]);
+            actual.combine(decoded[part]);
+        }
+        assertEquals(expected.mean(), actual.mean(), 0.0);
+        assertEquals(expected.variance(), actual.variance(), 0.0);
+        
+        // ((a + b) + (c + d)) agrees with (((a + b) + c) + d) up to rounding
+        StreamingStatistics left = SummaryCodec.readStatistics(ByteBuffer.wrap(
+                SummaryCodec.toBytes(new StreamingStatistics().combine(decoded[0]).combine(decoded[1]))));
+        StreamingStatistics right = new StreamingStatistics().combine(decoded[2]).combine(decoded[3]);
+        StreamingStatistics tree = left.combine(right);
+        assertEquals(data.length, tree.count());
+        assertEquals(actual.mean(), tree.mean(), 1e-12);
+        assertEquals(actual.variance(), tree.variance(), 1e-9);
+        assertEquals(Statistics.variance(data), tree.variance(), 1e-9);
+    }
+    
+    @Test
+    @DisplayName("Test quantile sketch round trip and merge")
+    public void testQuantileSketchRoundTrip() {
+        QuantileSketch original = new QuantileSketch(QuantileSketch.DEFAULT_K, 3L);
+        QuantileSketch other = new QuantileSketch(QuantileSketch.DEFAULT_K, 4L);
+        for (double value : randomData(50_000, 3)) {
+            original.add(value);
+        }
+        for (double value : randomData(50_000, 4)) {
+            other.add(value);
+        }
+        QuantileSketch decoded = SummaryCodec.readQuantileSketch(ByteBuffer.wrap(SummaryCodec.toBytes(original)));
+        
+        assertEquals(original.k(), decoded.k());
+        assertEquals(original.count(), decoded.count());
+        assertEquals(original.retained(), decoded.retained());
+        assertEquals(original.min(), decoded.min(), 0.0);
+        assertEquals(original.max(), decoded.max(), 0.0);
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertEquals(original.quantile(q), decoded.quantile(q), 0.0);
+        }
+        
+        decoded.merge(SummaryCodec.readQuantileSketch(ByteBuffer.wrap(SummaryCodec.toBytes(other))));
+        assertEquals(100_000, decoded.count());
+        assertEquals(100, decoded.median(), 1.0);
+        
+        QuantileSketch empty = SummaryCodec.readQuantileSketch(
+                ByteBuffer.wrap(SummaryCodec.toBytes(new QuantileSketch())));
+        assertEquals(0, empty.count());
+    }
+    
+    @Test
+    @DisplayName("Test histogram round trip stores only non-empty buckets")
+    public void testHistogramRoundTrip() {
+        DoubleHistogram original = new DoubleHistogram(1e-3, 1e6, 3);
+        for (double value : randomData(10_000, 5)) {
+            original.record(Math.abs(value));
+        }
+        byte[] bytes = SummaryCodec.toBytes(original);
+        DoubleHistogram decoded = SummaryCodec.readHistogram(ByteBuffer.wrap(bytes));
+        
+        assertTrue(bytes.length < original.bucketCount());
+        assertEquals(original.count(), decoded.count());
+        assertEquals(original.mean(), decoded.mean(), 0.0);
+        assertEquals(original.min(), decoded.min(), 0.0);
+        assertEquals(original.max(), decoded.max(), 0.0);
+        for (double p = 0; p <= 100; p += 5) {
+            assertEquals(original.percentile(p), decoded.percentile(p), 0.0);
+        }
+        
+        DoubleHistogram merged = decoded.add(SummaryCodec.readHistogram(ByteBuffer.wrap(bytes)));
+        assertEquals(2 * original.count(), merged.count());
+    }
+    
+    @Test
+    @DisplayName("Test encoded sizes match the bytes written back to back")
+    public void testEncodedSizes() {
+        StreamingStatistics statistics = new StreamingStatistics().accept(new double[]{1, 2}, 0, 2);
+        QuantileSketch sketch = new QuantileSketch(QuantileSketch.DEFAULT_K, 6L);
+        DoubleHistogram histogram = new DoubleHistogram(1e-3, 1e6, 3);
+        for (double value : randomData(5_000, 6)) {
+            sketch.add(value);
+        }
+        histogram.record(1);
+        histogram.record(2);
+        int total = SummaryCodec.encodedSize(statistics) + SummaryCodec.encodedSize(sketch)
+                + SummaryCodec.encodedSize(histogram);
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        
+        SummaryCodec.write(statistics, buffer);
+        assertEquals(SummaryCodec.encodedSize(statistics), buffer.position());
+        SummaryCodec.write(sketch, buffer);
+        assertEquals(SummaryCodec.encodedSize(statistics) + SummaryCodec.encodedSize(sketch), buffer.position());
+        SummaryCodec.write(histogram, buffer);
+        assertEquals(total, buffer.position());
+        
+        buffer.flip();
+        assertEquals(2, SummaryCodec.readStatistics(buffer).count());
+        assertEquals(5_000, SummaryCodec.readQuantileSketch(buffer).count());
+        assertEquals(2, SummaryCodec.readHistogram(buffer).count());
+        assertFalse(buffer.hasRemaining());
+    }
+    
+    @Test
+    @DisplayName("Test NaN and infinite state round trips")
+    public void testNonFiniteRoundTrip() {
+        double[][] inputs = {
+            {1.0, Double.NaN},
+            {Double.NaN},
+            {1.0, Double.POSITIVE_INFINITY},
+            {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY},
+        };
+        for (double[] input : inputs) {
+            StreamingStatistics original = new StreamingStatistics();
+            for (double value : input) {
+                original.accept(value);
+            }
+            StreamingStatistics decoded = SummaryCodec.readStatistics(ByteBuffer.wrap(SummaryCodec.toBytes(original)));
+            assertEquals(original.count(), decoded.count());
+            assertEquals(original.mean(), decoded.mean());
+            assertEquals(original.m2(), decoded.m2());
+            assertEquals(original.min(), decoded.min());
+            assertEquals(original.max(), decoded.max());
+        }
+    }
+    
+    @Test
+    @DisplayName("Test the caller's byte order is preserved")
+    public void testByteOrderPreserved() {
+        StreamingStatistics statistics = new StreamingStatistics().accept(new double[]{1, 2, 3}, 0, 3);
+        ByteBuffer out = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        SummaryCodec.write(statistics, out);
+        
+        assertEquals(ByteOrder.LITTLE_ENDIAN, out.order());
+        assertArrayEquals(SummaryCodec.toBytes(statistics), Arrays.copyOf(out.array(), out.position()));
+        out.flip();
+        assertEquals(2.0, SummaryCodec.readStatistics(out).mean(), 0.0);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, out.order());
+    }
+    
+    @Test
+    @DisplayName("Test invalid encodings are rejected")
+    public void testInvalidEncodings() {
+        StreamingStatistics statistics = new StreamingStatistics().accept(new double[]{1, 2, 3}, 0, 3);
+        byte[] bytes = SummaryCodec.toBytes(statistics);
+        
+        ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SummaryCodec.readStatistics(truncated));
+        assertEquals("Summary is truncated", e.getMessage());
+        assertEquals(0, truncated.position());
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> SummaryCodec.readQuantileSketch(ByteBuffer.wrap(bytes)));
+        
+        byte[] version = bytes.clone();
+        version[4] = (byte) (SummaryCodec.VERSION + 1);
+        e = assertThrows(IllegalArgumentException.class,
+                () -> SummaryCodec.readStatistics(ByteBuffer.wrap(version)));
+        assertEquals("Unsupported summary format version " + (SummaryCodec.VERSION + 1), e.getMessage());
+        
+        byte[] magic = bytes.clone();
+        magic[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> SummaryCodec.readStatistics(ByteBuffer.wrap(magic)));
+        assertThrows(IllegalArgumentException.class, () -> SummaryCodec.readStatistics(null));
+        assertThrows(IllegalArgumentException.class, () -> SummaryCodec.toBytes((StreamingStatistics) null));
+    }
+    
+    @Test
+    @DisplayName("Test varint encoding")
+    public void testVarLong() {
+        long[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE, -1};
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        for (long value : values) {
+            int before = buffer.position();
+            SummaryCodec.putVarLong(buffer, value);
+            assertEquals(SummaryCodec.varLongSize(value), buffer.position() - before);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, SummaryCodec.getVarLong(buffer));
+        }
+        assertEquals(1, SummaryCodec.varLongSize(127));
+        assertEquals(2, SummaryCodec.varLongSize(128));
+        assertEquals(10, SummaryCodec.varLongSize(-1));
+    }
+}
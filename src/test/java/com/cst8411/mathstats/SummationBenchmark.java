@@ -0,0 +1,77 @@
+package com.cst8411.mathstats;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Throughput and accuracy comparison of a single running sum, blocked
+ * pairwise summation and Neumaier-compensated summation. Not run by the
+ * test suite; start it from the test classpath, for example:
+ * 
+ * <pre>
+ * mvn test-compile
+ * java -Xmx10g -cp target/classes:target/test-classes \
+ *     com.cst8411.mathstats.SummationBenchmark 1000000000
+ * </pre>
+ * 
+ * <p>The argument is the array length (default 10^8); 10^9 values need
+ * about 8 GB of heap. The reference sum is exact, accumulated in
+ * {@link BigDecimal}, and errors are reported in units in the last place
+ * of the exact result.</p>
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public final class SummationBenchmark {
+    
+    private static final int ROUNDS = 5;
+    
+    private SummationBenchmark() {
+    }
+    
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        double[] data = new double[size];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) {
+            data[i] = 1e8 + random.nextDouble() * Math.pow(10, random.nextInt(8));
+        }
+        
+        BigDecimal exact = BigDecimal.ZERO;
+        for (double value : data) {
+            exact = exact.add(new BigDecimal(value));
+        }
+        double reference = exact.doubleValue();
+        System.out.printf("n = %,d, exact sum = %s%n", size, exact.toString());
+        
+        report("naive loop", data, reference, SummationBenchmark::naiveSum);
+        report("pairwise", data, reference, Summation::sum);
+        report("Neumaier", data, reference, Summation::compensatedSum);
+        report("Statistics.mean * n", data, reference, d -> Statistics.mean(d) * d.length);
+    }
+    
+    private static void report(String name, double[] data, double reference, Summer summer) {
+        double result = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            result = summer.sum(data);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double ulps = Math.abs(result - reference) / Math.ulp(reference);
+        System.out.printf("%-22s %8.2f Gvalues/s  error %12.1f ulp%n", name, (double) data.length / best, ulps);
+    }
+    
+    private static double naiveSum(double[] data) {
+        double sum = 0;
+        for (double value : data) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @FunctionalInterface
+    private interface Summer {
+        double sum(double[] data);
+    }
+}
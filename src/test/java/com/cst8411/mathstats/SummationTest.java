@@ -0,0 +1,111 @@
+package com.cst8411.mathstats;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Summation class.
+ * 
+ * @author Corneile Emanuel
+ * @version 1.0.0
+ */
+public class SummationTest {
+    
+    /** Values with a large common offset and varying magnitude. */
+    static double[] illConditionedData(int size, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 1e8 + random.nextDouble() * Math.pow(10, random.nextInt(8));
+        }
+        return data;
+    }
+    
+    static double exactSum(double[] data) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : data) {
+            sum = sum.add(new BigDecimal(value));
+        }
+        return sum.doubleValue();
+    }
+    
+    static double naiveSum(double[] data) {
+        double sum = 0;
+        for (double value : data) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @Test
+    @DisplayName("Test accuracy against a BigDecimal reference")
+    public void testAccuracy() {
+        double[] data = illConditionedData(1_000_000, 17);
+        double exact = exactSum(data);
+        double naiveError = Math.abs(naiveSum(data) - exact);
+        double pairwiseError = Math.abs(Summation.sum(data) - exact);
+        double compensatedError = Math.abs(Summation.compensatedSum(data) - exact);
+        
+        assertTrue(pairwiseError <= naiveError, pairwiseError + " > " + naiveError);
+        assertTrue(pairwiseError <= Math.ulp(exact) * 64, "pairwise error " + pairwiseError);
+        assertTrue(compensatedError <= Math.ulp(exact), "compensated error " + compensatedError);
+        assertEquals(Summation.sum(data) / data.length, Statistics.mean(data), Math.ulp(exact));
+    }
+    
+    @Test
+    @DisplayName("Test small ranges, cancellation and special values")
+    public void testSmallRangesAndSpecialValues() {
+        assertEquals(0.0, Summation.sum(new double[0]));
+        assertEquals(6.0, Summation.sum(new double[] {9, 1, 2, 3, 9}, 1, 4));
+        assertEquals(2.0, Summation.compensatedSum(new double[] {1, 1e100, 1, -1e100}));
+        assertEquals(Double.POSITIVE_INFINITY, Summation.compensatedSum(new double[] {1, Double.MAX_VALUE, Double.MAX_VALUE}));
+        assertTrue(Double.isNaN(Summation.sum(new double[] {1, Double.NaN, 3})));
+        
+        double[] data = illConditionedData(1_003, 5);
+        for (int to : new int[] {1, 3, 255, 256, 257, 1_003}) {
+            double exact = exactSum(Arrays.copyOf(data, to));
+            assertEquals(exact, Summation.compensatedSum(data, 0, to), Math.ulp(exact));
+        }
+    }
+    
+    @Test
+    @DisplayName("Test compensated mean and variance against a BigDecimal reference")
+    public void testCompensatedMeanAndVariance() {
+        double[] data = illConditionedData(100_003, 23);
+        BigDecimal n = BigDecimal.valueOf(data.length);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : data) {
+            sum = sum.add(new BigDecimal(value));
+        }
+        BigDecimal mean = sum.divide(n, MathContext.DECIMAL128);
+        BigDecimal squares = BigDecimal.ZERO;
+        for (double value : data) {
+            BigDecimal delta = new BigDecimal(value).subtract(mean);
+            squares = squares.add(delta.multiply(delta));
+        }
+        double exactMean = mean.doubleValue();
+        double exactVariance = squares.divide(n, MathContext.DECIMAL128).doubleValue();
+        
+        assertEquals(exactMean, Summation.compensatedMean(data), Math.ulp(exactMean));
+        assertEquals(exactVariance, Summation.compensatedVariance(data), 4 * Math.ulp(exactVariance));
+        assertEquals(Statistics.variance(data), Summation.compensatedVariance(data), 1e-9 * exactVariance);
+        assertEquals(2.0, Summation.compensatedMean(new double[] {9, 1, 2, 3, 9}, 1, 4));
+        assertEquals(0.0, Summation.compensatedVariance(new double[] {7}));
+        assertThrows(IllegalArgumentException.class, () -> Summation.compensatedMean(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> Summation.compensatedVariance(null));
+    }
+    
+    @Test
+    @DisplayName("Test invalid arguments")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Summation.sum(null));
+        assertThrows(IllegalArgumentException.class, () -> Summation.compensatedSum(null));
+        assertThrows(IllegalArgumentException.class, () -> Summation.sum(new double[3], 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> Summation.compensatedSum(new double[3], 0, 4));
+    }
+}